@@ -0,0 +1,285 @@
+package com.ob.benchmark;
+
+import com.ob.fixtures.ChainFixture;
+import com.ob.fixtures.FixtureChain;
+import com.ob.fixtures.Fixtures;
+import io.neow3j.contract.SmartContract;
+import io.neow3j.crypto.Hash;
+import io.neow3j.protocol.Neow3j;
+import io.neow3j.protocol.core.response.InvocationResult;
+import io.neow3j.script.ScriptBuilder;
+import io.neow3j.transaction.AccountSigner;
+import io.neow3j.transaction.Signer;
+import io.neow3j.transaction.Transaction;
+import io.neow3j.transaction.TransactionBuilder;
+import io.neow3j.types.CallFlags;
+import io.neow3j.types.ContractParameter;
+import io.neow3j.types.Hash160;
+import io.neow3j.types.Hash256;
+import io.neow3j.types.NeoVMStateType;
+import io.neow3j.utils.Numeric;
+import io.neow3j.wallet.Account;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static io.neow3j.types.ContractParameter.array;
+import static io.neow3j.types.ContractParameter.bool;
+import static io.neow3j.types.ContractParameter.byteArray;
+import static io.neow3j.types.ContractParameter.hash160;
+import static io.neow3j.types.ContractParameter.integer;
+import static io.neow3j.types.ContractParameter.map;
+import static io.neow3j.types.ContractParameter.string;
+import static io.neow3j.utils.Await.waitUntilTransactionIsExecuted;
+import static java.util.Arrays.asList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * Measures the system and network fee of the contract methods for growing collections and voter
+ * counts. Run with {@code ./gradlew :benchmark:benchmark}.
+ * <p>
+ * The collections are restored from fixture checkpoints, which are only built on the first run.
+ * <p>
+ * The fees are written to {@code build/reports/gas-benchmark.json}. The benchmark fails if a fee
+ * exceeds its value in {@code baseline.json} by more than the tolerance or if a call is not in the
+ * baseline. Run with {@code -PupdateBaseline} to record the baseline.
+ */
+public class GasBenchmarkTest {
+
+    private static final int VOTING_TIME = 10;
+
+    private static final int[] COLLECTION_SIZES = {1, 100, 10_000};
+    private static final int[] VOTER_COUNTS = {1, 100, 1_000};
+    // Storage keys are limited to 64 bytes and contain the meme id after a one byte prefix.
+    private static final int MAX_MEME_ID_LENGTH = 63;
+    // A transaction can have at most 16 signers. The first one is the sender.
+    private static final int VOTERS_PER_TRANSACTION = 15;
+
+    private static FixtureChain chain;
+    private static Account a1;
+    private static Account a2;
+    private static Account a3;
+    private static Neow3j neow3j;
+    private static SmartContract governanceContract;
+    private static SmartContract nftContract;
+    private static GasReport report = new GasReport();
+    private static int memeIdCounter;
+
+    @AfterAll
+    public static void closeChain() throws Throwable {
+        if (chain != null) {
+            chain.close();
+            chain = null;
+        }
+    }
+
+    @AfterAll
+    public static void writeReport() throws Throwable {
+        File reportFile = new File(System.getProperty("benchmark.report"));
+        File baselineFile = new File(System.getProperty("benchmark.baseline"));
+        report.write(reportFile);
+        if (Boolean.getBoolean("benchmark.updateBaseline")) {
+            Files.copy(reportFile.toPath(), baselineFile.toPath(),
+                    StandardCopyOption.REPLACE_EXISTING);
+            return;
+        }
+        double tolerance = Double.parseDouble(System.getProperty("benchmark.tolerance"));
+        assertThat("Update the baseline with -PupdateBaseline if the changes are intended.",
+                report.findRegressions(baselineFile, tolerance), is(empty()));
+    }
+
+    /**
+     * Measures proposing, voting, executing and listing for growing numbers of memes and
+     * proposals, with short and maximum-length meme ids.
+     */
+    @Test
+    public void benchmarkCollectionSizes() throws Throwable {
+        for (int size : COLLECTION_SIZES) {
+            use(Fixtures.collection(size));
+            String shortId = shortMemeId();
+            String longId = longMemeId();
+            String[][] variants = {{shortId, "short"}, {longId, "max"}};
+            for (String[] variant : variants) {
+                String scenario = "size=" + size + ",memeId=" + variant[1];
+                measure("proposeNewMeme", scenario, proposeNewMeme(variant[0])
+                        .signers(AccountSigner.calledByEntry(a1)));
+                measure("vote", scenario, governanceContract.invokeFunction("vote",
+                        string(variant[0]), hash160(a1), bool(true))
+                        .signers(AccountSigner.calledByEntry(a1)));
+                send(governanceContract.invokeFunction("voteMany", string(variant[0]),
+                        array(hash160(a2), hash160(a3)), array(bool(true), bool(true)))
+                        .signers(AccountSigner.calledByEntry(a2),
+                                AccountSigner.calledByEntry(a3)));
+            }
+            measureRead(governanceContract, "getProposals", "size=" + size, integer(0));
+            chain.fastForward(VOTING_TIME);
+            for (String[] variant : variants) {
+                measure("execute", "size=" + size + ",memeId=" + variant[1],
+                        governanceContract.invokeFunction("execute", string(variant[0]))
+                                .signers(AccountSigner.calledByEntry(a1)));
+            }
+        }
+    }
+
+    /**
+     * Measures voting and executing for proposals with growing numbers of voters.
+     */
+    @Test
+    public void benchmarkVoterCounts() throws Throwable {
+        use(Fixtures.DEPLOYED);
+        // All voters have to vote within the voting time, so their transactions are sent at once
+        // and only then awaited.
+        for (int voterCount : VOTER_COUNTS) {
+            String memeId = "voters" + voterCount;
+            send(proposeNewMeme(memeId).signers(AccountSigner.calledByEntry(a1)));
+            List<Hash256> txHashes = new ArrayList<>();
+            List<Account> voters = new ArrayList<>();
+            for (int i = 1; i < voterCount; i++) {
+                voters.add(Account.create());
+                if (voters.size() == VOTERS_PER_TRANSACTION || i == voterCount - 1) {
+                    txHashes.add(sendVoteMany(memeId, voters));
+                    voters.clear();
+                }
+            }
+            for (Hash256 hash : txHashes) {
+                waitUntilTransactionIsExecuted(hash, neow3j);
+            }
+            // The measured vote is the last one.
+            measure("vote", "voters=" + voterCount, governanceContract.invokeFunction("vote",
+                    string(memeId), hash160(a1), bool(true))
+                    .signers(AccountSigner.calledByEntry(a1)));
+            chain.fastForward(VOTING_TIME);
+            measure("execute", "voters=" + voterCount,
+                    governanceContract.invokeFunction("execute", string(memeId))
+                            .signers(AccountSigner.calledByEntry(a1)));
+        }
+    }
+
+    /**
+     * Measures the NFT methods. The owner of the NFTcontract is a fixed contract that cannot sign
+     * transactions here, so the calls are only simulated with the owner as signer. Transfer, burn
+     * and properties are measured after a mint in the same script, and the cost of the mint is
+     * subtracted. Network fees are not measured.
+     */
+    @Test
+    public void benchmarkNftMethods() throws Throwable {
+        use(Fixtures.DEPLOYED);
+        Hash160 owner = nftContract.callFunctionReturningScriptHash("contractOwner");
+        Signer[] signers = {AccountSigner.calledByEntry(owner), AccountSigner.calledByEntry(a1)};
+        byte[] tokenId = "token1".getBytes(StandardCharsets.UTF_8);
+        Map<String, String> properties = new HashMap<>();
+        properties.put("name", "token1");
+
+        byte[] mint = nftCall("mint", hash160(a1), byteArray(tokenId), map(properties));
+        long mintFee = simulate(signers, mint);
+        report.record("mint", "simulated", mintFee, null);
+        report.record("transfer", "simulated", simulate(signers, mint,
+                nftCall("transfer", hash160(a2), byteArray(tokenId), array())) - mintFee, null);
+        report.record("burn", "simulated",
+                simulate(signers, mint, nftCall("burn", byteArray(tokenId))) - mintFee, null);
+        report.record("properties", "simulated",
+                simulate(signers, mint, nftCall("properties", byteArray(tokenId))) - mintFee,
+                null);
+    }
+
+    // Restores the fixture and stops the chain of the previous one.
+    private static void use(ChainFixture fixture) throws Throwable {
+        closeChain();
+        chain = fixture.restore();
+        neow3j = chain.getNeow3j();
+        governanceContract = chain.getGovernanceContract();
+        nftContract = chain.getNftContract();
+        a1 = chain.getAlice();
+        a2 = chain.getVoters().get(0);
+        a3 = chain.getVoters().get(1);
+    }
+
+    private static Hash256 sendVoteMany(String memeId, List<Account> voters) throws Throwable {
+        List<ContractParameter> voterParams = new ArrayList<>();
+        List<ContractParameter> inFavor = new ArrayList<>();
+        List<Signer> signers = new ArrayList<>();
+        signers.add(AccountSigner.calledByEntry(a1));
+        for (Account voter : voters) {
+            voterParams.add(hash160(voter));
+            inFavor.add(bool(true));
+            signers.add(AccountSigner.calledByEntry(voter));
+        }
+        return governanceContract.invokeFunction("voteMany", string(memeId),
+                        array(voterParams), array(inFavor))
+                .signers(signers.toArray(new Signer[0]))
+                .sign().send().getSendRawTransaction().getHash();
+    }
+
+    private static TransactionBuilder proposeNewMeme(String memeId) {
+        List<ContractParameter> params = proposeNewMemeParams(memeId);
+        return governanceContract.invokeFunction("proposeNewMeme",
+                params.toArray(new ContractParameter[0]));
+    }
+
+    private static List<ContractParameter> proposeNewMemeParams(String memeId) {
+        byte[] imgHash = Hash.sha256(memeId.getBytes(StandardCharsets.UTF_8));
+        return asList(string(memeId), string("desc"), string("url"), byteArray(imgHash));
+    }
+
+    private static String shortMemeId() {
+        return Integer.toString(memeIdCounter++, 36);
+    }
+
+    private static String longMemeId() {
+        String suffix = shortMemeId();
+        return String.join("", Collections.nCopies(MAX_MEME_ID_LENGTH - suffix.length(), "x"))
+                + suffix;
+    }
+
+    private static void measure(String method, String scenario, TransactionBuilder builder)
+            throws Throwable {
+        Transaction tx = builder.sign();
+        report.record(method, scenario, tx.getSystemFee(), tx.getNetworkFee());
+        Hash256 hash = tx.send().getSendRawTransaction().getHash();
+        waitUntilTransactionIsExecuted(hash, neow3j);
+        NeoVMStateType state = neow3j.getApplicationLog(hash).send().getApplicationLog()
+                .getExecutions().get(0).getState();
+        assertThat(method + " [" + scenario + "] did not succeed.", state,
+                is(NeoVMStateType.HALT));
+    }
+
+    private static void measureRead(SmartContract contract, String method, String scenario,
+            ContractParameter... params) throws Throwable {
+        InvocationResult result = contract.callInvokeFunction(method, asList(params))
+                .getInvocationResult();
+        report.record(method, scenario, Long.parseLong(result.getGasConsumed()), null);
+    }
+
+    private static byte[] nftCall(String method, ContractParameter... params) {
+        return new ScriptBuilder().contractCall(nftContract.getScriptHash(), method,
+                asList(params), CallFlags.ALL).toArray();
+    }
+
+    private static long simulate(Signer[] signers, byte[]... scripts) throws Throwable {
+        StringBuilder script = new StringBuilder();
+        for (byte[] s : scripts) {
+            script.append(Numeric.toHexStringNoPrefix(s));
+        }
+        InvocationResult result = neow3j.invokeScript(script.toString(), signers).send()
+                .getInvocationResult();
+        assertThat(result.getException(), result.hasStateFault(), is(false));
+        return Long.parseLong(result.getGasConsumed());
+    }
+
+    private static void send(TransactionBuilder builder) throws Throwable {
+        Hash256 hash = builder.sign().send().getSendRawTransaction().getHash();
+        waitUntilTransactionIsExecuted(hash, neow3j);
+    }
+
+}
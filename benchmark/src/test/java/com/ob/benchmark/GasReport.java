@@ -0,0 +1,108 @@
+package com.ob.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects the fees of the measured calls and compares them to a baseline.
+ * <p>
+ * Reports and baselines are JSON arrays of {@link GasReport.Entry}. Fees are given in GAS
+ * fractions.
+ */
+class GasReport {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .enable(SerializationFeature.INDENT_OUTPUT);
+
+    private final List<Entry> entries = new ArrayList<>();
+
+    /**
+     * @param networkFee the network fee or null if the call is a read-only invocation that is
+     *                   not sent in a transaction.
+     */
+    synchronized void record(String method, String scenario, long systemFee, Long networkFee) {
+        entries.add(new Entry(method, scenario, systemFee, networkFee));
+        System.out.printf("%-20s %-40s system fee %10d network fee %s%n", method, scenario,
+                systemFee, networkFee == null ? "-" : networkFee.toString());
+    }
+
+    synchronized void write(File file) throws IOException {
+        file.getParentFile().mkdirs();
+        MAPPER.writeValue(file, entries);
+    }
+
+    /**
+     * Compares the recorded fees to the baseline. A call that is not in the baseline counts as a
+     * regression, such that an empty or outdated baseline cannot pass unnoticed.
+     *
+     * @param tolerance the relative increase of a fee that is still accepted, e.g., 0.05 for 5%.
+     * @return a description of each fee that exceeds its baseline by more than the tolerance and
+     * of each call that has no baseline.
+     */
+    synchronized List<String> findRegressions(File baselineFile, double tolerance)
+            throws IOException {
+        if (!baselineFile.exists()) {
+            throw new IOException("No baseline is recorded at " + baselineFile
+                    + ". Record it with -PupdateBaseline.");
+        }
+        List<Entry> baseline = MAPPER.readValue(baselineFile, new TypeReference<List<Entry>>() {
+        });
+        Map<String, Entry> baselineByKey = new HashMap<>();
+        for (Entry entry : baseline) {
+            baselineByKey.put(entry.key(), entry);
+        }
+        List<String> regressions = new ArrayList<>();
+        for (Entry entry : entries) {
+            Entry expected = baselineByKey.get(entry.key());
+            if (expected == null) {
+                regressions.add(String.format("%s: not in the baseline.", entry.key()));
+                continue;
+            }
+            if (exceeds(entry.systemFee, expected.systemFee, tolerance)) {
+                regressions.add(String.format("%s: system fee %d exceeds the baseline %d.",
+                        entry.key(), entry.systemFee, expected.systemFee));
+            }
+            if (entry.networkFee != null && expected.networkFee != null
+                    && exceeds(entry.networkFee, expected.networkFee, tolerance)) {
+                regressions.add(String.format("%s: network fee %d exceeds the baseline %d.",
+                        entry.key(), entry.networkFee, expected.networkFee));
+            }
+        }
+        return regressions;
+    }
+
+    private static boolean exceeds(long fee, long baseline, double tolerance) {
+        return fee > baseline * (1 + tolerance);
+    }
+
+    static class Entry {
+        public String method;
+        public String scenario;
+        public long systemFee;
+        public Long networkFee;
+
+        // For deserialization.
+        public Entry() {
+        }
+
+        public Entry(String method, String scenario, long systemFee, Long networkFee) {
+            this.method = method;
+            this.scenario = scenario;
+            this.systemFee = systemFee;
+            this.networkFee = networkFee;
+        }
+
+        String key() {
+            return method + " [" + scenario + "]";
+        }
+    }
+
+}
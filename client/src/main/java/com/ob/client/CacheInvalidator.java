@@ -0,0 +1,197 @@
+package com.ob.client;
+
+import io.neow3j.protocol.Neow3j;
+import io.neow3j.protocol.core.response.NeoApplicationLog;
+import io.neow3j.protocol.core.response.NeoBlock;
+import io.neow3j.protocol.core.response.Transaction;
+import io.neow3j.protocol.core.stackitem.StackItem;
+import io.neow3j.types.Hash160;
+import io.neow3j.types.NeoVMStateType;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drops the entries of a {@link ReadCache} that are changed by the events of new blocks.
+ * <p>
+ * Each event only invalidates the results it changes, e.g., a {@code Vote} for a meme drops the
+ * cached proposal of that meme, and a {@code Transfer} drops the owner of the token and the
+ * balances of the sender and the receiver. Poll at least once per block, such that no result is
+ * served for longer than a block after it changed.
+ * <p>
+ * The MemeContract does not emit events. Memes that its owner creates or removes directly, i.e.,
+ * not through the GovernanceContract, are not invalidated.
+ */
+public class CacheInvalidator implements AutoCloseable {
+
+    // GovernanceContract events
+    static final String CREATION_PROPOSAL = "CreationProposal";
+    static final String REMOVAL_PROPOSAL = "RemovalProposal";
+    static final String VOTE = "Vote";
+    static final String MEME_CREATION = "MemeCreation";
+    static final String MEME_REMOVAL = "MemeRemoval";
+    static final String UNACCEPTED_PROPOSAL_REMOVAL = "UnacceptedProposalRemoval";
+
+    // NFTcontract events
+    static final String MINT = "Mint";
+    static final String TRANSFER = "Transfer";
+
+    private final Neow3j neow3j;
+    private final ReadCache cache;
+    private final Hash160 governanceContract;
+    private final Hash160 memeContract;
+    private final Hash160 nftContract;
+
+    private long processedHeight;
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * Creates an invalidator that starts with the next block of the node. Create it before
+     * results are cached.
+     *
+     * @param nftContract the hash of the NFTcontract or null if its results are not cached.
+     */
+    public CacheInvalidator(Neow3j neow3j, ReadCache cache, Hash160 governanceContract,
+            Hash160 memeContract, Hash160 nftContract) throws IOException {
+        this.neow3j = neow3j;
+        this.cache = cache;
+        this.governanceContract = governanceContract;
+        this.memeContract = memeContract;
+        this.nftContract = nftContract;
+        this.processedHeight = getNodeHeight();
+    }
+
+    /**
+     * Processes the events of all blocks that were added since the last poll.
+     *
+     * @return the height of the last processed block.
+     */
+    public synchronized long poll() throws IOException {
+        long nodeHeight = getNodeHeight();
+        for (long height = processedHeight + 1; height <= nodeHeight; height++) {
+            processBlock(height);
+            processedHeight = height;
+        }
+        return processedHeight;
+    }
+
+    /**
+     * Polls for new blocks in the background until the invalidator is closed. If a poll fails,
+     * the whole cache is cleared, because events may have been missed.
+     */
+    public synchronized void start(long pollIntervalMillis) {
+        if (scheduler != null) {
+            throw new IllegalStateException("The invalidator is already running.");
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                poll();
+            } catch (IOException | RuntimeException e) {
+                cache.clear();
+            }
+        }, 0, pollIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public synchronized void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    private long getNodeHeight() throws IOException {
+        return neow3j.getBlockCount().send().getBlockCount().longValue() - 1;
+    }
+
+    private void processBlock(long height) throws IOException {
+        NeoBlock block = neow3j.getBlock(BigInteger.valueOf(height), true).send().getBlock();
+        List<Transaction> transactions = block.getTransactions();
+        if (transactions == null) {
+            return;
+        }
+        for (Transaction tx : transactions) {
+            NeoApplicationLog applicationLog =
+                    neow3j.getApplicationLog(tx.getHash()).send().getApplicationLog();
+            for (NeoApplicationLog.Execution execution : applicationLog.getExecutions()) {
+                if (execution.getState() != NeoVMStateType.HALT) {
+                    // Faulted executions did not change any state.
+                    continue;
+                }
+                for (NeoApplicationLog.Execution.Notification n : execution.getNotifications()) {
+                    if (n.getContract().equals(governanceContract)) {
+                        invalidateGovernanceEvent(n.getEventName(), n.getState().getList());
+                    } else if (n.getContract().equals(nftContract)) {
+                        invalidateNftEvent(n.getEventName(), n.getState().getList());
+                    }
+                }
+            }
+        }
+    }
+
+    private void invalidateGovernanceEvent(String event, List<StackItem> args) {
+        String memeId = args.get(0).getString();
+        switch (event) {
+            case MEME_CREATION:
+                cache.invalidate(memeContract, MemeClient.FIND_BY_IMAGE_HASH,
+                        args.get(3).getHexString());
+                invalidateMeme(memeId);
+                break;
+            case MEME_REMOVAL:
+                // The event does not contain the image hash.
+                cache.invalidateValue(memeContract, MemeClient.FIND_BY_IMAGE_HASH, memeId);
+                invalidateMeme(memeId);
+                break;
+            case VOTE:
+                cache.invalidate(governanceContract, GovernanceClient.GET_PROPOSAL, memeId);
+                return;
+            case CREATION_PROPOSAL:
+            case REMOVAL_PROPOSAL:
+            case UNACCEPTED_PROPOSAL_REMOVAL:
+                break;
+            default:
+                return;
+        }
+        cache.invalidate(governanceContract, GovernanceClient.GET_PROPOSAL, memeId);
+        cache.invalidate(governanceContract, GovernanceClient.GET_PROPOSAL_COUNT, null);
+    }
+
+    private void invalidateMeme(String memeId) {
+        cache.invalidate(memeContract, MemeClient.GET_MEME, memeId);
+        cache.invalidate(memeContract, MemeClient.EXISTS, memeId);
+        cache.invalidate(memeContract, MemeClient.GET_MEME_COUNT, null);
+    }
+
+    private void invalidateNftEvent(String event, List<StackItem> args) {
+        String tokenId;
+        switch (event) {
+            case MINT:
+                tokenId = args.get(1).getHexString();
+                invalidateBalance(args.get(0));
+                break;
+            case TRANSFER:
+                tokenId = args.get(3).getHexString();
+                invalidateBalance(args.get(0));
+                invalidateBalance(args.get(1));
+                break;
+            default:
+                return;
+        }
+        cache.invalidate(nftContract, NftClient.OWNER_OF, tokenId);
+        cache.invalidate(nftContract, NftClient.PROPERTIES, tokenId);
+        cache.invalidate(nftContract, NftClient.TOTAL_SUPPLY, null);
+    }
+
+    private void invalidateBalance(StackItem owner) {
+        if (owner.getValue() != null) {
+            cache.invalidate(nftContract, NftClient.BALANCE_OF,
+                    Hash160.fromAddress(owner.getAddress()).toString());
+        }
+    }
+
+}
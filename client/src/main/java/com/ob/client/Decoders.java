@@ -0,0 +1,68 @@
+package com.ob.client;
+
+import io.neow3j.protocol.core.stackitem.StackItem;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Decoders for the structs returned by the contracts. The fields of a struct are read in the
+ * order they are declared in the contract classes.
+ */
+class Decoders {
+
+    static MemeInfo meme(StackItem item) {
+        List<StackItem> fields = item.getList();
+        return new MemeInfo(fields.get(0).getString(), fields.get(1).getString(),
+                fields.get(2).getString(), fields.get(3).getHexString());
+    }
+
+    static ProposalInfo proposal(StackItem item) {
+        List<StackItem> fields = item.getList();
+        // The field at index 2 tells whether the vote was in progress at the block the proposal
+        // was read at. It is derived from the finalization block instead, see ProposalInfo.
+        return new ProposalInfo(meme(fields.get(0)), fields.get(1).getBoolean(),
+                fields.get(3).getInteger().longValue(), fields.get(4).getInteger().intValue(),
+                fields.get(5).getInteger().intValue(), fields.get(6).getInteger().longValue());
+    }
+
+    static <T> Page<T> page(StackItem item, Function<StackItem, T> decoder) {
+        List<StackItem> fields = item.getList();
+        String cursor = fields.get(1).getValue() == null ? null : fields.get(1).getString();
+        // Only proposal pages have the next block.
+        long nextBlock = fields.size() > 2 ? fields.get(2).getInteger().longValue() : 0;
+        return new Page<>(list(fields.get(0), decoder), cursor, nextBlock);
+    }
+
+    static <T> List<T> list(StackItem item, Function<StackItem, T> decoder) {
+        List<T> list = new ArrayList<>();
+        for (StackItem element : item.getList()) {
+            list.add(decoder.apply(element));
+        }
+        return list;
+    }
+
+    static Map<String, String> stringMap(StackItem item) {
+        Map<String, String> map = new HashMap<>();
+        for (Map.Entry<StackItem, StackItem> entry : item.getMap().entrySet()) {
+            map.put(entry.getKey().getString(), entry.getValue().getString());
+        }
+        return map;
+    }
+
+    static Integer integer(StackItem item) {
+        return item.getInteger().intValue();
+    }
+
+    static Boolean bool(StackItem item) {
+        return item.getBoolean();
+    }
+
+    static String string(StackItem item) {
+        return item.getString();
+    }
+
+}
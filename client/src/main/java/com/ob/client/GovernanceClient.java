@@ -0,0 +1,122 @@
+package com.ob.client;
+
+import io.neow3j.protocol.Neow3j;
+import io.neow3j.protocol.core.stackitem.StackItem;
+import io.neow3j.types.ContractParameter;
+import io.neow3j.types.Hash160;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+import static io.neow3j.types.ContractParameter.any;
+import static io.neow3j.types.ContractParameter.integer;
+import static io.neow3j.types.ContractParameter.string;
+import static java.util.Arrays.asList;
+
+/**
+ * Typed read access to the GovernanceContract.
+ * <p>
+ * The methods without a {@code read} prefix only build the call, such that it can be added to a
+ * {@link ReadBatch}. The {@code read} methods execute a single call right away.
+ */
+public class GovernanceClient {
+
+    // Methods with cacheable results
+    static final String GET_PROPOSAL = "getProposal";
+    static final String GET_PROPOSAL_COUNT = "getProposalCount";
+
+    private final Neow3j neow3j;
+    private final Hash160 contract;
+    private final ReadCache cache;
+
+    public GovernanceClient(Neow3j neow3j, Hash160 contract) {
+        this(neow3j, contract, null);
+    }
+
+    /**
+     * @param cache the cache for the results of the {@code read} methods or null to not cache
+     *              results.
+     */
+    public GovernanceClient(Neow3j neow3j, Hash160 contract, ReadCache cache) {
+        this.neow3j = neow3j;
+        this.contract = contract;
+        this.cache = cache;
+    }
+
+    public Hash160 getScriptHash() {
+        return contract;
+    }
+
+    public ReadCall<ProposalInfo> getProposal(String memeId) {
+        return cached(GET_PROPOSAL, asList(string(memeId)), Decoders::proposal);
+    }
+
+    public ReadCall<Page<ProposalInfo>> getProposalsAfter(String cursor, int limit) {
+        return call("getProposalsAfter", asList(cursorParam(cursor), integer(limit)),
+                item -> Decoders.page(item, Decoders::proposal));
+    }
+
+    public ReadCall<Page<ProposalInfo>> getOpenProposals(String cursor, int limit) {
+        return call("getOpenProposals", asList(cursorParam(cursor), integer(limit)),
+                item -> Decoders.page(item, Decoders::proposal));
+    }
+
+    /**
+     * Gets a page of expired proposals. The next page is read with the {@link Page#nextBlock} and
+     * the {@link Page#nextCursor} of this page; there are no more pages if both are unset.
+     */
+    public ReadCall<Page<ProposalInfo>> getExpiredProposals(long fromBlock, long uptoBlock,
+            String cursor, int limit) {
+        return call("getExpiredProposals", asList(integer(fromBlock), integer(uptoBlock),
+                        cursorParam(cursor), integer(limit)),
+                item -> Decoders.page(item, Decoders::proposal));
+    }
+
+    public ReadCall<Integer> getProposalCount() {
+        return cached(GET_PROPOSAL_COUNT, Collections.emptyList(), Decoders::integer);
+    }
+
+    public ReadCall<Integer> getVotingTime() {
+        return call("getVotingTime", Collections.emptyList(), Decoders::integer);
+    }
+
+    public ReadCall<Integer> getMinVotesInFavor() {
+        return call("getMinVotesInFavor", Collections.emptyList(), Decoders::integer);
+    }
+
+    /**
+     * Gets the proposal of the meme or null if there is none.
+     */
+    public ProposalInfo readProposal(String memeId) throws IOException {
+        return ReadBatch.read(neow3j, cache, getProposal(memeId));
+    }
+
+    public Page<ProposalInfo> readProposalsAfter(String cursor, int limit) throws IOException {
+        return ReadBatch.read(neow3j, cache, getProposalsAfter(cursor, limit));
+    }
+
+    /**
+     * Checks whether the vote on the proposal is still in progress at the current block height.
+     */
+    public boolean isVoteInProgress(ProposalInfo proposal) throws IOException {
+        long currentIndex = neow3j.getBlockCount().send().getBlockCount().longValue() - 1;
+        return proposal.isVoteInProgress(currentIndex);
+    }
+
+    private <T> ReadCall<T> call(String method, List<ContractParameter> params,
+            Function<StackItem, T> decoder) {
+        return new ReadCall<>(contract, method, params, decoder);
+    }
+
+    private <T> ReadCall<T> cached(String method, List<ContractParameter> params,
+            Function<StackItem, T> decoder) {
+        return new ReadCall<>(contract, method, params, decoder, true);
+    }
+
+    static ContractParameter cursorParam(String cursor) {
+        return cursor == null ? any(null) : string(cursor);
+    }
+
+}
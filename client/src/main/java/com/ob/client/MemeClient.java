@@ -0,0 +1,104 @@
+package com.ob.client;
+
+import io.neow3j.protocol.Neow3j;
+import io.neow3j.protocol.core.stackitem.StackItem;
+import io.neow3j.types.ContractParameter;
+import io.neow3j.types.Hash160;
+import io.neow3j.utils.Numeric;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+import static io.neow3j.types.ContractParameter.byteArray;
+import static io.neow3j.types.ContractParameter.integer;
+import static io.neow3j.types.ContractParameter.string;
+import static java.util.Arrays.asList;
+
+/**
+ * Typed read access to the MemeContract.
+ * <p>
+ * The methods without a {@code read} prefix only build the call, such that it can be added to a
+ * {@link ReadBatch}. The {@code read} methods execute a single call right away.
+ */
+public class MemeClient {
+
+    // Methods with cacheable results
+    static final String GET_MEME = "getMeme";
+    static final String EXISTS = "exists";
+    static final String GET_MEME_COUNT = "getMemeCount";
+    static final String FIND_BY_IMAGE_HASH = "findByImageHash";
+
+    private final Neow3j neow3j;
+    private final Hash160 contract;
+    private final ReadCache cache;
+
+    public MemeClient(Neow3j neow3j, Hash160 contract) {
+        this(neow3j, contract, null);
+    }
+
+    /**
+     * @param cache the cache for the results of the {@code read} methods or null to not cache
+     *              results.
+     */
+    public MemeClient(Neow3j neow3j, Hash160 contract, ReadCache cache) {
+        this.neow3j = neow3j;
+        this.contract = contract;
+        this.cache = cache;
+    }
+
+    public Hash160 getScriptHash() {
+        return contract;
+    }
+
+    public ReadCall<MemeInfo> getMeme(String memeId) {
+        return cached(GET_MEME, asList(string(memeId)), Decoders::meme);
+    }
+
+    public ReadCall<Boolean> exists(String memeId) {
+        return cached(EXISTS, asList(string(memeId)), Decoders::bool);
+    }
+
+    public ReadCall<Integer> getMemeCount() {
+        return cached(GET_MEME_COUNT, Collections.emptyList(), Decoders::integer);
+    }
+
+    /**
+     * Gets the id of the meme with the image or null if there is none.
+     *
+     * @param imageHash the sha256 hash of the image in hexadecimal.
+     */
+    public ReadCall<String> findByImageHash(String imageHash) {
+        return cached(FIND_BY_IMAGE_HASH,
+                asList(byteArray(Numeric.hexStringToByteArray(imageHash))), Decoders::string);
+    }
+
+    public ReadCall<Page<MemeInfo>> getMemesAfter(String cursor, int limit) {
+        return call("getMemesAfter",
+                asList(GovernanceClient.cursorParam(cursor), integer(limit)),
+                item -> Decoders.page(item, Decoders::meme));
+    }
+
+    /**
+     * Gets the meme or null if it does not exist.
+     */
+    public MemeInfo readMeme(String memeId) throws IOException {
+        return ReadBatch.read(neow3j, cache, getMeme(memeId));
+    }
+
+    public Page<MemeInfo> readMemesAfter(String cursor, int limit) throws IOException {
+        return ReadBatch.read(neow3j, cache, getMemesAfter(cursor, limit));
+    }
+
+    private <T> ReadCall<T> call(String method, List<ContractParameter> params,
+            Function<StackItem, T> decoder) {
+        return new ReadCall<>(contract, method, params, decoder);
+    }
+
+    private <T> ReadCall<T> cached(String method, List<ContractParameter> params,
+            Function<StackItem, T> decoder) {
+        return new ReadCall<>(contract, method, params, decoder, true);
+    }
+
+}
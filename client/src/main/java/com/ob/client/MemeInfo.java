@@ -0,0 +1,17 @@
+package com.ob.client;
+
+public class MemeInfo {
+    public String id;
+    public String description;
+    public String url;
+    // The sha256 hash of the image in hexadecimal.
+    public String imageHash;
+
+    public MemeInfo(String id, String description, String url, String imageHash) {
+        this.id = id;
+        this.description = description;
+        this.url = url;
+        this.imageHash = imageHash;
+    }
+
+}
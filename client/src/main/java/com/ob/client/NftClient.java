@@ -0,0 +1,95 @@
+package com.ob.client;
+
+import io.neow3j.protocol.Neow3j;
+import io.neow3j.protocol.core.stackitem.StackItem;
+import io.neow3j.types.ContractParameter;
+import io.neow3j.types.Hash160;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static io.neow3j.types.ContractParameter.byteArray;
+import static io.neow3j.types.ContractParameter.hash160;
+import static java.util.Arrays.asList;
+
+/**
+ * Typed read access to the NFTcontract.
+ * <p>
+ * The methods without a {@code read} prefix only build the call, such that it can be added to a
+ * {@link ReadBatch}. The {@code read} methods execute a single call right away.
+ */
+public class NftClient {
+
+    // Methods with cacheable results
+    static final String TOTAL_SUPPLY = "totalSupply";
+    static final String BALANCE_OF = "balanceOf";
+    static final String OWNER_OF = "ownerOf";
+    static final String PROPERTIES = "properties";
+
+    private final Neow3j neow3j;
+    private final Hash160 contract;
+    private final ReadCache cache;
+
+    public NftClient(Neow3j neow3j, Hash160 contract) {
+        this(neow3j, contract, null);
+    }
+
+    /**
+     * @param cache the cache for the results of the {@code read} methods or null to not cache
+     *              results.
+     */
+    public NftClient(Neow3j neow3j, Hash160 contract, ReadCache cache) {
+        this.neow3j = neow3j;
+        this.contract = contract;
+        this.cache = cache;
+    }
+
+    public Hash160 getScriptHash() {
+        return contract;
+    }
+
+    public ReadCall<Integer> totalSupply() {
+        return cached(TOTAL_SUPPLY, Collections.emptyList(), Decoders::integer);
+    }
+
+    public ReadCall<Integer> balanceOf(Hash160 owner) {
+        return cached(BALANCE_OF, asList(hash160(owner)), Decoders::integer);
+    }
+
+    public ReadCall<Hash160> ownerOf(byte[] tokenId) {
+        return cached(OWNER_OF, asList(byteArray(tokenId)),
+                item -> Hash160.fromAddress(item.getAddress()));
+    }
+
+    public ReadCall<Map<String, String>> properties(byte[] tokenId) {
+        return cached(PROPERTIES, asList(byteArray(tokenId)), Decoders::stringMap);
+    }
+
+    /**
+     * Gets the owner of the token or null if it does not exist.
+     */
+    public Hash160 readOwnerOf(byte[] tokenId) throws IOException {
+        return ReadBatch.read(neow3j, cache, ownerOf(tokenId));
+    }
+
+    /**
+     * Gets the properties of the token or null if it does not exist.
+     */
+    public Map<String, String> readProperties(byte[] tokenId) throws IOException {
+        return ReadBatch.read(neow3j, cache, properties(tokenId));
+    }
+
+    private <T> ReadCall<T> call(String method, List<ContractParameter> params,
+            Function<StackItem, T> decoder) {
+        return new ReadCall<>(contract, method, params, decoder);
+    }
+
+    private <T> ReadCall<T> cached(String method, List<ContractParameter> params,
+            Function<StackItem, T> decoder) {
+        return new ReadCall<>(contract, method, params, decoder, true);
+    }
+
+}
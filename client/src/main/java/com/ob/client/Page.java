@@ -0,0 +1,26 @@
+package com.ob.client;
+
+import java.util.List;
+
+/**
+ * A page of a cursor-based query. Pass the cursor to the same query to get the next page.
+ */
+public class Page<T> {
+    public List<T> items;
+    // Null if there are no more items.
+    public String nextCursor;
+    // Only set by the query of expired proposals, which also needs it for the next page. The
+    // cursor can be null while more items follow from this block. 0 if there are no more items.
+    public long nextBlock;
+
+    public Page(List<T> items, String nextCursor) {
+        this(items, nextCursor, 0);
+    }
+
+    public Page(List<T> items, String nextCursor, long nextBlock) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.nextBlock = nextBlock;
+    }
+
+}
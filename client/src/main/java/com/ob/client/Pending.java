@@ -0,0 +1,36 @@
+package com.ob.client;
+
+/**
+ * The result of a call that was added to a {@link ReadBatch}. It is available after the batch was
+ * executed.
+ *
+ * @param <T> the type of the result.
+ */
+public class Pending<T> {
+
+    private boolean done;
+    private T value;
+
+    /**
+     * Gets the result of the call. Is null if the call faulted, e.g., because a meme or proposal
+     * does not exist.
+     *
+     * @throws IllegalStateException if the batch was not executed yet.
+     */
+    public T get() {
+        if (!done) {
+            throw new IllegalStateException("The batch of this call was not executed yet.");
+        }
+        return value;
+    }
+
+    public boolean isDone() {
+        return done;
+    }
+
+    void complete(T value) {
+        this.value = value;
+        this.done = true;
+    }
+
+}
@@ -0,0 +1,35 @@
+package com.ob.client;
+
+/**
+ * A proposal as returned by the GovernanceContract.
+ * <p>
+ * Whether the vote is in progress changes with the block height and without an event, so it is
+ * not stored. Proposals can be cached and it is derived from the finalization block instead.
+ */
+public class ProposalInfo {
+    public MemeInfo meme;
+    public boolean create;
+    public long finalizationBlock;
+    public int votesInFavor;
+    public int votesAgainst;
+    public long epoch;
+
+    public ProposalInfo(MemeInfo meme, boolean create, long finalizationBlock, int votesInFavor,
+            int votesAgainst, long epoch) {
+        this.meme = meme;
+        this.create = create;
+        this.finalizationBlock = finalizationBlock;
+        this.votesInFavor = votesInFavor;
+        this.votesAgainst = votesAgainst;
+        this.epoch = epoch;
+    }
+
+    /**
+     * @param currentIndex the index of the latest block, i.e., the block count minus one.
+     * @return whether the proposal is still open for votes in the block after the given block.
+     */
+    public boolean isVoteInProgress(long currentIndex) {
+        return currentIndex < finalizationBlock;
+    }
+
+}
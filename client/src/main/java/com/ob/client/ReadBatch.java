@@ -0,0 +1,192 @@
+package com.ob.client;
+
+import io.neow3j.protocol.Neow3j;
+import io.neow3j.protocol.core.response.InvocationResult;
+import io.neow3j.protocol.core.stackitem.StackItem;
+import io.neow3j.script.OpCode;
+import io.neow3j.script.ScriptBuilder;
+import io.neow3j.types.CallFlags;
+import io.neow3j.utils.Numeric;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Collects read-only contract calls and executes them with as few {@code invokescript} requests
+ * as possible.
+ * <p>
+ * The queued calls are compiled into one script that leaves the result of each call on the
+ * stack. Each call is wrapped in a try-catch block, so a faulting call, e.g., {@code getProposal}
+ * for an id without a proposal, yields null instead of failing the whole batch. Calls are split
+ * into several scripts of at most {@link ReadBatch#DEFAULT_MAX_CALLS_PER_SCRIPT} calls, to stay
+ * within the stack limits of the VM when the results are large.
+ * <p>
+ * If the batch has a {@link ReadCache}, cached results complete their handles right away and are
+ * not sent to the node.
+ */
+public class ReadBatch {
+
+    public static final int DEFAULT_MAX_CALLS_PER_SCRIPT = 50;
+
+    private final Neow3j neow3j;
+    private final int maxCallsPerScript;
+    private final ReadCache cache;
+    private final List<ReadCall<?>> calls = new ArrayList<>();
+    private final List<Pending<?>> results = new ArrayList<>();
+
+    public ReadBatch(Neow3j neow3j) {
+        this(neow3j, DEFAULT_MAX_CALLS_PER_SCRIPT);
+    }
+
+    public ReadBatch(Neow3j neow3j, int maxCallsPerScript) {
+        this(neow3j, maxCallsPerScript, null);
+    }
+
+    public ReadBatch(Neow3j neow3j, ReadCache cache) {
+        this(neow3j, DEFAULT_MAX_CALLS_PER_SCRIPT, cache);
+    }
+
+    /**
+     * @param cache the cache to read from and write to or null to not cache results.
+     */
+    public ReadBatch(Neow3j neow3j, int maxCallsPerScript, ReadCache cache) {
+        this.neow3j = neow3j;
+        this.maxCallsPerScript = maxCallsPerScript;
+        this.cache = cache;
+    }
+
+    /**
+     * Queues a call. A cached result is available right away.
+     *
+     * @return the handle to the result, available after {@link ReadBatch#execute()}.
+     */
+    public <T> Pending<T> add(ReadCall<T> call) {
+        Pending<T> pending = new Pending<>();
+        if (cache != null && cache.complete(call, pending)) {
+            return pending;
+        }
+        calls.add(call);
+        results.add(pending);
+        return pending;
+    }
+
+    public int size() {
+        return calls.size();
+    }
+
+    /**
+     * Executes all queued calls and completes their handles. The batch is empty afterwards.
+     *
+     * @return the number of {@code invokescript} requests that were sent.
+     * @throws IOException if a request failed or a script faulted as a whole.
+     */
+    public int execute() throws IOException {
+        int requests = 0;
+        for (int from = 0; from < calls.size(); from += maxCallsPerScript) {
+            int to = Math.min(from + maxCallsPerScript, calls.size());
+            executeScript(calls.subList(from, to), results.subList(from, to));
+            requests++;
+        }
+        calls.clear();
+        results.clear();
+        return requests;
+    }
+
+    /**
+     * Executes a single call in its own {@code invokescript} request.
+     */
+    public static <T> T read(Neow3j neow3j, ReadCall<T> call) throws IOException {
+        return read(neow3j, null, call);
+    }
+
+    /**
+     * Executes a single call in its own {@code invokescript} request unless its result is
+     * cached.
+     */
+    public static <T> T read(Neow3j neow3j, ReadCache cache, ReadCall<T> call)
+            throws IOException {
+        ReadBatch batch = new ReadBatch(neow3j, cache);
+        Pending<T> result = batch.add(call);
+        batch.execute();
+        return result.get();
+    }
+
+    private void executeScript(List<ReadCall<?>> calls, List<Pending<?>> results)
+            throws IOException {
+        ByteArrayOutputStream script = new ByteArrayOutputStream();
+        for (ReadCall<?> call : calls) {
+            appendGuardedCall(script, call);
+        }
+        long generation = cache == null ? 0 : cache.generation();
+        InvocationResult result = neow3j
+                .invokeScript(Numeric.toHexStringNoPrefix(script.toByteArray()))
+                .send().getInvocationResult();
+        if (result.hasStateFault()) {
+            throw new IOException("The batch script faulted: " + result.getException());
+        }
+        List<StackItem> stack = result.getStack();
+        for (int i = 0; i < calls.size(); i++) {
+            Object value = complete(results.get(i), calls.get(i), stack.get(i));
+            if (cache != null) {
+                cache.put(calls.get(i), value, generation);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T complete(Pending<T> pending, ReadCall<?> call, StackItem item) {
+        T value = item.getValue() == null ? null : (T) call.decoder.apply(item);
+        pending.complete(value);
+        return value;
+    }
+
+    /**
+     * Appends the call in a try-catch block that pushes null if the call faults:
+     * <pre>
+     * TRY_L catch 0
+     *   call
+     *   ENDTRY_L end
+     * catch:
+     *   DROP
+     *   PUSHNULL
+     *   ENDTRY_L end
+     * end:
+     * </pre>
+     * The catch block ends with ENDTRY_L as well. Otherwise the try context of each faulting call
+     * stays on the stack, and more faulting calls than the VM's maximum try nesting depth of 16
+     * fault the whole script.
+     */
+    private static void appendGuardedCall(ByteArrayOutputStream script, ReadCall<?> call)
+            throws IOException {
+        byte[] callScript = new ScriptBuilder()
+                .contractCall(call.contract, call.method, call.params, CallFlags.READ_ONLY)
+                .toArray();
+        // Offsets are relative to the start of the instruction that holds them. TRY_L has two
+        // 4-byte operands and ENDTRY_L one.
+        int tryLength = 9;
+        int endTryLength = 5;
+        int catchOffset = tryLength + callScript.length + endTryLength;
+        // Skips the catch block, which consists of DROP, PUSHNULL and ENDTRY_L.
+        int endOffset = endTryLength + 2 + endTryLength;
+
+        script.write(OpCode.TRY_L.getCode());
+        script.write(toInt32(catchOffset));
+        script.write(toInt32(0));
+        script.write(callScript);
+        script.write(OpCode.ENDTRY_L.getCode());
+        script.write(toInt32(endOffset));
+        script.write(OpCode.DROP.getCode());
+        script.write(OpCode.PUSHNULL.getCode());
+        script.write(OpCode.ENDTRY_L.getCode());
+        script.write(toInt32(endTryLength));
+    }
+
+    private static byte[] toInt32(int value) {
+        return ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN).putInt(value).array();
+    }
+
+}
@@ -0,0 +1,207 @@
+package com.ob.client;
+
+import io.neow3j.types.ContractParameter;
+import io.neow3j.types.Hash160;
+import io.neow3j.utils.Numeric;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bounded cache of read results, keyed by contract, method and arguments. The least recently
+ * used entry is evicted when the cache is full.
+ * <p>
+ * Only {@link ReadCall#isCacheable() cacheable} calls are cached. The cache does not expire
+ * entries by itself. Run a {@link CacheInvalidator} to drop the entries that are changed by the
+ * contract events of new blocks. Cached results are shared, so they must not be modified.
+ */
+public class ReadCache {
+
+    // Marks a cached null result.
+    private static final Object NULL = new Object();
+
+    private final int maxEntries;
+    private final LinkedHashMap<Key, Object> entries;
+
+    // Incremented by every invalidation. Results of reads that overlap with an invalidation are
+    // not cached, because they may have been read before the invalidated change.
+    private long generation;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public ReadCache(int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("The cache needs room for at least one entry.");
+        }
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<Key, Object>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Object> eldest) {
+                if (size() > ReadCache.this.maxEntries) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Completes the handle with the cached result of the call.
+     *
+     * @return true if the result was cached.
+     */
+    synchronized <T> boolean complete(ReadCall<T> call, Pending<T> pending) {
+        if (!call.cacheable) {
+            return false;
+        }
+        Object value = entries.get(new Key(call));
+        if (value == null) {
+            misses.incrementAndGet();
+            return false;
+        }
+        hits.incrementAndGet();
+        pending.complete(value == NULL ? null : cast(value));
+        return true;
+    }
+
+    /**
+     * @return the generation to pass to {@link ReadCache#put(ReadCall, Object, long)} for a read
+     * that starts now.
+     */
+    synchronized long generation() {
+        return generation;
+    }
+
+    /**
+     * Caches the result of a read that started at the given generation. The result is dropped if
+     * an invalidation happened in the meantime.
+     */
+    synchronized void put(ReadCall<?> call, Object value, long readGeneration) {
+        if (call.cacheable && readGeneration == generation) {
+            entries.put(new Key(call), value == null ? NULL : value);
+        }
+    }
+
+    /**
+     * Drops the cached result of the call with the given argument.
+     *
+     * @param argument the argument as it is passed to the contract. Byte arrays are given in
+     *                 hexadecimal and hashes as their string representation. Is null for calls
+     *                 without arguments.
+     */
+    public synchronized void invalidate(Hash160 contract, String method, String argument) {
+        generation++;
+        if (entries.remove(new Key(contract, method, argument)) != null) {
+            invalidations.incrementAndGet();
+        }
+    }
+
+    /**
+     * Drops all cached results of the method that equal the given value.
+     */
+    public synchronized void invalidateValue(Hash160 contract, String method, Object value) {
+        generation++;
+        Iterator<Map.Entry<Key, Object>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Key, Object> entry = it.next();
+            if (entry.getKey().contract.equals(contract) && entry.getKey().method.equals(method)
+                    && Objects.equals(entry.getValue(), value)) {
+                it.remove();
+                invalidations.incrementAndGet();
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        generation++;
+        invalidations.addAndGet(entries.size());
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    public long getInvalidations() {
+        return invalidations.get();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T cast(Object value) {
+        return (T) value;
+    }
+
+    static String argumentOf(List<ContractParameter> params) {
+        if (params.isEmpty()) {
+            return null;
+        }
+        StringBuilder argument = new StringBuilder();
+        for (ContractParameter param : params) {
+            if (argument.length() > 0) {
+                argument.append(',');
+            }
+            Object value = param.getValue();
+            argument.append(value instanceof byte[]
+                    ? Numeric.toHexStringNoPrefix((byte[]) value)
+                    : String.valueOf(value));
+        }
+        return argument.toString();
+    }
+
+    private static class Key {
+
+        final Hash160 contract;
+        final String method;
+        final String argument;
+
+        Key(ReadCall<?> call) {
+            this(call.contract, call.method, argumentOf(call.params));
+        }
+
+        Key(Hash160 contract, String method, String argument) {
+            this.contract = contract;
+            this.method = method;
+            this.argument = argument;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return contract.equals(other.contract) && method.equals(other.method)
+                    && Objects.equals(argument, other.argument);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(contract, method, argument);
+        }
+
+    }
+
+}
@@ -0,0 +1,56 @@
+package com.ob.client;
+
+import io.neow3j.protocol.core.stackitem.StackItem;
+import io.neow3j.types.ContractParameter;
+import io.neow3j.types.Hash160;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A read-only contract call together with the decoder for its result.
+ * <p>
+ * Instances are created by the contract clients and are executed with a {@link ReadBatch} or
+ * directly with {@link ReadBatch#read(io.neow3j.protocol.Neow3j, ReadCall)}.
+ *
+ * @param <T> the type of the decoded result.
+ */
+public class ReadCall<T> {
+
+    final Hash160 contract;
+    final String method;
+    final List<ContractParameter> params;
+    final Function<StackItem, T> decoder;
+    final boolean cacheable;
+
+    public ReadCall(Hash160 contract, String method, List<ContractParameter> params,
+            Function<StackItem, T> decoder) {
+        this(contract, method, params, decoder, false);
+    }
+
+    /**
+     * @param cacheable whether the result may be kept in a {@link ReadCache}. Only calls whose
+     *                  result is invalidated by a {@link CacheInvalidator} should be cacheable.
+     */
+    public ReadCall(Hash160 contract, String method, List<ContractParameter> params,
+            Function<StackItem, T> decoder, boolean cacheable) {
+        this.contract = contract;
+        this.method = method;
+        this.params = params;
+        this.decoder = decoder;
+        this.cacheable = cacheable;
+    }
+
+    public Hash160 getContract() {
+        return contract;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public boolean isCacheable() {
+        return cacheable;
+    }
+
+}
@@ -0,0 +1,44 @@
+package com.ob.client;
+
+import io.neow3j.types.Hash256;
+
+import java.io.IOException;
+
+/**
+ * Thrown if a sent transaction does not make it into a block, either because the node rejected
+ * it or because it expired in the mempool, or if its outcome cannot be followed because the node
+ * does not respond.
+ */
+public class SubmissionException extends IOException {
+
+    public enum Reason {
+        REJECTED,
+        EXPIRED,
+        // The node failed to respond to the poller. The transaction may still be included.
+        UNTRACKED
+    }
+
+    private final Hash256 hash;
+    private final Reason reason;
+
+    public SubmissionException(Hash256 hash, Reason reason, String message) {
+        super(message);
+        this.hash = hash;
+        this.reason = reason;
+    }
+
+    public SubmissionException(Hash256 hash, Reason reason, String message, Throwable cause) {
+        super(message, cause);
+        this.hash = hash;
+        this.reason = reason;
+    }
+
+    public Hash256 getHash() {
+        return hash;
+    }
+
+    public Reason getReason() {
+        return reason;
+    }
+
+}
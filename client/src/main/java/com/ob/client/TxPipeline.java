@@ -0,0 +1,251 @@
+package com.ob.client;
+
+import io.neow3j.protocol.Neow3j;
+import io.neow3j.protocol.core.response.NeoApplicationLog;
+import io.neow3j.protocol.core.response.NeoBlock;
+import io.neow3j.protocol.core.response.NeoGetApplicationLog;
+import io.neow3j.protocol.core.response.NeoSendRawTransaction;
+import io.neow3j.transaction.Transaction;
+import io.neow3j.transaction.TransactionBuilder;
+import io.neow3j.types.Hash256;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Submits transactions without waiting for each of them to be included in a block.
+ * <p>
+ * Transactions are built and signed on a pool of worker threads and sent right away. A background
+ * poller follows the blocks of the node. For each new block it fetches the application logs of
+ * the pipeline's transactions in that block together, and completes their futures. Transactions
+ * that the node rejects or that expire complete exceptionally with a
+ * {@link SubmissionException}. So do all transactions in flight if the node fails to respond to
+ * {@link TxPipeline#MAX_FAILED_POLLS} polls in a row.
+ * <p>
+ * The threads of the pipeline are daemon threads, so a pipeline that is not closed does not keep
+ * the JVM alive.
+ * <p>
+ * At most {@code maxInFlight} transactions are in flight at a time. {@link TxPipeline#submit}
+ * blocks until a slot is free, which keeps bulk operations from overflowing the mempool.
+ */
+public class TxPipeline implements AutoCloseable {
+
+    public static final int DEFAULT_MAX_IN_FLIGHT = 500;
+    public static final long DEFAULT_POLL_INTERVAL_MILLIS = 200;
+    public static final int MAX_FAILED_POLLS = 50;
+
+    private final Neow3j neow3j;
+    private final ExecutorService workers;
+    private final ScheduledExecutorService poller;
+    private final Semaphore window;
+    private final Map<Hash256, Tracked> pending = new ConcurrentHashMap<>();
+    // Only accessed by the poller.
+    private long nextBlock;
+    private int failedPolls;
+
+    public TxPipeline(Neow3j neow3j) throws IOException {
+        this(neow3j, Runtime.getRuntime().availableProcessors(), DEFAULT_MAX_IN_FLIGHT,
+                DEFAULT_POLL_INTERVAL_MILLIS);
+    }
+
+    /**
+     * @param threads            the number of threads that build, sign and send transactions.
+     * @param maxInFlight        the maximum number of transactions that are submitted but not
+     *                           yet included in a block.
+     * @param pollIntervalMillis the time between checks for new blocks.
+     */
+    public TxPipeline(Neow3j neow3j, int threads, int maxInFlight, long pollIntervalMillis)
+            throws IOException {
+        this.neow3j = neow3j;
+        this.workers = Executors.newFixedThreadPool(threads, daemonThreads("tx-pipeline-worker"));
+        this.poller = Executors.newSingleThreadScheduledExecutor(
+                daemonThreads("tx-pipeline-poller"));
+        this.window = new Semaphore(maxInFlight);
+        this.nextBlock = getHeight() + 1;
+        poller.scheduleWithFixedDelay(this::poll, pollIntervalMillis, pollIntervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Signs the transaction of the builder on a worker thread and sends it.
+     *
+     * @return the future of the transaction's outcome. It completes exceptionally if the builder
+     * fails, e.g., because the script faults in the fee simulation.
+     * @throws InterruptedException if interrupted while waiting for a free slot.
+     */
+    public CompletableFuture<TxResult> submit(TransactionBuilder builder)
+            throws InterruptedException {
+        return submit(builder::sign);
+    }
+
+    /**
+     * Creates a signed transaction on a worker thread and sends it.
+     *
+     * @param transaction creates the signed transaction.
+     * @return the future of the transaction's outcome.
+     * @throws InterruptedException if interrupted while waiting for a free slot.
+     */
+    public CompletableFuture<TxResult> submit(Callable<Transaction> transaction)
+            throws InterruptedException {
+        window.acquire();
+        CompletableFuture<TxResult> result = new CompletableFuture<>();
+        result.whenComplete((r, e) -> window.release());
+        workers.execute(() -> send(transaction, result));
+        return result;
+    }
+
+    /**
+     * @return the number of transactions that were sent but are not yet included in a block.
+     */
+    public int getInFlight() {
+        return pending.size();
+    }
+
+    private void send(Callable<Transaction> transaction, CompletableFuture<TxResult> result) {
+        Tracked tracked = null;
+        try {
+            Transaction tx = transaction.call();
+            tracked = new Tracked(tx.getTxId(), tx.getValidUntilBlock(),
+                    System.currentTimeMillis(), result);
+            // Tracked before it is sent, because it may be included before send returns.
+            if (pending.putIfAbsent(tracked.hash, tracked) != null) {
+                result.completeExceptionally(new SubmissionException(tracked.hash,
+                        SubmissionException.Reason.REJECTED,
+                        "The transaction is already in flight."));
+                return;
+            }
+            NeoSendRawTransaction response = tx.send();
+            if (response.hasError()) {
+                pending.remove(tracked.hash, tracked);
+                result.completeExceptionally(new SubmissionException(tracked.hash,
+                        SubmissionException.Reason.REJECTED, response.getError().getMessage()));
+            }
+        } catch (Throwable e) {
+            if (tracked != null) {
+                pending.remove(tracked.hash, tracked);
+            }
+            result.completeExceptionally(e);
+        }
+    }
+
+    private void poll() {
+        try {
+            long height = getHeight();
+            for (; nextBlock <= height; nextBlock++) {
+                processBlock(nextBlock);
+            }
+            expire(height);
+            failedPolls = 0;
+        } catch (IOException | RuntimeException e) {
+            // Retried with the same block on the next poll.
+            if (++failedPolls >= MAX_FAILED_POLLS) {
+                failPending(e);
+                failedPolls = 0;
+            }
+        }
+    }
+
+    private void processBlock(long height) throws IOException {
+        NeoBlock block = neow3j.getBlock(BigInteger.valueOf(height), true).send().getBlock();
+        if (block.getTransactions() == null || pending.isEmpty()) {
+            return;
+        }
+        List<Tracked> included = new ArrayList<>();
+        List<CompletableFuture<NeoGetApplicationLog>> logs = new ArrayList<>();
+        for (io.neow3j.protocol.core.response.Transaction tx : block.getTransactions()) {
+            Tracked tracked = pending.get(tx.getHash());
+            if (tracked != null) {
+                included.add(tracked);
+                logs.add(neow3j.getApplicationLog(tx.getHash()).sendAsync());
+            }
+        }
+        for (int i = 0; i < included.size(); i++) {
+            Tracked tracked = included.get(i);
+            NeoApplicationLog.Execution execution =
+                    logs.get(i).join().getApplicationLog().getExecutions().get(0);
+            pending.remove(tracked.hash);
+            tracked.result.complete(new TxResult(tracked.hash, height, block.getTime(),
+                    tracked.sentTime, execution.getState(), execution.getException()));
+        }
+    }
+
+    private void expire(long height) {
+        Iterator<Tracked> it = pending.values().iterator();
+        while (it.hasNext()) {
+            Tracked tracked = it.next();
+            if (tracked.validUntilBlock <= height) {
+                it.remove();
+                tracked.result.completeExceptionally(new SubmissionException(tracked.hash,
+                        SubmissionException.Reason.EXPIRED,
+                        "The transaction expired before it was included in a block."));
+            }
+        }
+    }
+
+    private void failPending(Exception cause) {
+        Iterator<Tracked> it = pending.values().iterator();
+        while (it.hasNext()) {
+            Tracked tracked = it.next();
+            it.remove();
+            tracked.result.completeExceptionally(new SubmissionException(tracked.hash,
+                    SubmissionException.Reason.UNTRACKED, "The node failed to respond to "
+                    + MAX_FAILED_POLLS + " polls in a row.", cause));
+        }
+    }
+
+    private long getHeight() throws IOException {
+        return neow3j.getBlockCount().send().getBlockCount().longValue() - 1;
+    }
+
+    /**
+     * Stops the workers and the poller. Transactions that are still in flight are cancelled.
+     */
+    @Override
+    public void close() {
+        workers.shutdownNow();
+        poller.shutdownNow();
+        for (Tracked tracked : pending.values()) {
+            tracked.result.cancel(false);
+        }
+        pending.clear();
+    }
+
+    private static ThreadFactory daemonThreads(String name) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static class Tracked {
+        final Hash256 hash;
+        final long validUntilBlock;
+        final long sentTime;
+        final CompletableFuture<TxResult> result;
+
+        Tracked(Hash256 hash, long validUntilBlock, long sentTime,
+                CompletableFuture<TxResult> result) {
+            this.hash = hash;
+            this.validUntilBlock = validUntilBlock;
+            this.sentTime = sentTime;
+            this.result = result;
+        }
+    }
+
+}
@@ -0,0 +1,42 @@
+package com.ob.client;
+
+import io.neow3j.types.Hash256;
+import io.neow3j.types.NeoVMStateType;
+
+/**
+ * The outcome of a transaction that was included in a block.
+ */
+public class TxResult {
+    public Hash256 hash;
+    public long block;
+    // The timestamp of the block in milliseconds since the epoch.
+    public long blockTime;
+    // The time the transaction was sent at in milliseconds since the epoch.
+    public long sentTime;
+    public NeoVMStateType state;
+    // The exception message if the transaction faulted.
+    public String exception;
+
+    public TxResult(Hash256 hash, long block, long blockTime, long sentTime,
+            NeoVMStateType state, String exception) {
+        this.hash = hash;
+        this.block = block;
+        this.blockTime = blockTime;
+        this.sentTime = sentTime;
+        this.state = state;
+        this.exception = exception;
+    }
+
+    public boolean isHalted() {
+        return state == NeoVMStateType.HALT;
+    }
+
+    /**
+     * @return the time from sending the transaction to the timestamp of its block in
+     * milliseconds.
+     */
+    public long getLatencyMillis() {
+        return blockTime - sentTime;
+    }
+
+}
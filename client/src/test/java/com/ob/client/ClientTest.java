@@ -0,0 +1,224 @@
+package com.ob.client;
+
+import com.ob.fixtures.FixtureChain;
+import com.ob.fixtures.Fixtures;
+import io.neow3j.contract.SmartContract;
+import io.neow3j.crypto.Hash;
+import io.neow3j.protocol.Neow3j;
+import io.neow3j.transaction.AccountSigner;
+import io.neow3j.transaction.Transaction;
+import io.neow3j.transaction.TransactionBuilder;
+import io.neow3j.types.Hash256;
+import io.neow3j.utils.Numeric;
+import io.neow3j.wallet.Account;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static io.neow3j.types.ContractParameter.bool;
+import static io.neow3j.types.ContractParameter.byteArray;
+import static io.neow3j.types.ContractParameter.hash160;
+import static io.neow3j.types.ContractParameter.string;
+import static io.neow3j.utils.Await.waitUntilTransactionIsExecuted;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ClientTest {
+
+    private static final int PROPOSALS = 60;
+
+    private static FixtureChain chain;
+    private static Account a1;
+
+    private static Neow3j neow3j;
+    private static SmartContract governanceContract;
+    private static GovernanceClient governance;
+    private static MemeClient memes;
+
+    @BeforeAll
+    public static void setUp() throws Throwable {
+        chain = Fixtures.DEPLOYED.restore();
+        a1 = chain.getAlice();
+        neow3j = chain.getNeow3j();
+        governanceContract = chain.getGovernanceContract();
+        governance = new GovernanceClient(neow3j, governanceContract.getScriptHash());
+        memes = new MemeClient(neow3j, chain.getMemeContract().getScriptHash());
+        List<CompletableFuture<TxResult>> proposals = new ArrayList<>();
+        try (TxPipeline pipeline = new TxPipeline(neow3j)) {
+            for (int i = 0; i < PROPOSALS; i++) {
+                String memeId = "clientMeme" + i;
+                proposals.add(pipeline.submit(governanceContract.invokeFunction(
+                        "proposeNewMeme", string(memeId), string("desc" + i),
+                        string("url" + i), byteArray(imageHashOf(memeId)))
+                        .signers(AccountSigner.calledByEntry(a1))));
+            }
+            for (CompletableFuture<TxResult> proposal : proposals) {
+                assertThat(proposal.get().isHalted(), is(true));
+            }
+        }
+    }
+
+    @AfterAll
+    public static void tearDown() throws Exception {
+        chain.close();
+    }
+
+    @Test
+    public void testPipelineCompletesWithBlockOutcome() throws Throwable {
+        try (TxPipeline pipeline = new TxPipeline(neow3j)) {
+            Transaction tx = governanceContract.invokeFunction("vote", string("clientMeme3"),
+                    hash160(a1), bool(true)).signers(AccountSigner.calledByEntry(a1)).sign();
+            CompletableFuture<TxResult> first = pipeline.submit(() -> tx);
+            TxResult result = first.get();
+            assertThat(result.hash, is(tx.getTxId()));
+            assertThat(result.isHalted(), is(true));
+            assertThat(result.getLatencyMillis() >= 0, is(true));
+            assertThat(pipeline.getInFlight(), is(0));
+
+            // The node rejects a transaction that is already on the chain.
+            ExecutionException e = assertThrows(ExecutionException.class,
+                    () -> pipeline.submit(() -> tx).get());
+            assertThat(e.getCause(), instanceOf(SubmissionException.class));
+            assertThat(((SubmissionException) e.getCause()).getReason(),
+                    is(SubmissionException.Reason.REJECTED));
+        }
+    }
+
+    @Test
+    public void testBatchedReadsMatchSingleReads() throws Throwable {
+        ReadBatch batch = new ReadBatch(neow3j);
+        List<Pending<ProposalInfo>> proposals = new ArrayList<>();
+        for (int i = 0; i < PROPOSALS; i++) {
+            proposals.add(batch.add(governance.getProposal("clientMeme" + i)));
+        }
+        Pending<ProposalInfo> missingProposal = batch.add(governance.getProposal("noProposal"));
+        Pending<MemeInfo> notAMemeYet = batch.add(memes.getMeme("clientMeme0"));
+        Pending<Integer> count = batch.add(governance.getProposalCount());
+        Pending<String> byImage = batch.add(memes.findByImageHash(
+                Numeric.toHexStringNoPrefix(imageHashOf("clientMeme0"))));
+
+        assertThrows(IllegalStateException.class, notAMemeYet::get);
+        // 64 calls are split into two scripts.
+        assertThat(batch.execute(), is(2));
+        assertThat(batch.size(), is(0));
+
+        for (int i = 0; i < PROPOSALS; i++) {
+            ProposalInfo batched = proposals.get(i).get();
+            ProposalInfo single = governance.readProposal("clientMeme" + i);
+            assertThat(batched, notNullValue());
+            assertThat(batched.meme.id, is("clientMeme" + i));
+            assertThat(batched.meme.description, is(single.meme.description));
+            assertThat(batched.meme.url, is(single.meme.url));
+            assertThat(batched.meme.imageHash, is(single.meme.imageHash));
+            assertThat(batched.create, is(true));
+            assertThat(governance.isVoteInProgress(batched), is(true));
+            assertThat(batched.finalizationBlock, is(single.finalizationBlock));
+            assertThat(batched.epoch, is(single.epoch));
+        }
+        // Faulting calls do not fail the batch.
+        assertThat(missingProposal.get(), is(nullValue()));
+        assertThat(notAMemeYet.get(), is(nullValue()));
+        assertThat(count.get() >= PROPOSALS, is(true));
+        // Proposals are not memes yet.
+        assertThat(byImage.get(), is(nullValue()));
+    }
+
+    // More faulting calls in one script than the VM's maximum try nesting depth of 16.
+    @Test
+    public void testBatchWithManyFaultingCalls() throws Throwable {
+        ReadBatch batch = new ReadBatch(neow3j);
+        List<Pending<ProposalInfo>> missing = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            missing.add(batch.add(governance.getProposal("noProposal" + i)));
+        }
+        Pending<ProposalInfo> existing = batch.add(governance.getProposal("clientMeme0"));
+        assertThat(batch.execute(), is(1));
+
+        for (Pending<ProposalInfo> proposal : missing) {
+            assertThat(proposal.get(), is(nullValue()));
+        }
+        assertThat(existing.get().meme.id, is("clientMeme0"));
+    }
+
+    @Test
+    public void testReadPage() throws Throwable {
+        Page<ProposalInfo> page = governance.readProposalsAfter(null, 10);
+        assertThat(page.items.size(), is(10));
+        assertThat(page.nextCursor, is(page.items.get(9).meme.id));
+    }
+
+    @Test
+    public void testCacheIsInvalidatedByEvents() throws Throwable {
+        ReadCache cache = new ReadCache(100);
+        GovernanceClient cachedGovernance =
+                new GovernanceClient(neow3j, governanceContract.getScriptHash(), cache);
+        try (CacheInvalidator invalidator = new CacheInvalidator(neow3j, cache,
+                governanceContract.getScriptHash(), memes.getScriptHash(), null)) {
+            ProposalInfo proposal = cachedGovernance.readProposal("clientMeme1");
+            assertThat(cachedGovernance.readProposal("clientMeme1"), is(proposal));
+            assertThat(cache.getMisses(), is(1L));
+            assertThat(cache.getHits(), is(1L));
+
+            // A block without a change of this proposal keeps the entry.
+            send(governanceContract.invokeFunction("vote", string("clientMeme2"), hash160(a1),
+                    bool(true)).signers(AccountSigner.calledByEntry(a1)));
+            invalidator.poll();
+            assertThat(cachedGovernance.readProposal("clientMeme1"), is(proposal));
+            assertThat(cache.getHits(), is(2L));
+
+            send(governanceContract.invokeFunction("vote", string("clientMeme1"), hash160(a1),
+                    bool(true)).signers(AccountSigner.calledByEntry(a1)));
+            invalidator.poll();
+            assertThat(cache.getInvalidations(), is(1L));
+            ProposalInfo updated = cachedGovernance.readProposal("clientMeme1");
+            assertThat(updated.votesInFavor, is(proposal.votesInFavor + 1));
+            assertThat(cache.getMisses(), is(2L));
+
+            // The end of the vote fires no event, so it is derived from the cached proposal.
+            ProposalInfo cached = cachedGovernance.readProposal("clientMeme1");
+            assertThat(cache.getHits(), is(3L));
+            assertThat(cached.isVoteInProgress(cached.finalizationBlock - 1), is(true));
+            assertThat(cached.isVoteInProgress(cached.finalizationBlock), is(false));
+        }
+    }
+
+    @Test
+    public void testCacheEvictsLeastRecentlyUsed() throws Throwable {
+        ReadCache cache = new ReadCache(2);
+        ReadBatch batch = new ReadBatch(neow3j, cache);
+        batch.add(governance.getProposal("clientMeme3"));
+        batch.add(governance.getProposal("clientMeme4"));
+        batch.execute();
+        // Uses clientMeme3, such that clientMeme4 is evicted next.
+        assertThat(batch.add(governance.getProposal("clientMeme3")).isDone(), is(true));
+        batch.add(governance.getProposal("clientMeme5"));
+        assertThat(batch.execute(), is(1));
+        assertThat(cache.getEvictions(), is(1L));
+        assertThat(cache.size(), is(2));
+
+        assertThat(batch.add(governance.getProposal("clientMeme3")).isDone(), is(true));
+        assertThat(batch.add(governance.getProposal("clientMeme4")).isDone(), is(false));
+        // Page queries are not cached.
+        assertThat(batch.add(governance.getProposalsAfter(null, 1)).isDone(), is(false));
+    }
+
+    private static byte[] imageHashOf(String memeId) {
+        return Hash.sha256(memeId.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void send(TransactionBuilder builder) throws Throwable {
+        Hash256 hash = builder.sign().send().getSendRawTransaction().getHash();
+        waitUntilTransactionIsExecuted(hash, neow3j);
+    }
+
+}
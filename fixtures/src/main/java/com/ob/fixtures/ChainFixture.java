@@ -0,0 +1,101 @@
+package com.ob.fixtures;
+
+import io.neow3j.protocol.Neow3j;
+import io.neow3j.wallet.Account;
+
+import java.io.File;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * A named chain state, e.g., "1k memes and 200 open proposals", that is built once and saved as a
+ * neo-express checkpoint. Later runs restore the checkpoint instead of building the state again.
+ * <p>
+ * A checkpoint is rebuilt when the compiled contracts change. Changes of the builder are not
+ * detected, so the fixture has to be renamed or the checkpoint deleted when it changes.
+ * <p>
+ * The checkpoints are kept in the directory of the system property {@code fixtures.dir} and the
+ * chain is configured by the neo-express file of {@code fixtures.neoxpConfig}. The
+ * {@code neoxp.batch} file next to it is run before the contracts are deployed.
+ */
+public class ChainFixture {
+
+    @FunctionalInterface
+    public interface Builder {
+        /**
+         * Creates the state of the fixture on a chain with the deployed contracts.
+         */
+        void build(FixtureChain chain) throws IOException;
+    }
+
+    private static final int SECONDS_PER_BLOCK = 1;
+    private static final BigDecimal FUNDING = new BigDecimal("100000");
+    private static final String CHECKPOINT_EXTENSION = ".neoxp-checkpoint";
+
+    private final String name;
+    private final Builder builder;
+
+    public ChainFixture(String name, Builder builder) {
+        this.name = name;
+        this.builder = builder;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Restores the state of the fixture and starts the node. Builds the state first if there is
+     * no checkpoint for the current contracts.
+     *
+     * @return the running chain. It has to be closed to stop the node.
+     */
+    public FixtureChain restore() throws IOException {
+        NeoExpress neoExpress = new NeoExpress(new File(property("fixtures.neoxpConfig")));
+        FixtureContracts contracts = new FixtureContracts(FixtureChain.ALICE);
+        File checkpoint = new File(property("fixtures.dir"),
+                name + "-" + contracts.getFingerprint() + CHECKPOINT_EXTENSION);
+        synchronized (ChainFixture.class) {
+            if (!checkpoint.exists()) {
+                build(neoExpress, contracts, checkpoint);
+            }
+        }
+        neoExpress.restoreCheckpoint(checkpoint);
+        Neow3j neow3j = neoExpress.start(SECONDS_PER_BLOCK);
+        return new FixtureChain(neoExpress, neow3j, contracts.memeHash, contracts.governanceHash,
+                contracts.nftHash);
+    }
+
+    private void build(NeoExpress neoExpress, FixtureContracts contracts, File checkpoint)
+            throws IOException {
+        File batchFile = new File(neoExpress.getConfig().getParentFile(), "neoxp.batch");
+        neoExpress.resetAndRunBatch(batchFile);
+        neoExpress.transferFromGenesis(FUNDING, FixtureChain.ALICE.getAddress());
+        for (Account voter : FixtureChain.VOTERS) {
+            neoExpress.transferFromGenesis(FUNDING, voter.getAddress());
+        }
+        Neow3j neow3j = neoExpress.start(SECONDS_PER_BLOCK);
+        try (FixtureChain chain = new FixtureChain(neoExpress, neow3j, contracts.memeHash,
+                contracts.governanceHash, contracts.nftHash)) {
+            contracts.deploy(neow3j, FixtureChain.ALICE);
+            builder.build(chain);
+        }
+        // Written to a temporary file first, so that an interrupted build leaves no checkpoint.
+        // neoxp appends the extension to file names without it.
+        File tmp = new File(checkpoint.getParentFile(),
+                name + ".tmp" + CHECKPOINT_EXTENSION);
+        neoExpress.createCheckpoint(tmp);
+        Files.move(tmp.toPath(), checkpoint.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static String property(String key) {
+        String value = System.getProperty(key);
+        if (value == null) {
+            throw new IllegalStateException("The system property " + key + " is not set.");
+        }
+        return value;
+    }
+
+}
@@ -0,0 +1,104 @@
+package com.ob.fixtures;
+
+import io.neow3j.contract.SmartContract;
+import io.neow3j.crypto.ECKeyPair;
+import io.neow3j.crypto.Hash;
+import io.neow3j.protocol.Neow3j;
+import io.neow3j.types.Hash160;
+import io.neow3j.utils.Numeric;
+import io.neow3j.wallet.Account;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A running neo-express chain with the contracts deployed, as built or restored by a
+ * {@link ChainFixture}.
+ * <p>
+ * The accounts are the same in every fixture: Alice, who deployed the contracts, and voters with
+ * fixed keys, which are funded with GAS.
+ */
+public class FixtureChain implements AutoCloseable {
+
+    private static final String ALICE_SKEY =
+            "84180ac9d6eb6fba207ea4ef9d2200102d1ebeb4b9c07e2c6a738a42742e27a5";
+    private static final int VOTER_COUNT = 2;
+
+    static final Account ALICE = new Account(
+            ECKeyPair.create(Numeric.hexStringToByteArray(ALICE_SKEY)));
+    static final List<Account> VOTERS = createVoters();
+
+    private final NeoExpress neoExpress;
+    private final Neow3j neow3j;
+    private final Hash160 memeContract;
+    private final Hash160 governanceContract;
+    private final Hash160 nftContract;
+
+    FixtureChain(NeoExpress neoExpress, Neow3j neow3j, Hash160 memeContract,
+            Hash160 governanceContract, Hash160 nftContract) {
+        this.neoExpress = neoExpress;
+        this.neow3j = neow3j;
+        this.memeContract = memeContract;
+        this.governanceContract = governanceContract;
+        this.nftContract = nftContract;
+    }
+
+    // The voters' keys are derived from their index, so that they can sign in restored chains.
+    private static List<Account> createVoters() {
+        List<Account> voters = new ArrayList<>();
+        for (int i = 0; i < VOTER_COUNT; i++) {
+            byte[] key = Hash.sha256(("fixture voter " + i).getBytes(StandardCharsets.UTF_8));
+            voters.add(new Account(ECKeyPair.create(key)));
+        }
+        return Collections.unmodifiableList(voters);
+    }
+
+    public Neow3j getNeow3j() {
+        return neow3j;
+    }
+
+    public SmartContract getMemeContract() {
+        return new SmartContract(memeContract, neow3j);
+    }
+
+    public SmartContract getGovernanceContract() {
+        return new SmartContract(governanceContract, neow3j);
+    }
+
+    public SmartContract getNftContract() {
+        return new SmartContract(nftContract, neow3j);
+    }
+
+    /**
+     * Gets Alice's account, which deployed the contracts and pays for the fixture transactions.
+     */
+    public Account getAlice() {
+        return ALICE;
+    }
+
+    /**
+     * Gets the funded voters. Together with Alice they are enough votes to accept a proposal.
+     */
+    public List<Account> getVoters() {
+        return VOTERS;
+    }
+
+    /**
+     * Mints empty blocks, e.g., to end the voting time of proposals.
+     */
+    public void fastForward(int blocks) throws IOException {
+        neoExpress.fastForward(blocks);
+    }
+
+    /**
+     * Stops the node. Changes made since the restore are discarded by the next restore.
+     */
+    @Override
+    public void close() throws IOException {
+        neoExpress.stop();
+    }
+
+}
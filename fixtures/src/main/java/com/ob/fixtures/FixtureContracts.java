@@ -0,0 +1,82 @@
+package com.ob.fixtures;
+
+import com.ob.GovernanceContract;
+import com.ob.MemeContract;
+import com.ob.NFTcontract;
+import com.ob.client.TxPipeline;
+import io.neow3j.compiler.CompilationUnit;
+import io.neow3j.compiler.Compiler;
+import io.neow3j.contract.ContractManagement;
+import io.neow3j.contract.SmartContract;
+import io.neow3j.protocol.Neow3j;
+import io.neow3j.transaction.AccountSigner;
+import io.neow3j.transaction.TransactionBuilder;
+import io.neow3j.types.Hash160;
+import io.neow3j.wallet.Account;
+
+import java.io.IOException;
+import java.util.Collections;
+
+import static io.neow3j.types.ContractParameter.hash160;
+
+/**
+ * The compiled contracts and their hashes when deployed by Alice. The deployment matches the
+ * deploy configurations of the contract tests, so that the contracts have the same hashes.
+ */
+class FixtureContracts {
+
+    final CompilationUnit meme;
+    final CompilationUnit governance;
+    final CompilationUnit nft;
+    final Hash160 memeHash;
+    final Hash160 governanceHash;
+    final Hash160 nftHash;
+
+    FixtureContracts(Account deployer) throws IOException {
+        meme = new Compiler().compile(MemeContract.class.getCanonicalName());
+        governance = new Compiler().compile(GovernanceContract.class.getCanonicalName());
+        nft = new Compiler().compile(NFTcontract.class.getCanonicalName());
+        memeHash = hashOf(deployer, meme);
+        governanceHash = hashOf(deployer, governance);
+        nftHash = hashOf(deployer, nft);
+    }
+
+    private static Hash160 hashOf(Account deployer, CompilationUnit unit) {
+        return SmartContract.calcContractHash(deployer.getScriptHash(),
+                unit.getNefFile().getCheckSumAsInteger(), unit.getManifest().getName());
+    }
+
+    /**
+     * Identifies the compiled contracts. A checkpoint is only valid for the contracts it was
+     * built with.
+     */
+    String getFingerprint() {
+        return memeHash.toString().substring(0, 8) + governanceHash.toString().substring(0, 8)
+                + nftHash.toString().substring(0, 8);
+    }
+
+    void deploy(Neow3j neow3j, Account deployer) throws IOException {
+        ContractManagement management = new ContractManagement(neow3j);
+        try (TxPipeline pipeline = new TxPipeline(neow3j)) {
+            await(pipeline, management.deploy(meme.getNefFile(), meme.getManifest(),
+                    hash160(deployer)).signers(AccountSigner.calledByEntry(deployer)));
+            AccountSigner governanceSigner = AccountSigner.none(deployer);
+            governanceSigner.setAllowedContracts(memeHash);
+            await(pipeline, management.deploy(governance.getNefFile(),
+                    governance.getManifest(), hash160(memeHash)).signers(governanceSigner));
+            await(pipeline, management.deploy(nft.getNefFile(), nft.getManifest())
+                    .signers(AccountSigner.calledByEntry(deployer)));
+        }
+    }
+
+    private static void await(TxPipeline pipeline, TransactionBuilder builder)
+            throws IOException {
+        try {
+            Fixtures.awaitAll(Collections.singletonList(pipeline.submit(builder)));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while sending a fixture transaction.", e);
+        }
+    }
+
+}
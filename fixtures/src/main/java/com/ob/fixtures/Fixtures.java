@@ -0,0 +1,202 @@
+package com.ob.fixtures;
+
+import com.ob.client.TxPipeline;
+import com.ob.client.TxResult;
+import io.neow3j.crypto.Hash;
+import io.neow3j.script.ScriptBuilder;
+import io.neow3j.transaction.AccountSigner;
+import io.neow3j.transaction.Signer;
+import io.neow3j.transaction.TransactionBuilder;
+import io.neow3j.types.CallFlags;
+import io.neow3j.types.ContractParameter;
+import io.neow3j.types.Hash160;
+import io.neow3j.wallet.Account;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static io.neow3j.types.ContractParameter.array;
+import static io.neow3j.types.ContractParameter.bool;
+import static io.neow3j.types.ContractParameter.byteArray;
+import static io.neow3j.types.ContractParameter.hash160;
+import static io.neow3j.types.ContractParameter.string;
+import static java.util.Arrays.asList;
+
+/**
+ * The named chain states shared by the tests and benchmarks.
+ * <p>
+ * The memes of a fixture have the ids {@code fixtureMeme<i>} and its proposals, which are never
+ * executed, the ids {@code fixtureProposal<i>}. The proposals are expired: their voting time is
+ * over before the checkpoint is saved. They can no longer be voted on, only executed, which clears
+ * them. Tests that need open proposals create them after the restore.
+ */
+public class Fixtures {
+
+    private static final int VOTING_TIME = 10;
+    // The number of contract calls in one transaction.
+    private static final int BATCH_SIZE = 100;
+    // The number of batches that are proposed, voted on and executed together. Their votes have to
+    // be included within the voting time.
+    private static final int BATCHES_PER_ROUND = 10;
+
+    /**
+     * The deployed contracts without any memes or proposals.
+     */
+    public static final ChainFixture DEPLOYED = new ChainFixture("deployed", chain -> {
+    });
+
+    /**
+     * 1000 memes and 200 expired proposals.
+     */
+    public static final ChainFixture MEMES_1K_EXPIRED_PROPOSALS_200 =
+            new ChainFixture("memes-1000-expired-proposals-200", chain -> {
+                createMemes(chain, 1000);
+                createProposals(chain, 200);
+            });
+
+    public static final ChainFixture MEMES_10K = new ChainFixture("memes-10000", chain ->
+            createMemes(chain, 10_000));
+
+    /**
+     * Gets a fixture with the given number of memes and as many expired proposals.
+     */
+    public static ChainFixture collection(int size) {
+        return new ChainFixture("collection-" + size, chain -> {
+            createMemes(chain, size);
+            createProposals(chain, size);
+        });
+    }
+
+    /**
+     * Creates proposals that are not voted on and lets their voting time pass.
+     */
+    public static void createProposals(FixtureChain chain, int count) throws IOException {
+        Hash160 governance = chain.getGovernanceContract().getScriptHash();
+        try (TxPipeline pipeline = new TxPipeline(chain.getNeow3j())) {
+            List<CompletableFuture<TxResult>> proposals = new ArrayList<>();
+            for (int from = 0; from < count; from += BATCH_SIZE) {
+                ScriptBuilder script = new ScriptBuilder();
+                for (int i = from; i < Math.min(from + BATCH_SIZE, count); i++) {
+                    script.contractCall(governance, "proposeNewMeme",
+                            proposeNewMemeParams("fixtureProposal" + i), CallFlags.ALL);
+                }
+                proposals.add(submit(pipeline, chain, script, chain.getAlice()));
+            }
+            awaitAll(proposals);
+        }
+        chain.fastForward(VOTING_TIME);
+    }
+
+    /**
+     * Creates memes through proposals that Alice and the voters accept and that are executed.
+     */
+    public static void createMemes(FixtureChain chain, int count) throws IOException {
+        Hash160 governance = chain.getGovernanceContract().getScriptHash();
+        List<Account> voters = new ArrayList<>();
+        voters.add(chain.getAlice());
+        voters.addAll(chain.getVoters());
+        List<ContractParameter> voterParams = new ArrayList<>();
+        List<ContractParameter> inFavor = new ArrayList<>();
+        for (Account voter : voters) {
+            voterParams.add(hash160(voter));
+            inFavor.add(bool(true));
+        }
+
+        int roundSize = BATCH_SIZE * BATCHES_PER_ROUND;
+        try (TxPipeline pipeline = new TxPipeline(chain.getNeow3j())) {
+            for (int round = 0; round < count; round += roundSize) {
+                List<ScriptBuilder> proposals = new ArrayList<>();
+                List<ScriptBuilder> votes = new ArrayList<>();
+                List<List<ContractParameter>> memeIds = new ArrayList<>();
+                for (int from = round; from < Math.min(round + roundSize, count);
+                        from += BATCH_SIZE) {
+                    ScriptBuilder proposal = new ScriptBuilder();
+                    ScriptBuilder vote = new ScriptBuilder();
+                    List<ContractParameter> ids = new ArrayList<>();
+                    for (int i = from; i < Math.min(from + BATCH_SIZE, count); i++) {
+                        String memeId = "fixtureMeme" + i;
+                        ids.add(string(memeId));
+                        proposal.contractCall(governance, "proposeNewMeme",
+                                proposeNewMemeParams(memeId), CallFlags.ALL);
+                        vote.contractCall(governance, "voteMany", asList(string(memeId),
+                                array(voterParams), array(inFavor)), CallFlags.ALL);
+                    }
+                    proposals.add(proposal);
+                    votes.add(vote);
+                    memeIds.add(ids);
+                }
+                awaitAll(submitAll(pipeline, chain, proposals, chain.getAlice()));
+                awaitAll(submitAll(pipeline, chain, votes,
+                        voters.toArray(new Account[0])));
+                chain.fastForward(VOTING_TIME);
+                List<CompletableFuture<TxResult>> executions = new ArrayList<>();
+                for (List<ContractParameter> ids : memeIds) {
+                    ScriptBuilder execute = new ScriptBuilder().contractCall(governance,
+                            "executeMany", asList(array(ids)), CallFlags.ALL);
+                    executions.add(submit(pipeline, chain, execute, chain.getAlice()));
+                }
+                awaitAll(executions);
+            }
+        }
+    }
+
+    private static List<ContractParameter> proposeNewMemeParams(String memeId) {
+        byte[] imageHash = Hash.sha256(memeId.getBytes(StandardCharsets.UTF_8));
+        return asList(string(memeId), string("desc"), string("url"), byteArray(imageHash));
+    }
+
+    private static List<CompletableFuture<TxResult>> submitAll(TxPipeline pipeline,
+            FixtureChain chain, List<ScriptBuilder> scripts, Account... signers)
+            throws IOException {
+        List<CompletableFuture<TxResult>> submitted = new ArrayList<>();
+        for (ScriptBuilder script : scripts) {
+            submitted.add(submit(pipeline, chain, script, signers));
+        }
+        return submitted;
+    }
+
+    // The first signer is the sender.
+    private static CompletableFuture<TxResult> submit(TxPipeline pipeline, FixtureChain chain,
+            ScriptBuilder script, Account... signers) throws IOException {
+        Signer[] accountSigners = new Signer[signers.length];
+        for (int i = 0; i < signers.length; i++) {
+            accountSigners[i] = AccountSigner.calledByEntry(signers[i]);
+        }
+        try {
+            return pipeline.submit(new TransactionBuilder(chain.getNeow3j())
+                    .script(script.toArray())
+                    .signers(accountSigners));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while sending a fixture transaction.", e);
+        }
+    }
+
+    /**
+     * Waits for the transactions.
+     *
+     * @throws IOException if a transaction was not included or faulted.
+     */
+    static void awaitAll(List<CompletableFuture<TxResult>> submitted) throws IOException {
+        for (CompletableFuture<TxResult> future : submitted) {
+            TxResult result;
+            try {
+                result = future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while waiting for a fixture transaction.", e);
+            } catch (ExecutionException e) {
+                throw new IOException("A fixture transaction was not executed.", e.getCause());
+            }
+            if (!result.isHalted()) {
+                throw new IOException("The fixture transaction " + result.hash + " faulted: "
+                        + result.exception);
+            }
+        }
+    }
+
+}
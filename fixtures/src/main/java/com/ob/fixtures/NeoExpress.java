@@ -0,0 +1,184 @@
+package com.ob.fixtures;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.neow3j.protocol.Neow3j;
+import io.neow3j.protocol.http.HttpService;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Runs a local neo-express chain through the {@code neoxp} command line tool. The command can be
+ * changed with the system property {@code neoxp.command}.
+ */
+public class NeoExpress implements AutoCloseable {
+
+    private static final long STARTUP_TIMEOUT_MILLIS = 60_000;
+    private static final long POLL_INTERVAL_MILLIS = 200;
+
+    private final String command = System.getProperty("neoxp.command", "neoxp");
+    private final File config;
+    private final int rpcPort;
+    private Process node;
+    private Neow3j neow3j;
+
+    /**
+     * @param config the neo-express configuration of a chain with a single consensus node.
+     */
+    public NeoExpress(File config) throws IOException {
+        this.config = config;
+        JsonNode json = new ObjectMapper().readTree(config);
+        this.rpcPort = json.get("consensus-nodes").get(0).get("rpc-port").asInt();
+    }
+
+    public File getConfig() {
+        return config;
+    }
+
+    /**
+     * Resets the chain to its genesis block and runs the commands of the batch file.
+     */
+    public void resetAndRunBatch(File batchFile) throws IOException {
+        execute("batch", batchFile.getAbsolutePath(), "--reset");
+    }
+
+    /**
+     * Transfers GAS from the genesis account.
+     *
+     * @param receiver the name of a wallet of the configuration or an address.
+     */
+    public void transferFromGenesis(BigDecimal gas, String receiver) throws IOException {
+        execute("transfer", gas.toPlainString(), "GAS", "genesis", receiver);
+    }
+
+    /**
+     * Starts the node and waits until it answers RPC requests.
+     */
+    public Neow3j start(int secondsPerBlock) throws IOException {
+        if (node != null) {
+            throw new IllegalStateException("The node is already running.");
+        }
+        node = new ProcessBuilder(commandLine("run", "--seconds-per-block",
+                Integer.toString(secondsPerBlock)))
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.appendTo(
+                        File.createTempFile("neoxp-run", ".log")))
+                .start();
+        neow3j = Neow3j.build(new HttpService("http://localhost:" + rpcPort));
+        long deadline = System.currentTimeMillis() + STARTUP_TIMEOUT_MILLIS;
+        while (true) {
+            try {
+                neow3j.getBlockCount().send();
+                return neow3j;
+            } catch (IOException e) {
+                if (!node.isAlive() || System.currentTimeMillis() > deadline) {
+                    stop();
+                    throw new IOException("The neo-express node did not start.", e);
+                }
+                sleep();
+            }
+        }
+    }
+
+    /**
+     * Mints empty blocks, e.g., to end the voting time of proposals.
+     */
+    public void fastForward(int blocks) throws IOException {
+        execute("fastforward", Integer.toString(blocks));
+    }
+
+    /**
+     * Writes a checkpoint of the chain. The node can be running.
+     */
+    public void createCheckpoint(File checkpoint) throws IOException {
+        checkpoint.getParentFile().mkdirs();
+        execute("checkpoint", "create", checkpoint.getAbsolutePath(), "--force");
+    }
+
+    /**
+     * Replaces the chain with the state of the checkpoint. The node must be stopped.
+     */
+    public void restoreCheckpoint(File checkpoint) throws IOException {
+        execute("checkpoint", "restore", checkpoint.getAbsolutePath(), "--force");
+    }
+
+    /**
+     * Stops the node if it is running.
+     */
+    public void stop() throws IOException {
+        if (node == null) {
+            return;
+        }
+        try {
+            execute("stop", "--all");
+            node.waitFor();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            node.destroyForcibly();
+        } finally {
+            node = null;
+            if (neow3j != null) {
+                neow3j.shutdown();
+                neow3j = null;
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        stop();
+    }
+
+    private void execute(String... args) throws IOException {
+        Process process = new ProcessBuilder(commandLine(args))
+                .redirectErrorStream(true)
+                .start();
+        String output = readAll(process.getInputStream());
+        try {
+            if (process.waitFor() != 0) {
+                throw new IOException("neoxp " + String.join(" ", args) + " failed: " + output);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            process.destroyForcibly();
+            throw new IOException("Interrupted while running neoxp.", e);
+        }
+    }
+
+    private List<String> commandLine(String... args) {
+        List<String> commandLine = new ArrayList<>();
+        commandLine.add(command);
+        commandLine.addAll(Arrays.asList(args));
+        commandLine.add("--input");
+        commandLine.add(config.getAbsolutePath());
+        return commandLine;
+    }
+
+    private static String readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[4096];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private static void sleep() throws IOException {
+        try {
+            Thread.sleep(POLL_INTERVAL_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for the node.", e);
+        }
+    }
+
+}
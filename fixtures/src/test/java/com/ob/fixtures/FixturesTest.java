@@ -0,0 +1,59 @@
+package com.ob.fixtures;
+
+import com.ob.client.GovernanceClient;
+import com.ob.client.MemeClient;
+import com.ob.client.ProposalInfo;
+import com.ob.client.TxPipeline;
+import io.neow3j.contract.SmartContract;
+import io.neow3j.transaction.AccountSigner;
+import org.junit.jupiter.api.Test;
+
+import static io.neow3j.types.ContractParameter.byteArray;
+import static io.neow3j.types.ContractParameter.string;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+
+public class FixturesTest {
+
+    private static final int SIZE = 150;
+
+    @Test
+    public void testRestoreCollection() throws Throwable {
+        ChainFixture fixture = Fixtures.collection(SIZE);
+        try (FixtureChain chain = fixture.restore()) {
+            GovernanceClient governance = new GovernanceClient(chain.getNeow3j(),
+                    chain.getGovernanceContract().getScriptHash());
+            MemeClient memes = new MemeClient(chain.getNeow3j(),
+                    chain.getMemeContract().getScriptHash());
+            assertThat(chain.getMemeContract().callFunctionReturningInt("getMemeCount"),
+                    is(SIZE));
+            assertThat(memes.readMeme("fixtureMeme" + (SIZE - 1)), is(notNullValue()));
+            ProposalInfo proposal = governance.readProposal("fixtureProposal" + (SIZE - 1));
+            assertThat(proposal, is(notNullValue()));
+            // The proposals of a fixture are expired.
+            assertThat(governance.isVoteInProgress(proposal), is(false));
+        }
+    }
+
+    @Test
+    public void testRestoreDiscardsChanges() throws Throwable {
+        try (FixtureChain chain = Fixtures.DEPLOYED.restore()) {
+            SmartContract governance = chain.getGovernanceContract();
+            try (TxPipeline pipeline = new TxPipeline(chain.getNeow3j())) {
+                assertThat(pipeline.submit(governance.invokeFunction("proposeNewMeme",
+                                string("discarded"), string("desc"), string("url"),
+                                byteArray("0102")).signers(AccountSigner.calledByEntry(
+                                chain.getAlice())))
+                        .get().isHalted(), is(true));
+            }
+        }
+        try (FixtureChain chain = Fixtures.DEPLOYED.restore()) {
+            GovernanceClient governance = new GovernanceClient(chain.getNeow3j(),
+                    chain.getGovernanceContract().getScriptHash());
+            assertThat(governance.readProposal("discarded"), is(nullValue()));
+        }
+    }
+
+}
@@ -0,0 +1,155 @@
+package com.ob.indexer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Catches up with the chain by fetching many blocks concurrently.
+ * <p>
+ * Blocks and their application logs are fetched and decoded by a pool of workers. The results are
+ * queued in the order the blocks were requested and applied to the store strictly in block
+ * order, no matter in which order the workers finish. The number of blocks in flight is adapted
+ * to the latency of the node: it grows by one while the average fetch time of the last window
+ * of blocks stays below the target latency and is halved when it exceeds twice the target.
+ * <p>
+ * Changes are committed every {@link Backfill#COMMIT_INTERVAL} blocks, together with the height
+ * of the last applied block. An interrupted backfill can therefore be resumed by the
+ * {@link Indexer} or another backfill.
+ */
+public class Backfill {
+
+    private static final Logger log = LoggerFactory.getLogger(Backfill.class);
+
+    static final int COMMIT_INTERVAL = 100;
+    static final long REPORT_INTERVAL_MILLIS = 10_000;
+
+    private final Indexer indexer;
+    private final IndexStore store;
+    private final int minWorkers;
+    private final int maxWorkers;
+    private final long targetLatencyMillis;
+
+    private int concurrency;
+    private long windowLatencyMillis;
+    private int windowSize;
+
+    /**
+     * @param indexer             the indexer used to fetch and apply blocks.
+     * @param store               the store the indexer writes to.
+     * @param minWorkers          the lowest number of blocks to fetch concurrently.
+     * @param maxWorkers          the highest number of blocks to fetch concurrently.
+     * @param targetLatencyMillis the fetch time per block up to which concurrency is increased.
+     */
+    public Backfill(Indexer indexer, IndexStore store, int minWorkers, int maxWorkers,
+            long targetLatencyMillis) {
+        if (minWorkers < 1 || maxWorkers < minWorkers) {
+            throw new IllegalArgumentException("Worker bounds must satisfy 1 <= min <= max.");
+        }
+        this.indexer = indexer;
+        this.store = store;
+        this.minWorkers = minWorkers;
+        this.maxWorkers = maxWorkers;
+        this.targetLatencyMillis = targetLatencyMillis;
+    }
+
+    /**
+     * Indexes all blocks after the persisted height up to the given height.
+     *
+     * @return the statistics of the run.
+     */
+    public BackfillResult run(long toHeight) throws IOException, SQLException,
+            InterruptedException {
+        long fromHeight = store.getIndexedHeight() + 1;
+        long start = System.currentTimeMillis();
+        long lastReport = start;
+        long nextToFetch = fromHeight;
+        long applied = 0;
+        concurrency = minWorkers;
+        windowLatencyMillis = 0;
+        windowSize = 0;
+
+        ExecutorService workers = Executors.newFixedThreadPool(maxWorkers);
+        // Futures in block order. Taking from the head waits for the lowest pending block, while
+        // later blocks may already be done.
+        Deque<Future<BlockEvents>> inFlight = new ArrayDeque<>();
+        try {
+            while (nextToFetch <= toHeight || !inFlight.isEmpty()) {
+                while (inFlight.size() < concurrency && nextToFetch <= toHeight) {
+                    long height = nextToFetch++;
+                    inFlight.addLast(workers.submit(() -> indexer.fetchBlock(height)));
+                }
+                BlockEvents block = take(inFlight.removeFirst());
+                indexer.applyBlock(block);
+                applied++;
+                if (applied % COMMIT_INTERVAL == 0 || block.height == toHeight) {
+                    store.commitBlock(block.height);
+                }
+                adaptConcurrency(block.fetchMillis);
+
+                long now = System.currentTimeMillis();
+                if (now - lastReport >= REPORT_INTERVAL_MILLIS) {
+                    log.info("Backfilled up to block {} at {} blocks/s with {} workers.",
+                            block.height, blocksPerSecond(applied, now - start), concurrency);
+                    lastReport = now;
+                }
+            }
+        } catch (IOException | SQLException | InterruptedException | RuntimeException e) {
+            for (Future<BlockEvents> f : inFlight) {
+                f.cancel(true);
+            }
+            store.rollback();
+            throw e;
+        } finally {
+            workers.shutdownNow();
+        }
+
+        long millis = System.currentTimeMillis() - start;
+        BackfillResult result = new BackfillResult(fromHeight, toHeight, applied, millis,
+                blocksPerSecond(applied, millis));
+        log.info("Backfilled {} blocks in {} ms ({} blocks/s).", applied, millis,
+                result.blocksPerSecond);
+        return result;
+    }
+
+    private static BlockEvents take(Future<BlockEvents> future) throws IOException,
+            InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    private void adaptConcurrency(long fetchMillis) {
+        windowLatencyMillis += fetchMillis;
+        windowSize++;
+        if (windowSize < concurrency) {
+            return;
+        }
+        long average = windowLatencyMillis / windowSize;
+        if (average < targetLatencyMillis && concurrency < maxWorkers) {
+            concurrency++;
+        } else if (average > 2 * targetLatencyMillis && concurrency > minWorkers) {
+            concurrency = Math.max(minWorkers, concurrency / 2);
+        }
+        windowLatencyMillis = 0;
+        windowSize = 0;
+    }
+
+    private static double blocksPerSecond(long blocks, long millis) {
+        return millis == 0 ? blocks : blocks * 1000.0 / millis;
+    }
+
+}
@@ -0,0 +1,19 @@
+package com.ob.indexer;
+
+public class BackfillResult {
+    public long fromHeight;
+    public long toHeight;
+    public long blocks;
+    public long millis;
+    public double blocksPerSecond;
+
+    public BackfillResult(long fromHeight, long toHeight, long blocks, long millis,
+            double blocksPerSecond) {
+        this.fromHeight = fromHeight;
+        this.toHeight = toHeight;
+        this.blocks = blocks;
+        this.millis = millis;
+        this.blocksPerSecond = blocksPerSecond;
+    }
+
+}
@@ -0,0 +1,20 @@
+package com.ob.indexer;
+
+import java.util.List;
+
+/**
+ * The decoded events of a block, in the order they were emitted.
+ */
+class BlockEvents {
+    long height;
+    List<ContractEvent> events;
+    // The time it took to fetch the block and its application logs.
+    long fetchMillis;
+
+    BlockEvents(long height, List<ContractEvent> events, long fetchMillis) {
+        this.height = height;
+        this.events = events;
+        this.fetchMillis = fetchMillis;
+    }
+
+}
@@ -0,0 +1,22 @@
+package com.ob.indexer;
+
+import io.neow3j.protocol.core.stackitem.StackItem;
+import io.neow3j.types.Hash160;
+
+import java.util.List;
+
+/**
+ * A notification of one of the indexed contracts.
+ */
+class ContractEvent {
+    Hash160 contract;
+    String name;
+    List<StackItem> args;
+
+    ContractEvent(Hash160 contract, String name, List<StackItem> args) {
+        this.contract = contract;
+        this.name = name;
+        this.args = args;
+    }
+
+}
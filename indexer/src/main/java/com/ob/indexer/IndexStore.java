@@ -0,0 +1,298 @@
+package com.ob.indexer;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The read model of the indexer, kept in an embedded H2 database.
+ * <p>
+ * All changes of a block are written in one database transaction together with the height of that
+ * block, such that the store never contains a partially indexed block. Call
+ * {@link IndexStore#commitBlock(long)} after applying the events of a block.
+ */
+public class IndexStore implements AutoCloseable {
+
+    private static final String[] SCHEMA = new String[] {
+            "CREATE TABLE IF NOT EXISTS state ("
+                    + "name VARCHAR PRIMARY KEY, "
+                    + "height BIGINT NOT NULL)",
+            "CREATE TABLE IF NOT EXISTS memes ("
+                    + "id VARCHAR PRIMARY KEY, "
+                    + "description VARCHAR NOT NULL, "
+                    + "url VARCHAR NOT NULL, "
+                    + "image_hash VARCHAR NOT NULL, "
+                    + "created_block BIGINT NOT NULL)",
+            "CREATE INDEX IF NOT EXISTS memes_by_image_hash ON memes (image_hash)",
+            "CREATE TABLE IF NOT EXISTS proposals ("
+                    + "meme_id VARCHAR PRIMARY KEY, "
+                    + "is_create BOOLEAN NOT NULL, "
+                    + "description VARCHAR, "
+                    + "url VARCHAR, "
+                    + "image_hash VARCHAR, "
+                    + "finalization_block BIGINT NOT NULL, "
+                    + "votes_for INT NOT NULL, "
+                    + "votes_against INT NOT NULL, "
+                    + "status VARCHAR NOT NULL)",
+            "CREATE INDEX IF NOT EXISTS proposals_by_status ON proposals "
+                    + "(status, finalization_block)",
+            "CREATE INDEX IF NOT EXISTS proposals_by_finalization ON proposals "
+                    + "(finalization_block)",
+            "CREATE TABLE IF NOT EXISTS votes ("
+                    + "meme_id VARCHAR NOT NULL, "
+                    + "voter VARCHAR NOT NULL, "
+                    + "in_favor BOOLEAN NOT NULL, "
+                    + "block BIGINT NOT NULL, "
+                    + "PRIMARY KEY (meme_id, voter))",
+            "CREATE TABLE IF NOT EXISTS tokens ("
+                    + "token_id VARCHAR PRIMARY KEY, "
+                    + "owner VARCHAR NOT NULL, "
+                    + "name VARCHAR, "
+                    + "description VARCHAR, "
+                    + "image VARCHAR, "
+                    + "token_uri VARCHAR)",
+            "CREATE INDEX IF NOT EXISTS tokens_by_owner ON tokens (owner)"
+    };
+
+    private static final String HEIGHT = "height";
+
+    private final Connection connection;
+
+    /**
+     * Opens the store at the given JDBC url and creates the tables if they do not exist.
+     *
+     * @param jdbcUrl the url of the H2 database, e.g., {@code jdbc:h2:./cmeta-index}.
+     */
+    public IndexStore(String jdbcUrl) throws SQLException {
+        connection = DriverManager.getConnection(jdbcUrl);
+        try (Statement statement = connection.createStatement()) {
+            for (String sql : SCHEMA) {
+                statement.execute(sql);
+            }
+        }
+        connection.setAutoCommit(false);
+    }
+
+    /**
+     * Gets the height of the last block that was completely indexed or -1 if no block was indexed
+     * yet.
+     */
+    public long getIndexedHeight() throws SQLException {
+        try (PreparedStatement s = connection.prepareStatement(
+                "SELECT height FROM state WHERE name = ?")) {
+            s.setString(1, HEIGHT);
+            try (ResultSet rs = s.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : -1;
+            }
+        }
+    }
+
+    /**
+     * Commits all changes since the last commit together with the height of the indexed block.
+     */
+    public void commitBlock(long height) throws SQLException {
+        update("MERGE INTO state (name, height) KEY (name) VALUES (?, ?)", HEIGHT, height);
+        connection.commit();
+    }
+
+    /**
+     * Discards all changes since the last commit.
+     */
+    public void rollback() throws SQLException {
+        connection.rollback();
+    }
+
+    // Governance events
+
+    void putCreationProposal(String memeId, String description, String url, String imageHash,
+            long finalizationBlock) throws SQLException {
+        // A new proposal round for a meme id replaces the previous one, including its votes.
+        update("DELETE FROM votes WHERE meme_id = ?", memeId);
+        update("MERGE INTO proposals (meme_id, is_create, description, url, image_hash, "
+                        + "finalization_block, votes_for, votes_against, status) KEY (meme_id) "
+                        + "VALUES (?, TRUE, ?, ?, ?, ?, 0, 0, ?)",
+                memeId, description, url, imageHash, finalizationBlock,
+                ProposalStatus.OPEN.name());
+    }
+
+    void putRemovalProposal(String memeId, long finalizationBlock) throws SQLException {
+        update("DELETE FROM votes WHERE meme_id = ?", memeId);
+        update("MERGE INTO proposals (meme_id, is_create, description, url, image_hash, "
+                        + "finalization_block, votes_for, votes_against, status) KEY (meme_id) "
+                        + "VALUES (?, FALSE, NULL, NULL, NULL, ?, 0, 0, ?)",
+                memeId, finalizationBlock, ProposalStatus.OPEN.name());
+    }
+
+    void addVote(String memeId, String voter, boolean inFavor, long block) throws SQLException {
+        update("INSERT INTO votes (meme_id, voter, in_favor, block) VALUES (?, ?, ?, ?)",
+                memeId, voter, inFavor, block);
+        if (inFavor) {
+            update("UPDATE proposals SET votes_for = votes_for + 1 WHERE meme_id = ?", memeId);
+        } else {
+            update("UPDATE proposals SET votes_against = votes_against + 1 WHERE meme_id = ?",
+                    memeId);
+        }
+    }
+
+    void setProposalStatus(String memeId, ProposalStatus status) throws SQLException {
+        update("UPDATE proposals SET status = ? WHERE meme_id = ?", status.name(), memeId);
+    }
+
+    void putMeme(String memeId, String description, String url, String imageHash, long block)
+            throws SQLException {
+        update("MERGE INTO memes (id, description, url, image_hash, created_block) KEY (id) "
+                + "VALUES (?, ?, ?, ?, ?)", memeId, description, url, imageHash, block);
+    }
+
+    void deleteMeme(String memeId) throws SQLException {
+        update("DELETE FROM memes WHERE id = ?", memeId);
+    }
+
+    // NFT events
+
+    void putToken(String tokenId, String owner, String name, String description, String image,
+            String tokenURI) throws SQLException {
+        update("MERGE INTO tokens (token_id, owner, name, description, image, token_uri) "
+                        + "KEY (token_id) VALUES (?, ?, ?, ?, ?, ?)",
+                tokenId, owner, name, description, image, tokenURI);
+    }
+
+    void setTokenOwner(String tokenId, String owner) throws SQLException {
+        update("UPDATE tokens SET owner = ? WHERE token_id = ?", owner, tokenId);
+    }
+
+    void deleteToken(String tokenId) throws SQLException {
+        update("DELETE FROM tokens WHERE token_id = ?", tokenId);
+    }
+
+    // Queries
+
+    public IndexedMeme getMeme(String memeId) throws SQLException {
+        List<IndexedMeme> memes = queryMemes("SELECT * FROM memes WHERE id = ?", memeId);
+        return memes.isEmpty() ? null : memes.get(0);
+    }
+
+    public IndexedMeme getMemeByImageHash(String imageHash) throws SQLException {
+        List<IndexedMeme> memes =
+                queryMemes("SELECT * FROM memes WHERE image_hash = ?", imageHash);
+        return memes.isEmpty() ? null : memes.get(0);
+    }
+
+    /**
+     * Gets memes in order of their creation.
+     */
+    public List<IndexedMeme> getMemes(int offset, int limit) throws SQLException {
+        return queryMemes("SELECT * FROM memes ORDER BY created_block, id LIMIT ? OFFSET ?",
+                limit, offset);
+    }
+
+    public IndexedProposal getProposal(String memeId) throws SQLException {
+        List<IndexedProposal> proposals =
+                queryProposals("SELECT * FROM proposals WHERE meme_id = ?", memeId);
+        return proposals.isEmpty() ? null : proposals.get(0);
+    }
+
+    /**
+     * Gets the proposals with the given status, ordered by their finalization block.
+     */
+    public List<IndexedProposal> getProposalsByStatus(ProposalStatus status, int offset,
+            int limit) throws SQLException {
+        return queryProposals("SELECT * FROM proposals WHERE status = ? "
+                        + "ORDER BY finalization_block, meme_id LIMIT ? OFFSET ?",
+                status.name(), limit, offset);
+    }
+
+    /**
+     * Gets the open proposals whose finalization block is in the given range, both inclusive.
+     * <p>
+     * Proposals with a finalization block at or above the current height can still be voted on.
+     * The others wait to be executed.
+     */
+    public List<IndexedProposal> getOpenProposalsFinalizingBetween(long fromBlock, long toBlock)
+            throws SQLException {
+        return queryProposals("SELECT * FROM proposals WHERE status = ? "
+                        + "AND finalization_block BETWEEN ? AND ? "
+                        + "ORDER BY finalization_block, meme_id",
+                ProposalStatus.OPEN.name(), fromBlock, toBlock);
+    }
+
+    public IndexedToken getToken(String tokenId) throws SQLException {
+        List<IndexedToken> tokens =
+                queryTokens("SELECT * FROM tokens WHERE token_id = ?", tokenId);
+        return tokens.isEmpty() ? null : tokens.get(0);
+    }
+
+    /**
+     * Gets the tokens owned by the given address.
+     */
+    public List<IndexedToken> getTokensByOwner(String owner) throws SQLException {
+        return queryTokens("SELECT * FROM tokens WHERE owner = ? ORDER BY token_id", owner);
+    }
+
+    @Override
+    public void close() throws SQLException {
+        connection.close();
+    }
+
+    // Helpers
+
+    private void update(String sql, Object... params) throws SQLException {
+        try (PreparedStatement s = prepare(sql, params)) {
+            s.executeUpdate();
+        }
+    }
+
+    private PreparedStatement prepare(String sql, Object... params) throws SQLException {
+        PreparedStatement s = connection.prepareStatement(sql);
+        for (int i = 0; i < params.length; i++) {
+            s.setObject(i + 1, params[i]);
+        }
+        return s;
+    }
+
+    private List<IndexedMeme> queryMemes(String sql, Object... params) throws SQLException {
+        List<IndexedMeme> memes = new ArrayList<>();
+        try (PreparedStatement s = prepare(sql, params); ResultSet rs = s.executeQuery()) {
+            while (rs.next()) {
+                memes.add(new IndexedMeme(rs.getString("id"), rs.getString("description"),
+                        rs.getString("url"), rs.getString("image_hash"),
+                        rs.getLong("created_block")));
+            }
+        }
+        return memes;
+    }
+
+    private List<IndexedProposal> queryProposals(String sql, Object... params)
+            throws SQLException {
+        List<IndexedProposal> proposals = new ArrayList<>();
+        try (PreparedStatement s = prepare(sql, params); ResultSet rs = s.executeQuery()) {
+            while (rs.next()) {
+                proposals.add(new IndexedProposal(rs.getString("meme_id"),
+                        rs.getBoolean("is_create"), rs.getString("description"),
+                        rs.getString("url"), rs.getString("image_hash"),
+                        rs.getLong("finalization_block"), rs.getInt("votes_for"),
+                        rs.getInt("votes_against"),
+                        ProposalStatus.valueOf(rs.getString("status"))));
+            }
+        }
+        return proposals;
+    }
+
+    private List<IndexedToken> queryTokens(String sql, Object... params) throws SQLException {
+        List<IndexedToken> tokens = new ArrayList<>();
+        try (PreparedStatement s = prepare(sql, params); ResultSet rs = s.executeQuery()) {
+            while (rs.next()) {
+                tokens.add(new IndexedToken(rs.getString("token_id"), rs.getString("owner"),
+                        rs.getString("name"), rs.getString("description"),
+                        rs.getString("image"), rs.getString("token_uri")));
+            }
+        }
+        return tokens;
+    }
+
+}
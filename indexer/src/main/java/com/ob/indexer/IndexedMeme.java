@@ -0,0 +1,19 @@
+package com.ob.indexer;
+
+public class IndexedMeme {
+    public String id;
+    public String description;
+    public String url;
+    public String imageHash;
+    public long createdBlock;
+
+    public IndexedMeme(String id, String description, String url, String imageHash,
+            long createdBlock) {
+        this.id = id;
+        this.description = description;
+        this.url = url;
+        this.imageHash = imageHash;
+        this.createdBlock = createdBlock;
+    }
+
+}
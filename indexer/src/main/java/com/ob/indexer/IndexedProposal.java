@@ -0,0 +1,29 @@
+package com.ob.indexer;
+
+public class IndexedProposal {
+    public String memeId;
+    public boolean create;
+    // Only set for creation proposals.
+    public String description;
+    public String url;
+    public String imageHash;
+    public long finalizationBlock;
+    public int votesFor;
+    public int votesAgainst;
+    public ProposalStatus status;
+
+    public IndexedProposal(String memeId, boolean create, String description, String url,
+            String imageHash, long finalizationBlock, int votesFor, int votesAgainst,
+            ProposalStatus status) {
+        this.memeId = memeId;
+        this.create = create;
+        this.description = description;
+        this.url = url;
+        this.imageHash = imageHash;
+        this.finalizationBlock = finalizationBlock;
+        this.votesFor = votesFor;
+        this.votesAgainst = votesAgainst;
+        this.status = status;
+    }
+
+}
@@ -0,0 +1,22 @@
+package com.ob.indexer;
+
+public class IndexedToken {
+    public String tokenId;
+    // The address of the owner.
+    public String owner;
+    public String name;
+    public String description;
+    public String image;
+    public String tokenURI;
+
+    public IndexedToken(String tokenId, String owner, String name, String description,
+            String image, String tokenURI) {
+        this.tokenId = tokenId;
+        this.owner = owner;
+        this.name = name;
+        this.description = description;
+        this.image = image;
+        this.tokenURI = tokenURI;
+    }
+
+}
@@ -0,0 +1,231 @@
+package com.ob.indexer;
+
+import io.neow3j.protocol.Neow3j;
+import io.neow3j.protocol.core.response.NeoApplicationLog;
+import io.neow3j.protocol.core.response.NeoBlock;
+import io.neow3j.protocol.core.response.Transaction;
+import io.neow3j.protocol.core.stackitem.StackItem;
+import io.neow3j.types.Hash160;
+import io.neow3j.types.NeoVMStateType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Follows the blocks of a Neo node and applies the events of the GovernanceContract and the
+ * NFTcontract to an {@link IndexStore}.
+ * <p>
+ * Blocks are indexed one at a time in ascending order. The height of the last indexed block is
+ * persisted with the block's changes, so a restarted indexer resumes after that block. Use a
+ * {@link Backfill} to catch up with a long chain.
+ */
+public class Indexer {
+
+    private static final Logger log = LoggerFactory.getLogger(Indexer.class);
+
+    // GovernanceContract events
+    static final String CREATION_PROPOSAL = "CreationProposal";
+    static final String REMOVAL_PROPOSAL = "RemovalProposal";
+    static final String VOTE = "Vote";
+    static final String MEME_CREATION = "MemeCreation";
+    static final String MEME_REMOVAL = "MemeRemoval";
+    static final String UNACCEPTED_PROPOSAL_REMOVAL = "UnacceptedProposalRemoval";
+
+    // NFTcontract events
+    static final String MINT = "Mint";
+    static final String TRANSFER = "Transfer";
+
+    private final Neow3j neow3j;
+    private final IndexStore store;
+    private final Hash160 governanceContract;
+    private final Hash160 nftContract;
+
+    private volatile boolean running;
+
+    /**
+     * @param neow3j             the node to read blocks from.
+     * @param store              the store to write the read model to.
+     * @param governanceContract the hash of the GovernanceContract.
+     * @param nftContract        the hash of the NFTcontract or null to not index NFTs.
+     */
+    public Indexer(Neow3j neow3j, IndexStore store, Hash160 governanceContract,
+            Hash160 nftContract) {
+        this.neow3j = neow3j;
+        this.store = store;
+        this.governanceContract = governanceContract;
+        this.nftContract = nftContract;
+    }
+
+    /**
+     * Indexes all blocks up to the current height of the node.
+     *
+     * @return the height of the last indexed block.
+     */
+    public long indexToCurrentHeight() throws IOException, SQLException {
+        long nodeHeight = neow3j.getBlockCount().send().getBlockCount().longValue() - 1;
+        return indexUpTo(nodeHeight);
+    }
+
+    /**
+     * Indexes all blocks after the persisted height up to the given height.
+     *
+     * @return the height of the last indexed block.
+     */
+    public long indexUpTo(long height) throws IOException, SQLException {
+        long next = store.getIndexedHeight() + 1;
+        for (; next <= height; next++) {
+            indexBlock(next);
+        }
+        return next - 1;
+    }
+
+    /**
+     * Keeps indexing new blocks until {@link Indexer#stop()} is called.
+     *
+     * @param pollIntervalMillis the time to wait before checking for new blocks again.
+     */
+    public void follow(long pollIntervalMillis) throws IOException, SQLException,
+            InterruptedException {
+        running = true;
+        while (running) {
+            long height = indexToCurrentHeight();
+            log.debug("Indexed up to block {}.", height);
+            Thread.sleep(pollIntervalMillis);
+        }
+    }
+
+    public void stop() {
+        running = false;
+    }
+
+    private void indexBlock(long height) throws IOException, SQLException {
+        BlockEvents block = fetchBlock(height);
+        try {
+            applyBlock(block);
+            store.commitBlock(height);
+        } catch (SQLException | RuntimeException e) {
+            store.rollback();
+            throw e;
+        }
+    }
+
+    /**
+     * Fetches a block and the application logs of its transactions and decodes the events of the
+     * indexed contracts. Does not touch the store, so blocks can be fetched concurrently.
+     */
+    BlockEvents fetchBlock(long height) throws IOException {
+        long start = System.nanoTime();
+        NeoBlock block = neow3j.getBlock(BigInteger.valueOf(height), true).send().getBlock();
+        List<ContractEvent> events = new ArrayList<>();
+        List<Transaction> transactions = block.getTransactions();
+        if (transactions != null) {
+            for (Transaction tx : transactions) {
+                decodeTransaction(tx, events);
+            }
+        }
+        long fetchMillis = (System.nanoTime() - start) / 1_000_000;
+        return new BlockEvents(height, events, fetchMillis);
+    }
+
+    private void decodeTransaction(Transaction tx, List<ContractEvent> events)
+            throws IOException {
+        NeoApplicationLog applicationLog =
+                neow3j.getApplicationLog(tx.getHash()).send().getApplicationLog();
+        for (NeoApplicationLog.Execution execution : applicationLog.getExecutions()) {
+            if (execution.getState() != NeoVMStateType.HALT) {
+                // Notifications of faulted executions are not persisted on chain.
+                continue;
+            }
+            for (NeoApplicationLog.Execution.Notification n : execution.getNotifications()) {
+                if (n.getContract().equals(governanceContract)
+                        || n.getContract().equals(nftContract)) {
+                    events.add(new ContractEvent(n.getContract(), n.getEventName(),
+                            n.getState().getList()));
+                }
+            }
+        }
+    }
+
+    /**
+     * Applies the events of a block to the store without committing them. Blocks have to be
+     * applied in ascending order.
+     */
+    void applyBlock(BlockEvents block) throws SQLException {
+        for (ContractEvent event : block.events) {
+            if (event.contract.equals(governanceContract)) {
+                applyGovernanceEvent(event.name, event.args, block.height);
+            } else {
+                applyNftEvent(event.name, event.args);
+            }
+        }
+    }
+
+    private void applyGovernanceEvent(String event, List<StackItem> args, long height)
+            throws SQLException {
+        String memeId = args.get(0).getString();
+        switch (event) {
+            case CREATION_PROPOSAL:
+                store.putCreationProposal(memeId, args.get(1).getString(), args.get(2).getString(),
+                        args.get(3).getHexString(), args.get(4).getInteger().longValue());
+                break;
+            case REMOVAL_PROPOSAL:
+                store.putRemovalProposal(memeId, args.get(1).getInteger().longValue());
+                break;
+            case VOTE:
+                store.addVote(memeId, args.get(1).getAddress(), args.get(2).getBoolean(), height);
+                break;
+            case MEME_CREATION:
+                store.putMeme(memeId, args.get(1).getString(), args.get(2).getString(),
+                        args.get(3).getHexString(), height);
+                store.setProposalStatus(memeId, ProposalStatus.EXECUTED);
+                break;
+            case MEME_REMOVAL:
+                store.deleteMeme(memeId);
+                store.setProposalStatus(memeId, ProposalStatus.EXECUTED);
+                break;
+            case UNACCEPTED_PROPOSAL_REMOVAL:
+                store.setProposalStatus(memeId, ProposalStatus.REJECTED);
+                break;
+            default:
+                log.debug("Skipped governance event {}.", event);
+        }
+    }
+
+    private void applyNftEvent(String event, List<StackItem> args) throws SQLException {
+        switch (event) {
+            case MINT:
+                Map<StackItem, StackItem> properties = args.get(2).getMap();
+                store.putToken(args.get(1).getHexString(), args.get(0).getAddress(),
+                        getProperty(properties, "name"), getProperty(properties, "description"),
+                        getProperty(properties, "image"), getProperty(properties, "tokenURI"));
+                break;
+            case TRANSFER:
+                String tokenId = args.get(3).getHexString();
+                StackItem to = args.get(1);
+                if (to.getValue() == null) {
+                    store.deleteToken(tokenId);
+                } else {
+                    store.setTokenOwner(tokenId, to.getAddress());
+                }
+                break;
+            default:
+                log.debug("Skipped NFT event {}.", event);
+        }
+    }
+
+    private static String getProperty(Map<StackItem, StackItem> properties, String key) {
+        for (Map.Entry<StackItem, StackItem> entry : properties.entrySet()) {
+            if (entry.getKey().getString().equals(key)) {
+                return entry.getValue().getString();
+            }
+        }
+        return null;
+    }
+
+}
@@ -0,0 +1,43 @@
+package com.ob.indexer;
+
+import io.neow3j.protocol.Neow3j;
+import io.neow3j.protocol.http.HttpService;
+import io.neow3j.types.Hash160;
+
+/**
+ * Runs the indexer against a node until the process is stopped. Blocks that are already on the
+ * node are first indexed with a {@link Backfill}.
+ * <p>
+ * Usage: {@code IndexerMain <rpc url> <jdbc url> <governance contract hash> [<nft contract hash>]}
+ * <p>
+ * E.g., {@code IndexerMain http://localhost:50012 jdbc:h2:./cmeta-index
+ * a979e6b19e77f949f84cb69eb16c5dc0abe4cf91}
+ */
+public class IndexerMain {
+
+    private static final long POLL_INTERVAL_MILLIS = 1000;
+    private static final int BACKFILL_MIN_WORKERS = 2;
+    private static final int BACKFILL_MAX_WORKERS = 32;
+    private static final long BACKFILL_TARGET_LATENCY_MILLIS = 200;
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 3) {
+            System.err.println("Usage: IndexerMain <rpc url> <jdbc url> "
+                    + "<governance contract hash> [<nft contract hash>]");
+            System.exit(1);
+        }
+        Neow3j neow3j = Neow3j.build(new HttpService(args[0]));
+        Hash160 governance = new Hash160(args[2]);
+        Hash160 nft = args.length > 3 ? new Hash160(args[3]) : null;
+
+        try (IndexStore store = new IndexStore(args[1])) {
+            Indexer indexer = new Indexer(neow3j, store, governance, nft);
+            long nodeHeight = neow3j.getBlockCount().send().getBlockCount().longValue() - 1;
+            new Backfill(indexer, store, BACKFILL_MIN_WORKERS, BACKFILL_MAX_WORKERS,
+                    BACKFILL_TARGET_LATENCY_MILLIS).run(nodeHeight);
+            Runtime.getRuntime().addShutdownHook(new Thread(indexer::stop));
+            indexer.follow(POLL_INTERVAL_MILLIS);
+        }
+    }
+
+}
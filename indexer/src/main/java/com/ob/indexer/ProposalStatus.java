@@ -0,0 +1,24 @@
+package com.ob.indexer;
+
+/**
+ * The status of a proposal in the read model.
+ */
+public enum ProposalStatus {
+
+    /**
+     * The proposal is stored in the GovernanceContract. It may still be open for votes or wait for
+     * its execution, which can be told apart by its finalization block.
+     */
+    OPEN,
+
+    /**
+     * The proposal was accepted and the meme was created or removed.
+     */
+    EXECUTED,
+
+    /**
+     * The proposal was not accepted and was removed on execution.
+     */
+    REJECTED
+
+}
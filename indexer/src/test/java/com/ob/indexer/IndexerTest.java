@@ -0,0 +1,171 @@
+package com.ob.indexer;
+
+import com.ob.fixtures.FixtureChain;
+import com.ob.fixtures.Fixtures;
+import io.neow3j.contract.SmartContract;
+import io.neow3j.crypto.Hash;
+import io.neow3j.protocol.Neow3j;
+import io.neow3j.script.ScriptBuilder;
+import io.neow3j.transaction.AccountSigner;
+import io.neow3j.transaction.TransactionBuilder;
+import io.neow3j.types.CallFlags;
+import io.neow3j.types.ContractParameter;
+import io.neow3j.types.Hash160;
+import io.neow3j.types.Hash256;
+import io.neow3j.wallet.Account;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static io.neow3j.types.ContractParameter.array;
+import static io.neow3j.types.ContractParameter.bool;
+import static io.neow3j.types.ContractParameter.byteArray;
+import static io.neow3j.types.ContractParameter.hash160;
+import static io.neow3j.types.ContractParameter.string;
+import static io.neow3j.utils.Await.waitUntilTransactionIsExecuted;
+import static java.util.Arrays.asList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+
+public class IndexerTest {
+
+    private static final int VOTING_TIME = 10;
+    private static final String JDBC_URL = "jdbc:h2:mem:indexerTest;DB_CLOSE_DELAY=-1";
+    private static final int PREFILL_BATCHES = 40;
+    private static final int PREFILL_BATCH_SIZE = 50;
+
+    private static FixtureChain chain;
+    private static Account a1;
+    private static Account a2;
+    private static Account a3;
+
+    private static Neow3j neow3j;
+    private static SmartContract governanceContract;
+    private static IndexStore store;
+
+    @BeforeAll
+    public static void setUp() throws Throwable {
+        chain = Fixtures.DEPLOYED.restore();
+        a1 = chain.getAlice();
+        List<Account> voters = chain.getVoters();
+        a2 = voters.get(0);
+        a3 = voters.get(1);
+        neow3j = chain.getNeow3j();
+        governanceContract = chain.getGovernanceContract();
+        store = new IndexStore(JDBC_URL);
+    }
+
+    @AfterAll
+    public static void tearDown() throws Exception {
+        store.close();
+        chain.close();
+    }
+
+    @Test
+    public void testIndexProposalLifecycleAndResume() throws Throwable {
+        ContractParameter memeId = string("indexedMeme");
+        String imgHash = "a151b3d6f4876cd78e284c07003c41550741042b23b5bd13973cb16cac197275";
+        send(governanceContract.invokeFunction("proposeNewMeme", memeId, string("desc"),
+                string("url"), byteArray(imgHash)).signers(AccountSigner.calledByEntry(a1)));
+        send(governanceContract.invokeFunction("vote", memeId, hash160(a1), bool(true))
+                .signers(AccountSigner.calledByEntry(a1)));
+        send(governanceContract.invokeFunction("vote", memeId, hash160(a2), bool(true))
+                .signers(AccountSigner.calledByEntry(a2)));
+
+        Indexer indexer = new Indexer(neow3j, store, governanceContract.getScriptHash(), null);
+        long height = indexer.indexToCurrentHeight();
+        assertThat(store.getIndexedHeight(), is(height));
+
+        IndexedProposal proposal = store.getProposal("indexedMeme");
+        assertThat(proposal.status, is(ProposalStatus.OPEN));
+        assertThat(proposal.votesFor, is(2));
+        assertThat(store.getOpenProposalsFinalizingBetween(height, height + VOTING_TIME),
+                hasSize(1));
+
+        send(governanceContract.invokeFunction("vote", memeId, hash160(a3), bool(true))
+                .signers(AccountSigner.calledByEntry(a3)));
+        chain.fastForward(VOTING_TIME);
+        send(governanceContract.invokeFunction("execute", memeId)
+                .signers(AccountSigner.calledByEntry(a1)));
+
+        // A new indexer on the same store continues after the persisted height.
+        Indexer resumed = new Indexer(neow3j, store, governanceContract.getScriptHash(), null);
+        long resumedHeight = resumed.indexToCurrentHeight();
+        assertThat(resumedHeight > height, is(true));
+
+        proposal = store.getProposal("indexedMeme");
+        assertThat(proposal.status, is(ProposalStatus.EXECUTED));
+        assertThat(proposal.votesFor, is(3));
+        IndexedMeme meme = store.getMemeByImageHash(imgHash);
+        assertThat(meme, notNullValue());
+        assertThat(meme.id, is("indexedMeme"));
+    }
+
+    @Test
+    public void testBackfillMatchesSequentialIndexing() throws Throwable {
+        prefillProposalsAndVotes();
+        long nodeHeight = neow3j.getBlockCount().send().getBlockCount().longValue() - 1;
+
+        try (IndexStore sequentialStore = new IndexStore("jdbc:h2:mem:sequential");
+             IndexStore backfillStore = new IndexStore("jdbc:h2:mem:backfill")) {
+            new Indexer(neow3j, sequentialStore, governanceContract.getScriptHash(), null)
+                    .indexUpTo(nodeHeight);
+            Indexer indexer =
+                    new Indexer(neow3j, backfillStore, governanceContract.getScriptHash(), null);
+            BackfillResult result = new Backfill(indexer, backfillStore, 2, 16, 50)
+                    .run(nodeHeight);
+
+            assertThat(result.blocks, is(nodeHeight + 1));
+            assertThat(result.blocksPerSecond > 0, is(true));
+            assertThat(backfillStore.getIndexedHeight(), is(nodeHeight));
+
+            List<IndexedProposal> expected = sequentialStore.getProposalsByStatus(
+                    ProposalStatus.OPEN, 0, Integer.MAX_VALUE);
+            List<IndexedProposal> actual = backfillStore.getProposalsByStatus(
+                    ProposalStatus.OPEN, 0, Integer.MAX_VALUE);
+            assertThat(actual.size() >= PREFILL_BATCHES * PREFILL_BATCH_SIZE, is(true));
+            assertThat(actual, hasSize(expected.size()));
+            for (int i = 0; i < expected.size(); i++) {
+                assertThat(actual.get(i).memeId, is(expected.get(i).memeId));
+                assertThat(actual.get(i).votesFor, is(expected.get(i).votesFor));
+                assertThat(actual.get(i).votesAgainst, is(expected.get(i).votesAgainst));
+            }
+        }
+    }
+
+    // Creates the proposals in batches, with one transaction proposing a batch and one
+    // transaction voting on all of its proposals. Each batch is voted on within its voting time.
+    private static void prefillProposalsAndVotes() throws Throwable {
+        Hash160 governance = governanceContract.getScriptHash();
+        ContractParameter voters = array(hash160(a1), hash160(a2), hash160(a3));
+        ContractParameter inFavor = array(bool(true), bool(true), bool(false));
+        for (int batch = 0; batch < PREFILL_BATCHES; batch++) {
+            ScriptBuilder proposals = new ScriptBuilder();
+            ScriptBuilder votes = new ScriptBuilder();
+            for (int i = 0; i < PREFILL_BATCH_SIZE; i++) {
+                String memeId = "backfill" + (batch * PREFILL_BATCH_SIZE + i);
+                byte[] imgHash = Hash.sha256(memeId.getBytes(StandardCharsets.UTF_8));
+                proposals.contractCall(governance, "proposeNewMeme", asList(string(memeId),
+                        string("desc"), string("url"), byteArray(imgHash)), CallFlags.ALL);
+                votes.contractCall(governance, "voteMany",
+                        asList(string(memeId), voters, inFavor), CallFlags.ALL);
+            }
+            send(new TransactionBuilder(neow3j).script(proposals.toArray())
+                    .signers(AccountSigner.calledByEntry(a1)));
+            send(new TransactionBuilder(neow3j).script(votes.toArray())
+                    .signers(AccountSigner.calledByEntry(a1), AccountSigner.calledByEntry(a2),
+                            AccountSigner.calledByEntry(a3)));
+        }
+    }
+
+    private static void send(TransactionBuilder builder) throws Throwable {
+        Hash256 hash = builder.sign().send().getSendRawTransaction().getHash();
+        waitUntilTransactionIsExecuted(hash, neow3j);
+    }
+
+}
@@ -0,0 +1,79 @@
+package com.ob.loadgen;
+
+import io.neow3j.contract.PolicyContract;
+import io.neow3j.protocol.Neow3j;
+import io.neow3j.protocol.core.response.InvocationResult;
+import io.neow3j.transaction.Signer;
+import io.neow3j.transaction.Transaction;
+import io.neow3j.utils.Numeric;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Calculates the fees of transactions without two RPC calls per transaction.
+ * <p>
+ * The system fee of a kind of transaction is simulated once and reused with a margin. The network
+ * fee is calculated once per kind for single-signature transactions and adjusted to the size of
+ * each transaction.
+ */
+class FeeModel {
+
+    private static final double SYSTEM_FEE_MARGIN = 0.2;
+
+    private final Neow3j neow3j;
+    private final long feePerByte;
+    private final Map<String, Long> systemFees = new ConcurrentHashMap<>();
+    // The size and network fee of the first transaction of each kind.
+    private final Map<String, long[]> networkFees = new ConcurrentHashMap<>();
+
+    FeeModel(Neow3j neow3j) throws IOException {
+        this.neow3j = neow3j;
+        this.feePerByte = new PolicyContract(neow3j).getFeePerByte().longValue();
+    }
+
+    /**
+     * @param reuse whether the fee of an earlier transaction of the same kind can be used.
+     */
+    long getSystemFee(String kind, byte[] script, Signer signer, boolean reuse)
+            throws IOException {
+        Long fee = reuse ? systemFees.get(kind) : null;
+        if (fee != null) {
+            return fee;
+        }
+        InvocationResult result = neow3j.invokeScript(Numeric.toHexStringNoPrefix(script), signer)
+                .send().getInvocationResult();
+        if (result.hasStateFault()) {
+            throw new SimulationFault(result.getException());
+        }
+        fee = (long) (Long.parseLong(result.getGasConsumed()) * (1 + SYSTEM_FEE_MARGIN));
+        systemFees.putIfAbsent(kind, fee);
+        return fee;
+    }
+
+    /**
+     * @param unsigned the transaction without witnesses.
+     */
+    long getNetworkFee(String kind, Transaction unsigned) throws IOException {
+        long size = unsigned.getSize();
+        long[] template = networkFees.get(kind);
+        if (template == null) {
+            long fee = neow3j.calculateNetworkFee(Numeric.toHexStringNoPrefix(unsigned.toArray()))
+                    .send().getNetworkFee().getNetworkFee().longValue();
+            template = new long[]{size, fee};
+            networkFees.putIfAbsent(kind, template);
+        }
+        return template[1] + feePerByte * Math.max(0, size - template[0]);
+    }
+
+    /**
+     * Thrown if the script faults in the simulation, i.e., it would fault on chain as well.
+     */
+    static class SimulationFault extends IOException {
+        SimulationFault(String exception) {
+            super(exception);
+        }
+    }
+
+}
@@ -0,0 +1,27 @@
+package com.ob.loadgen;
+
+/**
+ * The size of a load run.
+ */
+public class LoadConfig {
+    // The number of accounts that are created and funded. Each of them votes on every proposal.
+    public int accounts;
+    // The number of proposals that are voted on.
+    public int proposals;
+    // The share of the votes that are sent a second time, which fail with "Already voted.".
+    public double duplicateVoteRatio;
+    // The GAS in fractions that each account is funded with.
+    public long fundingPerAccount;
+    // The number of threads that sign and send transactions.
+    public int senderThreads;
+
+    public LoadConfig(int accounts, int proposals, double duplicateVoteRatio,
+            long fundingPerAccount, int senderThreads) {
+        this.accounts = accounts;
+        this.proposals = proposals;
+        this.duplicateVoteRatio = duplicateVoteRatio;
+        this.fundingPerAccount = fundingPerAccount;
+        this.senderThreads = senderThreads;
+    }
+
+}
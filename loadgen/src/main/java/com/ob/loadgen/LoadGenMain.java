@@ -0,0 +1,48 @@
+package com.ob.loadgen;
+
+import io.neow3j.contract.GasToken;
+import io.neow3j.protocol.Neow3j;
+import io.neow3j.protocol.http.HttpService;
+import io.neow3j.types.Hash160;
+import io.neow3j.wallet.Account;
+
+import java.math.BigDecimal;
+
+/**
+ * Runs a load test against a node and prints the report.
+ * <p>
+ * Usage: {@code LoadGenMain <rpc url> <funder WIF> <governance contract hash> [<accounts>
+ * [<proposals>]]}
+ * <p>
+ * E.g., {@code LoadGenMain http://localhost:50012
+ * L1eV34wPoj9weqhGijdDLtVQzUpWGHszXXpdU9dPuh2nRFFzFa7E 7f8df089963cbfaba97edc2bfce3154c9fa43493
+ * 5000 10}
+ */
+public class LoadGenMain {
+
+    private static final int DEFAULT_ACCOUNTS = 1000;
+    private static final int DEFAULT_PROPOSALS = 10;
+    private static final double DUPLICATE_VOTE_RATIO = 0.01;
+    private static final BigDecimal FUNDING_PER_ACCOUNT = new BigDecimal("10");
+    private static final int SENDER_THREADS = 16;
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 3) {
+            System.err.println("Usage: LoadGenMain <rpc url> <funder WIF> "
+                    + "<governance contract hash> [<accounts> [<proposals>]]");
+            System.exit(1);
+        }
+        Neow3j neow3j = Neow3j.build(new HttpService(args[0]));
+        Account funder = Account.fromWIF(args[1]);
+        Hash160 governance = new Hash160(args[2]);
+        int accounts = args.length > 3 ? Integer.parseInt(args[3]) : DEFAULT_ACCOUNTS;
+        int proposals = args.length > 4 ? Integer.parseInt(args[4]) : DEFAULT_PROPOSALS;
+
+        long funding = new GasToken(neow3j).toFractions(FUNDING_PER_ACCOUNT).longValue();
+        LoadConfig config = new LoadConfig(accounts, proposals, DUPLICATE_VOTE_RATIO, funding,
+                SENDER_THREADS);
+        new LoadGenerator(neow3j, funder, governance, config).run().print(System.out);
+        System.exit(0);
+    }
+
+}
@@ -0,0 +1,185 @@
+package com.ob.loadgen;
+
+import com.ob.client.TxPipeline;
+import io.neow3j.contract.GasToken;
+import io.neow3j.contract.SmartContract;
+import io.neow3j.crypto.Hash;
+import io.neow3j.protocol.Neow3j;
+import io.neow3j.script.OpCode;
+import io.neow3j.script.ScriptBuilder;
+import io.neow3j.types.CallFlags;
+import io.neow3j.types.ContractParameter;
+import io.neow3j.types.Hash160;
+import io.neow3j.wallet.Account;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static io.neow3j.types.ContractParameter.any;
+import static io.neow3j.types.ContractParameter.bool;
+import static io.neow3j.types.ContractParameter.byteArray;
+import static io.neow3j.types.ContractParameter.hash160;
+import static io.neow3j.types.ContractParameter.integer;
+import static io.neow3j.types.ContractParameter.string;
+import static java.util.Arrays.asList;
+
+/**
+ * Generates governance traffic against a node: funds fresh accounts, creates proposals, lets all
+ * accounts vote on them at once and executes them.
+ * <p>
+ * Each phase submits all of its transactions to a {@link TxPipeline} and then waits until they
+ * are included in a block. Votes that arrive after the voting time fault, like they would for
+ * real voters.
+ */
+public class LoadGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadGenerator.class);
+
+    static final String FUND = "fund";
+    static final String PROPOSE = "proposeNewMeme";
+    static final String VOTE = "vote";
+    static final String EXECUTE = "execute";
+
+    // The number of GAS transfers in one funding transaction.
+    private static final int FUNDING_BATCH_SIZE = 200;
+    private static final long POLL_INTERVAL_MILLIS = 200;
+
+    private final Neow3j neow3j;
+    private final Account funder;
+    private final SmartContract governance;
+    private final LoadConfig config;
+    private final Random random = new Random();
+
+    /**
+     * @param funder the account that pays the GAS for the created accounts.
+     */
+    public LoadGenerator(Neow3j neow3j, Account funder, Hash160 governance, LoadConfig config) {
+        this.neow3j = neow3j;
+        this.funder = funder;
+        this.governance = new SmartContract(governance, neow3j);
+        this.config = config;
+    }
+
+    public LoadReport run() throws IOException, InterruptedException {
+        LoadReport report = new LoadReport();
+        try (TxPipeline pipeline = new TxPipeline(neow3j, config.senderThreads,
+                TxPipeline.DEFAULT_MAX_IN_FLIGHT, POLL_INTERVAL_MILLIS)) {
+            TxSender sender = new TxSender(neow3j, new FeeModel(neow3j), pipeline, report);
+            List<Account> accounts = createAccounts();
+            fund(sender, accounts);
+            logPhase(FUND);
+
+            int votingTime = governance.callFunctionReturningInt("getVotingTime");
+            sender.refreshValidity();
+            List<String> memeIds = propose(sender, accounts);
+            long proposedAt = logPhase(PROPOSE);
+
+            sender.refreshValidity();
+            vote(sender, accounts, memeIds);
+            logPhase(VOTE);
+
+            awaitHeight(proposedAt + votingTime + 1);
+            sender.refreshValidity();
+            execute(sender, accounts.get(0), memeIds);
+            logPhase(EXECUTE);
+        }
+        return report;
+    }
+
+    private List<Account> createAccounts() {
+        return IntStream.range(0, config.accounts).parallel()
+                .mapToObj(i -> Account.create())
+                .collect(Collectors.toList());
+    }
+
+    // Funds the accounts with batches of transfers in one script.
+    private void fund(TxSender sender, List<Account> accounts)
+            throws InterruptedException {
+        List<CompletableFuture<Void>> submitted = new ArrayList<>();
+        for (int from = 0; from < accounts.size(); from += FUNDING_BATCH_SIZE) {
+            ScriptBuilder script = new ScriptBuilder();
+            for (Account account : accounts.subList(from,
+                    Math.min(from + FUNDING_BATCH_SIZE, accounts.size()))) {
+                script.contractCall(GasToken.SCRIPT_HASH, "transfer", asList(hash160(funder),
+                        hash160(account), integer(config.fundingPerAccount), any(null)),
+                        CallFlags.ALL);
+                script.opCode(OpCode.ASSERT);
+            }
+            submitted.add(sender.submit(FUND, script.toArray(), funder, false));
+        }
+        TxSender.awaitAll(submitted);
+    }
+
+    private List<String> propose(TxSender sender, List<Account> accounts)
+            throws InterruptedException {
+        String run = Long.toString(System.currentTimeMillis(), 36);
+        List<String> memeIds = new ArrayList<>();
+        List<CompletableFuture<Void>> submitted = new ArrayList<>();
+        for (int i = 0; i < config.proposals; i++) {
+            String memeId = "load-" + run + "-" + i;
+            memeIds.add(memeId);
+            byte[] imageHash = Hash.sha256(memeId.getBytes(StandardCharsets.UTF_8));
+            byte[] script = call("proposeNewMeme", asList(string(memeId), string("load test"),
+                    string("url"), byteArray(imageHash)));
+            submitted.add(sender.submit(PROPOSE, script, accounts.get(i % accounts.size()),
+                    true));
+        }
+        TxSender.awaitAll(submitted);
+        return memeIds;
+    }
+
+    private void vote(TxSender sender, List<Account> accounts, List<String> memeIds)
+            throws InterruptedException {
+        List<CompletableFuture<Void>> submitted = new ArrayList<>();
+        for (String memeId : memeIds) {
+            for (Account voter : accounts) {
+                byte[] script = call("vote",
+                        asList(string(memeId), hash160(voter), bool(random.nextBoolean())));
+                submitted.add(sender.submit(VOTE, script, voter, true));
+                if (random.nextDouble() < config.duplicateVoteRatio) {
+                    submitted.add(sender.submit(VOTE, script, voter, true));
+                }
+            }
+        }
+        TxSender.awaitAll(submitted);
+    }
+
+    private void execute(TxSender sender, Account executor, List<String> memeIds)
+            throws InterruptedException {
+        List<CompletableFuture<Void>> submitted = new ArrayList<>();
+        for (String memeId : memeIds) {
+            // Executing creates a meme or removes a rejected proposal, which differ in cost.
+            submitted.add(sender.submit(EXECUTE, call("execute", asList(string(memeId))),
+                    executor, false));
+        }
+        TxSender.awaitAll(submitted);
+    }
+
+    private byte[] call(String method, List<ContractParameter> params) {
+        return new ScriptBuilder()
+                .contractCall(governance.getScriptHash(), method, params, CallFlags.ALL)
+                .toArray();
+    }
+
+    // Logs the end of a phase, whose transactions were already awaited, and returns the height.
+    private long logPhase(String kind) throws IOException {
+        long height = neow3j.getBlockCount().send().getBlockCount().longValue() - 1;
+        log.info("Finished {} at block {}.", kind, height);
+        return height;
+    }
+
+    private void awaitHeight(long height) throws IOException, InterruptedException {
+        while (neow3j.getBlockCount().send().getBlockCount().longValue() - 1 < height) {
+            Thread.sleep(POLL_INTERVAL_MILLIS);
+        }
+    }
+
+}
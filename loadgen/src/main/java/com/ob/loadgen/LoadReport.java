@@ -0,0 +1,142 @@
+package com.ob.loadgen;
+
+import com.ob.client.TxResult;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * The outcome of a load run: the transactions per block, the confirmation latencies and the
+ * reasons of failed transactions.
+ */
+public class LoadReport {
+
+    private final Map<String, Integer> sent = new TreeMap<>();
+    private final Map<String, Integer> succeeded = new TreeMap<>();
+    // Failure counts by kind and reason.
+    private final Map<String, Map<String, Integer>> failures = new TreeMap<>();
+    private final Map<Long, Integer> txsPerBlock = new TreeMap<>();
+    private final List<Long> latencies = new ArrayList<>();
+
+    synchronized void recordSent(String kind) {
+        sent.merge(kind, 1, Integer::sum);
+    }
+
+    /**
+     * Records a transaction that the node did not accept, e.g., because the mempool was full.
+     */
+    synchronized void recordRejected(String kind, String reason) {
+        recordFailure(kind, "rejected: " + reason);
+    }
+
+    /**
+     * Records a transaction that was not sent, because its script faulted in the simulation.
+     */
+    synchronized void recordNotSent(String kind, String reason) {
+        recordFailure(kind, "simulation faulted: " + reason);
+    }
+
+    synchronized void recordConfirmed(String kind, TxResult result) {
+        txsPerBlock.merge(result.block, 1, Integer::sum);
+        latencies.add(result.getLatencyMillis());
+        if (result.isHalted()) {
+            succeeded.merge(kind, 1, Integer::sum);
+        } else {
+            recordFailure(kind, "faulted: " + result.exception);
+        }
+    }
+
+    /**
+     * Records a transaction that was accepted but not included in a block within its validity.
+     */
+    synchronized void recordExpired(String kind) {
+        recordFailure(kind, "expired");
+    }
+
+    private void recordFailure(String kind, String reason) {
+        failures.computeIfAbsent(kind, k -> new TreeMap<>()).merge(reason, 1, Integer::sum);
+    }
+
+    public synchronized int getSent(String kind) {
+        return sent.getOrDefault(kind, 0);
+    }
+
+    public synchronized int getSucceeded(String kind) {
+        return succeeded.getOrDefault(kind, 0);
+    }
+
+    /**
+     * @return the number of failures of the kind by their reason.
+     */
+    public synchronized Map<String, Integer> getFailures(String kind) {
+        return new TreeMap<>(failures.getOrDefault(kind, Collections.emptyMap()));
+    }
+
+    /**
+     * @return the number of the generator's transactions in each block that contained any.
+     */
+    public synchronized Map<Long, Integer> getTxsPerBlock() {
+        return new TreeMap<>(txsPerBlock);
+    }
+
+    /**
+     * @param percentile the percentile between 0 and 100.
+     * @return the confirmation latency in milliseconds at the percentile, measured from sending a
+     * transaction to the timestamp of its block.
+     */
+    public synchronized long getLatencyPercentile(double percentile) {
+        if (latencies.isEmpty()) {
+            return 0;
+        }
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        int index = (int) Math.ceil(percentile / 100 * sorted.size()) - 1;
+        return sorted.get(Math.max(0, Math.min(index, sorted.size() - 1)));
+    }
+
+    public synchronized void print(PrintStream out) {
+        out.println("Transactions");
+        Set<String> kinds = new TreeSet<>(sent.keySet());
+        kinds.addAll(failures.keySet());
+        for (String kind : kinds) {
+            out.printf("  %-16s sent %7d  succeeded %7d%n", kind, getSent(kind),
+                    getSucceeded(kind));
+            for (Map.Entry<String, Integer> failure : getFailures(kind).entrySet()) {
+                out.printf("    %7d  %s%n", failure.getValue(), failure.getKey());
+            }
+        }
+        if (!txsPerBlock.isEmpty()) {
+            IntSummary perBlock = new IntSummary(txsPerBlock.values());
+            out.printf("Transactions per block  min %d  avg %.1f  max %d  over %d blocks%n",
+                    perBlock.min, perBlock.avg, perBlock.max, txsPerBlock.size());
+        }
+        out.printf("Confirmation latency (ms)  p50 %d  p90 %d  p99 %d  max %d%n",
+                getLatencyPercentile(50), getLatencyPercentile(90), getLatencyPercentile(99),
+                getLatencyPercentile(100));
+    }
+
+    private static class IntSummary {
+        int min = Integer.MAX_VALUE;
+        int max;
+        double avg;
+
+        IntSummary(Iterable<Integer> values) {
+            long sum = 0;
+            int count = 0;
+            for (int value : values) {
+                min = Math.min(min, value);
+                max = Math.max(max, value);
+                sum += value;
+                count++;
+            }
+            avg = (double) sum / count;
+        }
+    }
+
+}
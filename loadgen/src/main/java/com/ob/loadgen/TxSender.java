@@ -0,0 +1,117 @@
+package com.ob.loadgen;
+
+import com.ob.client.SubmissionException;
+import com.ob.client.TxPipeline;
+import com.ob.client.TxResult;
+import io.neow3j.protocol.Neow3j;
+import io.neow3j.transaction.AccountSigner;
+import io.neow3j.transaction.Signer;
+import io.neow3j.transaction.Transaction;
+import io.neow3j.transaction.Witness;
+import io.neow3j.wallet.Account;
+
+import java.io.IOException;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Builds and signs the transactions of the load generator and submits them to a
+ * {@link TxPipeline}. The outcome of each transaction is recorded in the {@link LoadReport}.
+ */
+class TxSender {
+
+    private static final byte TX_VERSION = 0;
+    // The number of blocks a transaction stays valid for.
+    private static final long VALIDITY_BLOCKS = 100;
+
+    private final Neow3j neow3j;
+    private final FeeModel fees;
+    private final TxPipeline pipeline;
+    private final LoadReport report;
+    // Neo nonces only make transactions unique. A counter guarantees that identical scripts from
+    // the same sender do not collide.
+    private final AtomicLong nonce = new AtomicLong(new SecureRandom().nextInt() & 0xFFFFFFFFL);
+
+    private volatile long validUntilBlock;
+
+    TxSender(Neow3j neow3j, FeeModel fees, TxPipeline pipeline, LoadReport report)
+            throws IOException {
+        this.neow3j = neow3j;
+        this.fees = fees;
+        this.pipeline = pipeline;
+        this.report = report;
+        refreshValidity();
+    }
+
+    /**
+     * Sets the validity of the transactions sent from now on relative to the current height.
+     */
+    void refreshValidity() throws IOException {
+        long height = neow3j.getBlockCount().send().getBlockCount().longValue() - 1;
+        validUntilBlock = height + VALIDITY_BLOCKS;
+    }
+
+    /**
+     * Sends a transaction with the script, signed and paid for by the sender.
+     *
+     * @param reuseFees whether the fees of an earlier transaction of the same kind can be used.
+     * @return a future that completes when the outcome of the transaction is recorded.
+     */
+    CompletableFuture<Void> submit(String kind, byte[] script, Account sender,
+            boolean reuseFees) throws InterruptedException {
+        return pipeline.submit(() -> sign(kind, script, sender, reuseFees))
+                .handle((result, e) -> {
+                    record(kind, result, e);
+                    return null;
+                });
+    }
+
+    /**
+     * Waits until the outcomes of all submitted transactions are recorded.
+     */
+    static void awaitAll(List<CompletableFuture<Void>> submitted) {
+        CompletableFuture.allOf(submitted.toArray(new CompletableFuture[0])).join();
+    }
+
+    private Transaction sign(String kind, byte[] script, Account sender, boolean reuseFees)
+            throws IOException {
+        List<Signer> signers = Collections.singletonList(AccountSigner.calledByEntry(sender));
+        long txNonce = nonce.getAndIncrement() & 0xFFFFFFFFL;
+        long systemFee = fees.getSystemFee(kind, script, signers.get(0), reuseFees);
+        long networkFee = fees.getNetworkFee(kind,
+                build(txNonce, signers, systemFee, 0, script));
+
+        Transaction tx = build(txNonce, signers, systemFee, networkFee, script);
+        tx.addWitness(Witness.create(tx.getHashData(), sender.getECKeyPair()));
+        report.recordSent(kind);
+        return tx;
+    }
+
+    private void record(String kind, TxResult result, Throwable e) {
+        if (e instanceof CompletionException && e.getCause() != null) {
+            e = e.getCause();
+        }
+        if (e == null) {
+            report.recordConfirmed(kind, result);
+        } else if (e instanceof FeeModel.SimulationFault) {
+            report.recordNotSent(kind, e.getMessage());
+        } else if (e instanceof SubmissionException
+                && ((SubmissionException) e).getReason() == SubmissionException.Reason.EXPIRED) {
+            report.recordExpired(kind);
+        } else {
+            report.recordRejected(kind, String.valueOf(e.getMessage()));
+        }
+    }
+
+    private Transaction build(long txNonce, List<Signer> signers, long systemFee,
+            long networkFee, byte[] script) {
+        return new Transaction(neow3j, TX_VERSION, txNonce, validUntilBlock, signers, systemFee,
+                networkFee, new ArrayList<>(), script, new ArrayList<>());
+    }
+
+}
@@ -0,0 +1,131 @@
+package com.ob.loadgen;
+
+import com.ob.GovernanceContract;
+import com.ob.MemeContract;
+import io.neow3j.contract.GasToken;
+import io.neow3j.contract.SmartContract;
+import io.neow3j.crypto.ECKeyPair;
+import io.neow3j.protocol.Neow3j;
+import io.neow3j.test.ContractTest;
+import io.neow3j.test.ContractTestExtension;
+import io.neow3j.test.DeployConfig;
+import io.neow3j.test.DeployConfiguration;
+import io.neow3j.test.DeployContext;
+import io.neow3j.transaction.AccountSigner;
+import io.neow3j.transaction.Transaction;
+import io.neow3j.types.Hash256;
+import io.neow3j.utils.Numeric;
+import io.neow3j.wallet.Account;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Map;
+
+import static io.neow3j.types.ContractParameter.hash160;
+import static io.neow3j.utils.Await.waitUntilTransactionIsExecuted;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.anEmptyMap;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.not;
+
+@ContractTest(
+        blockTime = 1,
+        contracts = {MemeContract.class, GovernanceContract.class},
+        batchFile = "neoxp.batch",
+        configFile = "neoxp.neo-express"
+)
+public class LoadGeneratorTest {
+
+    @RegisterExtension
+    private static ContractTestExtension ext = new ContractTestExtension();
+
+    private static final String ALICE_SKEY =
+            "84180ac9d6eb6fba207ea4ef9d2200102d1ebeb4b9c07e2c6a738a42742e27a5";
+    private static final int ACCOUNTS = 30;
+    private static final int PROPOSALS = 2;
+
+    private static Account a1 = new Account(
+            ECKeyPair.create(Numeric.hexStringToByteArray(ALICE_SKEY)));
+
+    private static Neow3j neow3j;
+    private static SmartContract governanceContract;
+
+    @DeployConfig(MemeContract.class)
+    public static DeployConfiguration memeContractDeployConfig() {
+        DeployConfiguration config = new DeployConfiguration();
+        config.setDeployParam(hash160(a1));
+        config.setSigner(AccountSigner.calledByEntry(a1));
+        return config;
+    }
+
+    @DeployConfig(GovernanceContract.class)
+    public static DeployConfiguration govContractDeployConfig(DeployContext ctx) {
+        DeployConfiguration config = new DeployConfiguration();
+        SmartContract memeContract = ctx.getDeployedContract(MemeContract.class);
+        config.setDeployParam(hash160(memeContract.getScriptHash()));
+        AccountSigner signer = AccountSigner.none(a1);
+        signer.setAllowedContracts(memeContract.getScriptHash());
+        config.setSigner(signer);
+        return config;
+    }
+
+    @BeforeAll
+    public static void setUp() throws Throwable {
+        neow3j = ext.getNeow3j();
+        governanceContract = ext.getDeployedContract(GovernanceContract.class);
+        fundAccount(a1);
+    }
+
+    @Test
+    public void testVoteStormWithDuplicateVotes() throws Throwable {
+        GasToken gasToken = new GasToken(neow3j);
+        long funding = gasToken.toFractions(new BigDecimal("5")).longValue();
+        // Every vote is sent twice.
+        LoadConfig config = new LoadConfig(ACCOUNTS, PROPOSALS, 1.0, funding, 4);
+        LoadReport report = new LoadGenerator(neow3j, a1, governanceContract.getScriptHash(),
+                config).run();
+        report.print(System.out);
+
+        assertThat(report.getFailures(LoadGenerator.FUND), is(anEmptyMap()));
+        assertThat(report.getSucceeded(LoadGenerator.PROPOSE), is(PROPOSALS));
+        int sent = report.getSent(LoadGenerator.VOTE);
+        assertThat(sent, is(2 * ACCOUNTS * PROPOSALS));
+        // A duplicate may be dropped by the mempool or expire instead of faulting, so only the
+        // bounds are fixed.
+        int succeeded = report.getSucceeded(LoadGenerator.VOTE);
+        assertThat(succeeded, is(greaterThan(0)));
+        assertThat(succeeded, is(lessThanOrEqualTo(ACCOUNTS * PROPOSALS)));
+        int alreadyVoted = 0;
+        for (Map.Entry<String, Integer> failure
+                : report.getFailures(LoadGenerator.VOTE).entrySet()) {
+            if (failure.getKey().contains("Already voted.")) {
+                alreadyVoted += failure.getValue();
+            }
+        }
+        assertThat(alreadyVoted, is(lessThanOrEqualTo(sent - succeeded)));
+        assertThat(report.getSucceeded(LoadGenerator.EXECUTE), is(PROPOSALS));
+        assertThat(report.getTxsPerBlock(), is(not(anEmptyMap())));
+        assertThat(report.getLatencyPercentile(50) > 0, is(true));
+    }
+
+    private static void fundAccount(Account account) throws Throwable {
+        ContractTestExtension.GenesisAccount genesis = ext.getGenesisAccount();
+        GasToken gasToken = new GasToken(neow3j);
+        BigInteger amount = gasToken.toFractions(new BigDecimal("5000"));
+        Transaction tx = gasToken.transfer(genesis.getMultiSigAccount().getScriptHash(),
+                        account.getScriptHash(), amount)
+                .signers(AccountSigner.calledByEntry(genesis.getMultiSigAccount()))
+                .getUnsignedTransaction();
+        Hash256 txHash = tx.addMultiSigWitness(
+                        genesis.getMultiSigAccount().getVerificationScript(),
+                        genesis.getSignerAccounts())
+                .send().getSendRawTransaction().getHash();
+        waitUntilTransactionIsExecuted(txHash, neow3j);
+    }
+
+}
@@ -0,0 +1,135 @@
+package com.ob.profiler;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.neow3j.types.Hash160;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * The debug info that the neow3j compiler writes next to a NEF file when {@code debug} is
+ * enabled. Maps instruction pointers of the contract script to source lines.
+ */
+public class DebugInfo {
+
+    // E.g., "12[0]34:5-34:20", i.e., the instruction pointer, the document index and the range in
+    // the document.
+    private static final Pattern SEQUENCE_POINT =
+            Pattern.compile("(\\d+)\\[(\\d+)\\](\\d+):(\\d+)-(\\d+):(\\d+)");
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final Hash160 scriptHash;
+    private final String contractName;
+    // Sequence points by their instruction pointer.
+    private final TreeMap<Integer, SourceLocation> sequencePoints = new TreeMap<>();
+    // Method names by the instruction pointer their range starts at.
+    private final TreeMap<Integer, Method> methods = new TreeMap<>();
+
+    DebugInfo(JsonNode json) {
+        scriptHash = new Hash160(json.get("hash").asText());
+        List<String> documents = new ArrayList<>();
+        for (JsonNode document : json.get("documents")) {
+            documents.add(Paths.get(document.asText()).getFileName().toString());
+        }
+        String name = null;
+        for (JsonNode m : json.get("methods")) {
+            // The name has the form "<namespace>,<method>".
+            String[] qualifiedName = m.get("name").asText().split(",");
+            String methodName = qualifiedName[qualifiedName.length - 1];
+            if (name == null && qualifiedName.length > 1) {
+                String namespace = qualifiedName[0];
+                name = namespace.substring(namespace.lastIndexOf('.') + 1);
+            }
+            String[] range = m.get("range").asText().split("-");
+            int start = Integer.parseInt(range[0]);
+            methods.put(start, new Method(methodName, start, Integer.parseInt(range[1])));
+            for (JsonNode sequencePoint : m.get("sequence-points")) {
+                Matcher matcher = SEQUENCE_POINT.matcher(sequencePoint.asText());
+                if (!matcher.matches()) {
+                    throw new IllegalArgumentException(
+                            "Invalid sequence point " + sequencePoint.asText() + ".");
+                }
+                int ip = Integer.parseInt(matcher.group(1));
+                String document = documents.get(Integer.parseInt(matcher.group(2)));
+                int line = Integer.parseInt(matcher.group(3));
+                sequencePoints.put(ip, new SourceLocation(document, line, methodName));
+            }
+        }
+        contractName = name == null ? scriptHash.toString() : name;
+    }
+
+    /**
+     * Reads the debug info from a {@code .nefdbgnfo} file, which is a zip archive with a single
+     * JSON entry.
+     */
+    public static DebugInfo read(File nefDbgNfo) throws IOException {
+        try (ZipFile zip = new ZipFile(nefDbgNfo)) {
+            ZipEntry entry = zip.entries().nextElement();
+            try (InputStream in = zip.getInputStream(entry)) {
+                return new DebugInfo(MAPPER.readTree(in));
+            }
+        }
+    }
+
+    /**
+     * Reads the debug info from its JSON representation.
+     */
+    public static DebugInfo readJson(InputStream in) throws IOException {
+        return new DebugInfo(MAPPER.readTree(in));
+    }
+
+    /**
+     * Gets the hash of the contract script. It identifies the script in execution traces.
+     */
+    public Hash160 getScriptHash() {
+        return scriptHash;
+    }
+
+    public String getContractName() {
+        return contractName;
+    }
+
+    /**
+     * Gets the source line of the instruction at the given instruction pointer, i.e., the line of
+     * the last sequence point at or before it within the same method.
+     *
+     * @return the source line or null if the instruction does not belong to a method or has no
+     * sequence point before it.
+     */
+    public SourceLocation getLocation(int ip) {
+        Map.Entry<Integer, Method> method = methods.floorEntry(ip);
+        if (method == null || ip > method.getValue().end) {
+            return null;
+        }
+        Map.Entry<Integer, SourceLocation> sequencePoint = sequencePoints.floorEntry(ip);
+        if (sequencePoint == null || sequencePoint.getKey() < method.getValue().start) {
+            return new SourceLocation(contractName, 0, method.getValue().name);
+        }
+        return sequencePoint.getValue();
+    }
+
+    private static class Method {
+        final String name;
+        final int start;
+        final int end;
+
+        Method(String name, int start, int end) {
+            this.name = name;
+            this.start = start;
+            this.end = end;
+        }
+    }
+
+}
@@ -0,0 +1,103 @@
+package com.ob.profiler;
+
+import io.neow3j.types.Hash160;
+
+import java.io.PrintWriter;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The GAS that an invocation consumed, broken down by source line and by call stack.
+ * <p>
+ * Instructions of scripts without debug info, e.g., the entry script of the transaction, are
+ * attributed to the script hash.
+ */
+public class GasProfile {
+
+    private static final int GAS_DECIMALS = 8;
+
+    private final Map<Hash160, DebugInfo> debugInfos = new HashMap<>();
+    private final Map<String, Long> gasByLine = new HashMap<>();
+    private final Map<String, Long> gasByStack = new LinkedHashMap<>();
+    private long totalGas;
+
+    GasProfile(List<TraceStep> steps, Collection<DebugInfo> debugInfos) {
+        for (DebugInfo debugInfo : debugInfos) {
+            this.debugInfos.put(debugInfo.getScriptHash(), debugInfo);
+        }
+        for (TraceStep step : steps) {
+            add(step);
+        }
+    }
+
+    private void add(TraceStep step) {
+        totalGas += step.gas;
+        gasByLine.merge(label(step.frames.get(0)), step.gas, Long::sum);
+        // Folded stacks list the frames from the entry script to the executed instruction.
+        List<String> stack = new ArrayList<>();
+        for (int i = step.frames.size() - 1; i >= 0; i--) {
+            stack.add(label(step.frames.get(i)));
+        }
+        gasByStack.merge(String.join(";", stack), step.gas, Long::sum);
+    }
+
+    private String label(TraceStep.Frame frame) {
+        DebugInfo debugInfo = debugInfos.get(frame.scriptHash);
+        if (debugInfo == null) {
+            return frame.scriptHash.toString();
+        }
+        SourceLocation location = debugInfo.getLocation(frame.ip);
+        if (location == null) {
+            return debugInfo.getContractName();
+        }
+        return location.toString();
+    }
+
+    public long getTotalGas() {
+        return totalGas;
+    }
+
+    /**
+     * Gets the GAS in fractions consumed by the instructions of each source line, without the
+     * GAS of the contracts the line calls.
+     */
+    public Map<String, Long> getGasByLine() {
+        return gasByLine;
+    }
+
+    /**
+     * Writes the lines sorted by the GAS they consumed, starting with the most expensive one.
+     */
+    public void writeLines(PrintWriter out) {
+        List<Map.Entry<String, Long>> lines = new ArrayList<>(gasByLine.entrySet());
+        lines.sort((a, b) -> Long.compare(b.getValue(), a.getValue()));
+        out.printf("%14s %7s  %s%n", "GAS", "share", "line");
+        for (Map.Entry<String, Long> line : lines) {
+            out.printf("%14s %6.2f%%  %s%n", toGas(line.getValue()),
+                    100.0 * line.getValue() / Math.max(totalGas, 1), line.getKey());
+        }
+        out.printf("%14s %6.2f%%  %s%n", toGas(totalGas), 100.0, "total");
+        out.flush();
+    }
+
+    /**
+     * Writes the call stacks in the folded format of flamegraph.pl, i.e., one line per stack with
+     * the frames separated by semicolons and the GAS in fractions.
+     */
+    public void writeFoldedStacks(PrintWriter out) {
+        for (Map.Entry<String, Long> stack : gasByStack.entrySet()) {
+            out.println(stack.getKey().replace(' ', '_') + " " + stack.getValue());
+        }
+        out.flush();
+    }
+
+    private static String toGas(long fractions) {
+        return BigDecimal.valueOf(fractions, GAS_DECIMALS).toPlainString();
+    }
+
+}
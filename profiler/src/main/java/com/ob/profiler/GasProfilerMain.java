@@ -0,0 +1,48 @@
+package com.ob.profiler;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Breaks down the GAS of a traced invocation by the source lines of the contracts.
+ * <p>
+ * Usage: {@code GasProfilerMain <trace file> <debug info file>...}
+ * <p>
+ * The trace file is written by neo-express for invocations with {@code --trace}. The debug info
+ * files are the {@code .nefdbgnfo} files that the neow3j compiler writes with {@code debug =
+ * true}. Prints the lines sorted by GAS and writes the call stacks in the folded flame graph
+ * format to {@code <trace file>.folded}.
+ */
+public class GasProfilerMain {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.err.println("Usage: GasProfilerMain <trace file> <debug info file>...");
+            System.exit(1);
+        }
+        List<DebugInfo> debugInfos = new ArrayList<>();
+        for (int i = 1; i < args.length; i++) {
+            debugInfos.add(DebugInfo.read(new File(args[i])));
+        }
+        List<TraceStep> steps;
+        try (InputStream in = new FileInputStream(args[0])) {
+            steps = TraceReader.read(in);
+        }
+        GasProfile profile = new GasProfile(steps, debugInfos);
+
+        profile.writeLines(new PrintWriter(
+                new OutputStreamWriter(System.out, StandardCharsets.UTF_8)));
+        File folded = new File(args[0] + ".folded");
+        try (PrintWriter out = new PrintWriter(folded, StandardCharsets.UTF_8.name())) {
+            profile.writeFoldedStacks(out);
+        }
+        System.out.println("Wrote the call stacks to " + folded + ".");
+    }
+
+}
@@ -0,0 +1,43 @@
+package com.ob.profiler;
+
+import java.util.Objects;
+
+/**
+ * A line of contract source code.
+ */
+public class SourceLocation {
+    // The name of the source file, e.g., GovernanceContract.java.
+    public String file;
+    public int line;
+    // The name of the method the line belongs to.
+    public String method;
+
+    public SourceLocation(String file, int line, String method) {
+        this.file = file;
+        this.line = line;
+        this.method = method;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof SourceLocation)) {
+            return false;
+        }
+        SourceLocation other = (SourceLocation) o;
+        return line == other.line && file.equals(other.file) && method.equals(other.method);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(file, line, method);
+    }
+
+    @Override
+    public String toString() {
+        return file + ":" + line + " (" + method + ")";
+    }
+
+}
@@ -0,0 +1,93 @@
+package com.ob.profiler;
+
+import io.neow3j.types.Hash160;
+import io.neow3j.utils.ArrayUtils;
+import org.msgpack.core.MessageFormat;
+import org.msgpack.core.MessagePack;
+import org.msgpack.core.MessageUnpacker;
+import org.msgpack.value.ValueType;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads the execution trace that neo-express writes with {@code --trace}, i.e., a
+ * {@code .neo-trace} file.
+ * <p>
+ * The file is a sequence of MessagePack records. Each record is an array of a type tag and the
+ * record itself. Trace records are written before each instruction and hold the GAS consumed so
+ * far and the invocation stack. The GAS of an instruction is the difference to the GAS of the
+ * next trace record or of the results record. All other records are skipped.
+ */
+class TraceReader {
+
+    static final int TRACE_RECORD = 0;
+    static final int RESULTS_RECORD = 3;
+
+    private TraceReader() {
+    }
+
+    static List<TraceStep> read(InputStream in) throws IOException {
+        List<TraceStep> steps = new ArrayList<>();
+        List<TraceStep.Frame> previousFrames = null;
+        long previousGas = 0;
+        try (MessageUnpacker unpacker = MessagePack.newDefaultUnpacker(in)) {
+            while (unpacker.hasNext()) {
+                unpacker.unpackArrayHeader();
+                int tag = unpacker.unpackInt();
+                if (tag == TRACE_RECORD || tag == RESULTS_RECORD) {
+                    int fields = unpacker.unpackArrayHeader();
+                    // Both records start with the VM state and the GAS consumed so far.
+                    unpacker.skipValue();
+                    long gas = unpacker.unpackLong();
+                    if (previousFrames != null) {
+                        steps.add(new TraceStep(gas - previousGas, previousFrames));
+                    }
+                    previousGas = gas;
+                    previousFrames = null;
+                    if (tag == TRACE_RECORD) {
+                        previousFrames = readFrames(unpacker);
+                        fields--;
+                    }
+                    skip(unpacker, fields - 2);
+                } else {
+                    unpacker.skipValue();
+                }
+            }
+        }
+        return steps;
+    }
+
+    private static List<TraceStep.Frame> readFrames(MessageUnpacker unpacker)
+            throws IOException {
+        int count = unpacker.unpackArrayHeader();
+        List<TraceStep.Frame> frames = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int fields = unpacker.unpackArrayHeader();
+            Hash160 scriptHash = readHash(unpacker);
+            int ip = unpacker.unpackInt();
+            skip(unpacker, fields - 2);
+            frames.add(new TraceStep.Frame(scriptHash, ip));
+        }
+        return frames;
+    }
+
+    // Hashes are written as their 20 bytes in little-endian order.
+    private static Hash160 readHash(MessageUnpacker unpacker) throws IOException {
+        MessageFormat format = unpacker.getNextFormat();
+        if (format.getValueType() == ValueType.STRING) {
+            return new Hash160(unpacker.unpackString());
+        }
+        byte[] bytes = unpacker.readPayload(unpacker.unpackBinaryHeader());
+        return new Hash160(ArrayUtils.reverseArray(bytes));
+    }
+
+    private static void skip(MessageUnpacker unpacker, int values) throws IOException {
+        for (int i = 0; i < values; i++) {
+            unpacker.skipValue();
+        }
+    }
+
+}
@@ -0,0 +1,32 @@
+package com.ob.profiler;
+
+import io.neow3j.types.Hash160;
+
+import java.util.List;
+
+/**
+ * An executed instruction and the GAS it consumed.
+ */
+class TraceStep {
+
+    // The GAS in fractions that the instruction consumed, including the syscall it may invoke.
+    final long gas;
+    // The invocation stack, starting with the context of the executed instruction.
+    final List<Frame> frames;
+
+    TraceStep(long gas, List<Frame> frames) {
+        this.gas = gas;
+        this.frames = frames;
+    }
+
+    static class Frame {
+        final Hash160 scriptHash;
+        final int ip;
+
+        Frame(Hash160 scriptHash, int ip) {
+            this.scriptHash = scriptHash;
+            this.ip = ip;
+        }
+    }
+
+}
@@ -0,0 +1,114 @@
+package com.ob.profiler;
+
+import io.neow3j.types.Hash160;
+import io.neow3j.utils.ArrayUtils;
+import org.junit.jupiter.api.Test;
+import org.msgpack.core.MessageBufferPacker;
+import org.msgpack.core.MessagePack;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static java.util.Collections.singletonList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+public class GasProfileTest {
+
+    private static final Hash160 CONTRACT =
+            new Hash160("0x0102030405060708090a0b0c0d0e0f1011121314");
+    private static final Hash160 ENTRY_SCRIPT =
+            new Hash160("0xa1a2a3a4a5a6a7a8a9aaabacadaeafb0b1b2b3b4");
+
+    private static final String DEBUG_INFO = "{"
+            + "\"hash\": \"" + CONTRACT + "\","
+            + "\"documents\": [\"src/main/java/com/ob/GovernanceContract.java\"],"
+            + "\"methods\": ["
+            + "  {\"id\": \"0\", \"name\": \"com.ob.GovernanceContract,getProposal\","
+            + "   \"range\": \"0-20\","
+            + "   \"sequence-points\": [\"0[0]10:5-10:20\", \"5[0]11:5-11:30\"]},"
+            + "  {\"id\": \"1\", \"name\": \"com.ob.GovernanceContract,getProposalRecord\","
+            + "   \"range\": \"21-40\","
+            + "   \"sequence-points\": [\"23[0]30:9-30:40\"]}"
+            + "]}";
+
+    @Test
+    public void testMapInstructionsToLines() throws IOException {
+        DebugInfo debugInfo = readDebugInfo();
+        assertThat(debugInfo.getScriptHash(), is(CONTRACT));
+        assertThat(debugInfo.getContractName(), is("GovernanceContract"));
+        assertThat(debugInfo.getLocation(0).line, is(10));
+        assertThat(debugInfo.getLocation(4).line, is(10));
+        assertThat(debugInfo.getLocation(5).line, is(11));
+        assertThat(debugInfo.getLocation(20).line, is(11));
+        // Instructions before the first sequence point of a method belong to no line.
+        assertThat(debugInfo.getLocation(22).line, is(0));
+        assertThat(debugInfo.getLocation(22).method, is("getProposalRecord"));
+        assertThat(debugInfo.getLocation(24).line, is(30));
+        assertThat(debugInfo.getLocation(41), is(nullValue()));
+    }
+
+    @Test
+    public void testAttributeGasToLinesAndStacks() throws IOException {
+        MessageBufferPacker packer = MessagePack.newDefaultBufferPacker();
+        packTrace(packer, 0, frame(CONTRACT, 0), frame(ENTRY_SCRIPT, 10));
+        packTrace(packer, 100, frame(CONTRACT, 5), frame(ENTRY_SCRIPT, 10));
+        // A call from line 11 into getProposalRecord.
+        packTrace(packer, 150, frame(CONTRACT, 24), frame(CONTRACT, 6),
+                frame(ENTRY_SCRIPT, 10));
+        // A notification, which is skipped.
+        packer.packArrayHeader(2).packInt(1).packArrayHeader(1).packString("event");
+        packTrace(packer, 1150, frame(CONTRACT, 7), frame(ENTRY_SCRIPT, 10));
+        packer.packArrayHeader(2).packInt(TraceReader.RESULTS_RECORD).packArrayHeader(3)
+                .packInt(1).packLong(1200).packArrayHeader(0);
+
+        List<TraceStep> steps = TraceReader.read(new ByteArrayInputStream(packer.toByteArray()));
+        assertThat(steps, hasSize(4));
+
+        GasProfile profile = new GasProfile(steps, singletonList(readDebugInfo()));
+        assertThat(profile.getTotalGas(), is(1200L));
+        assertThat(profile.getGasByLine().get("GovernanceContract.java:10 (getProposal)"),
+                is(100L));
+        assertThat(profile.getGasByLine().get("GovernanceContract.java:11 (getProposal)"),
+                is(100L));
+        assertThat(profile.getGasByLine().get("GovernanceContract.java:30 (getProposalRecord)"),
+                is(1000L));
+
+        StringWriter folded = new StringWriter();
+        profile.writeFoldedStacks(new PrintWriter(folded));
+        assertThat(folded.toString(), containsString(ENTRY_SCRIPT
+                + ";GovernanceContract.java:11_(getProposal)"
+                + ";GovernanceContract.java:30_(getProposalRecord) 1000"));
+    }
+
+    private static DebugInfo readDebugInfo() throws IOException {
+        return DebugInfo.readJson(
+                new ByteArrayInputStream(DEBUG_INFO.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static TraceStep.Frame frame(Hash160 scriptHash, int ip) {
+        return new TraceStep.Frame(scriptHash, ip);
+    }
+
+    private static void packTrace(MessageBufferPacker packer, long gas,
+            TraceStep.Frame... frames) throws IOException {
+        packer.packArrayHeader(2).packInt(TraceReader.TRACE_RECORD);
+        packer.packArrayHeader(3).packInt(1).packLong(gas).packArrayHeader(frames.length);
+        for (TraceStep.Frame frame : frames) {
+            byte[] hash = ArrayUtils.reverseArray(frame.scriptHash.toArray());
+            packer.packArrayHeader(4)
+                    .packBinaryHeader(hash.length).writePayload(hash)
+                    .packInt(frame.ip)
+                    .packBoolean(false)
+                    .packArrayHeader(0);
+        }
+    }
+
+}
@@ -7,10 +7,9 @@ import io.neow3j.devpack.Contract;
 import io.neow3j.devpack.Hash160;
 import io.neow3j.devpack.Iterator;
 import io.neow3j.devpack.List;
+import io.neow3j.devpack.Map;
 import io.neow3j.devpack.Runtime;
 import io.neow3j.devpack.Storage;
-import io.neow3j.devpack.StorageContext;
-import io.neow3j.devpack.StorageMap;
 import io.neow3j.devpack.annotations.DisplayName;
 import io.neow3j.devpack.annotations.ManifestExtra;
 import io.neow3j.devpack.annotations.OnDeployment;
@@ -19,7 +18,10 @@ import io.neow3j.devpack.annotations.Safe;
 import io.neow3j.devpack.StringLiteralHelper;
 import io.neow3j.devpack.constants.CallFlags;
 import io.neow3j.devpack.constants.FindOptions;
+import io.neow3j.devpack.contracts.ContractManagement;
+import io.neow3j.devpack.contracts.CryptoLib;
 import io.neow3j.devpack.contracts.LedgerContract;
+import io.neow3j.devpack.contracts.StdLib;
 import io.neow3j.devpack.events.Event1Arg;
 import io.neow3j.devpack.events.Event2Args;
 import io.neow3j.devpack.events.Event3Args;
@@ -30,31 +32,58 @@ import io.neow3j.devpack.events.Event5Args;
 @Permission(contract = "*", methods = "*")
 public class GovernanceContract {
 
-    static final byte[] MEME_CONTRACT_KEY = new byte[]{0x01};
     static final int REMOVE = 0;
     static final int CREATE = 1;
     static final int VOTING_TIME = 10;
     static final int MIN_VOTES_IN_FAVOR = 3;
     static final int MAX_GET_PROPOSALS = 100;
-    static final byte PROPOSAL_PREFIX = 2; // prefix for proposal map
-    // The "pre-prefix" for the voter map. Is combined with the memeId for a map prefix.
-    static final byte VOTER_MAP_PREPREFIX = 3; 
-
-    static final StorageContext ctx = Storage.getStorageContext();
-    static final StorageMap contractMap = ctx.createMap((byte) 1);
-    static final StorageMap proposalTypeMap = ctx.createMap(PROPOSAL_PREFIX);
-    static final StorageMap voteCountMap = ctx.createMap((byte) 4);
-    static final StorageMap voteForMap = ctx.createMap((byte) 5);
-    static final StorageMap voteAgainstMap = ctx.createMap((byte) 6);
-    static final Hash160 memecontract = StringLiteralHelper.addressToScriptHash("a979e6b19e77f949f84cb69eb16c5dc0abe4cf91");
+    static final int MAX_EXECUTE_EXPIRED = 50;
+    // The maximum number of 256-block buckets of the finalization index that are read per page.
+    static final int MAX_SCAN_BUCKETS = 16;
+    static final int MAX_MIGRATE_PROPOSALS = 50;
 
-    // Memes data
-    static final StorageMap descriptionMap = ctx.createMap((byte) 7);
-    static final StorageMap urlMap = ctx.createMap((byte) 8);
-    static final StorageMap imgHashMap = ctx.createMap((byte) 9);
+    // Storage is accessed with raw keys made of one of the following prefixes and the meme id.
+    // The prefixes are compile-time constants, such that no storage maps need to be built when
+    // the contract is invoked.
+    static final byte CONTRACT_PREFIX = 1;
+    static final byte PROPOSAL_PREFIX = 2; // prefix for the legacy proposal type map
+    // The "pre-prefix" for the legacy voter map. Is combined with the memeId for a map prefix.
+    // Still used for proposals with epoch 0, i.e., proposals migrated from the legacy layout.
+    static final byte VOTER_MAP_PREPREFIX = 3; 
+    // Legacy proposal layout with one map per field. Only read when migrating to proposal records.
+    static final byte VOTE_COUNT_PREFIX = 4;
+    static final byte VOTE_FOR_PREFIX = 5;
+    static final byte VOTE_AGAINST_PREFIX = 6;
+    static final byte DESCRIPTION_PREFIX = 7;
+    static final byte URL_PREFIX = 8;
+    static final byte IMG_HASH_PREFIX = 9;
+    static final byte FINALIZATION_PREFIX = 10;
+    // Links between proposals in insertion order. Used to page through proposals without a full
+    // scan.
+    static final byte NEXT_PROPOSAL_PREFIX = 11;
+    static final byte PREV_PROPOSAL_PREFIX = 12;
+    static final byte PROPOSAL_RECORD_PREFIX = 13; // prefix for the packed proposal records
+    // The "pre-prefix" for the voter map. Is combined with the epoch for a map prefix. Epochs are
+    // unique over all proposals, so the meme id is not part of the voter keys.
+    static final byte EPOCH_VOTER_MAP_PREPREFIX = 14;
+    // Index of the proposals ordered by their finalization block. The keys consist of the
+    // finalization block in big-endian order followed by the ripemd160 hash of the meme id, such
+    // that keys stay below the maximum key size for any meme id. The values are the meme ids.
+    static final byte FINALIZATION_INDEX_PREFIX = 15;
+    // Maps the image hash of a creation proposal to its meme id.
+    static final byte IMG_HASH_INDEX_PREFIX = 16;
 
-    // Stores the vote deadline block number for proposals. 
-    static final StorageMap finalizationMap = ctx.createMap((byte) 10);
+    // Keys under the contract prefix.
+    // Keys of the first and last proposal in the insertion-ordered proposal list.
+    static final byte FIRST_PROPOSAL_KEY = 0x02;
+    static final byte LAST_PROPOSAL_KEY = 0x03;
+    // Key of the last epoch that was assigned to a proposal round.
+    static final byte EPOCH_KEY = 0x04;
+    // Key of the number of stored proposals.
+    static final byte PROPOSAL_COUNT_KEY = 0x05;
+    // Key of the highest epoch whose vote has ended for sure. The voters of the epochs up to it
+    // are no longer read and can be pruned.
+    static final byte ENDED_EPOCH_KEY = 0x06;
 
     @DisplayName("deployEvent")
     private static Event1Arg<Hash160> onDeploy;
@@ -67,12 +96,110 @@ public class GovernanceContract {
     public static void deploy(Object data, boolean update) throws Exception {
         if (!update) {
         
-            boolean isInitialized = (boolean) Contract.call(memecontract, "initialize", CallFlags.All, new Object[]{});
+            boolean isInitialized = (boolean) Contract.call(getMemeContract(), "initialize",
+                    CallFlags.All, new Object[]{});
             if (isInitialized) {
                 
             } else {
                 throw new Exception("Could not initialize.");
             }
+        } else {
+            // The count includes the proposals that are already stored in records. Each migrated
+            // proposal is added to it.
+            if (get(createKey(CONTRACT_PREFIX, PROPOSAL_COUNT_KEY)) == null) {
+                put(createKey(CONTRACT_PREFIX, PROPOSAL_COUNT_KEY), countProposals());
+            }
+            migrateLegacyProposals(MAX_MIGRATE_PROPOSALS);
+        }
+    }
+
+    private static int countProposals() {
+        Iterator<ByteString> iterator = Storage.find(Storage.getReadOnlyContext(),
+                toByteArray(PROPOSAL_RECORD_PREFIX), FindOptions.KeysOnly);
+        int count = 0;
+        while (iterator.next()) {
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Updates this contract. Is permitted to the admin of the MemeContract.
+     */
+    public static void update(ByteString script, String manifest) throws Exception {
+        Hash160 admin = (Hash160) Contract.call(getMemeContract(), "getAdmin", CallFlags.ReadOnly,
+                new Object[] {});
+        if (!Runtime.checkWitness(admin)) {
+            throw new Exception("No authorization.");
+        }
+        ContractManagement.update(script, manifest);
+    }
+
+    /**
+     * Moves proposals stored in the legacy layout, with one map per field, into single proposal
+     * records.
+     * <p>
+     * A bounded number of proposals is migrated when the contract is updated. The remaining
+     * proposals can be migrated by anyone with this method, until it returns 0. Until then, no
+     * new proposal can be made for the meme ids of the remaining proposals.
+     *
+     * @param maxCount the maximum number of proposals to migrate. Is capped at
+     *                 {@link GovernanceContract#MAX_MIGRATE_PROPOSALS}.
+     * @return the number of migrated proposals.
+     */
+    public static int migrateLegacyProposals(int maxCount) {
+        if (maxCount <= 0 || maxCount > MAX_MIGRATE_PROPOSALS) {
+            maxCount = MAX_MIGRATE_PROPOSALS;
+        }
+        Iterator<Iterator.Struct<ByteString, ByteString>> iterator =
+                Storage.find(Storage.getReadOnlyContext(), toByteArray(PROPOSAL_PREFIX),
+                        FindOptions.RemovePrefix);
+        int count = 0;
+        while (count < maxCount && iterator.next()) {
+            Iterator.Struct<ByteString, ByteString> pair = iterator.get();
+            String memeId = pair.key.toString();
+            int type = pair.value.toInt();
+            String description = null;
+            String url = null;
+            ByteString imageHash = null;
+            if (type == CREATE) {
+                description = get(createKey(DESCRIPTION_PREFIX, memeId)).toString();
+                url = get(createKey(URL_PREFIX, memeId)).toString();
+                imageHash = get(createKey(IMG_HASH_PREFIX, memeId));
+            }
+            // Epoch 0 keeps the legacy voter map, such that existing votes stay valid.
+            int finalization = getInt(createKey(FINALIZATION_PREFIX, memeId));
+            putProposalRecord(memeId, new ProposalRecord(type, 0, finalization,
+                    getInt(createKey(VOTE_COUNT_PREFIX, memeId)),
+                    getInt(createKey(VOTE_FOR_PREFIX, memeId)),
+                    getInt(createKey(VOTE_AGAINST_PREFIX, memeId)), description, url, imageHash));
+            put(createFinalizationIndexKey(finalization, memeId), memeId);
+            if (type == CREATE) {
+                put(createKey(IMG_HASH_INDEX_PREFIX, imageHash), memeId);
+            }
+            if (!isProposalLinked(memeId)) {
+                linkProposal(memeId);
+            }
+
+            delete(createKey(PROPOSAL_PREFIX, memeId));
+            delete(createKey(FINALIZATION_PREFIX, memeId));
+            delete(createKey(VOTE_COUNT_PREFIX, memeId));
+            delete(createKey(VOTE_FOR_PREFIX, memeId));
+            delete(createKey(VOTE_AGAINST_PREFIX, memeId));
+            delete(createKey(DESCRIPTION_PREFIX, memeId));
+            delete(createKey(URL_PREFIX, memeId));
+            delete(createKey(IMG_HASH_PREFIX, memeId));
+            count++;
+        }
+        if (count > 0) {
+            changeProposalCountBy(count);
+        }
+        return count;
+    }
+
+    private static void throwIfNotMigrated(String memeId) throws Exception {
+        if (get(createKey(PROPOSAL_PREFIX, memeId)) != null) {
+            throw new Exception("The legacy proposal for this meme id has to be migrated first.");
         }
     }
 
@@ -81,7 +208,7 @@ public class GovernanceContract {
      */
     @Safe
     public static Hash160 getMemeContract() {
-        return memecontract;
+        return StringLiteralHelper.addressToScriptHash("a979e6b19e77f949f84cb69eb16c5dc0abe4cf91");
     }
 
     /**
@@ -100,6 +227,14 @@ public class GovernanceContract {
         return MIN_VOTES_IN_FAVOR;
     }
 
+    /**
+     * Gets the number of proposals that are stored, i.e., that were not executed yet.
+     */
+    @Safe
+    public static int getProposalCount() {
+        return getInt(createKey(CONTRACT_PREFIX, PROPOSAL_COUNT_KEY));
+    }
+
     @DisplayName("CreationProposal")
     private static Event5Args<String, String, String, ByteString, Integer> onCreationProposal;
 
@@ -109,7 +244,8 @@ public class GovernanceContract {
      * @param description the description of the meme.
      * @param url the url of the meme.
      * @param imageHash the sha256 hash of the image.
-     * @throws Exception if this meme id already exists.
+     * @throws Exception if this meme id already exists or if there is a meme or an ongoing or
+     *                   accepted proposal with the same image.
      */
     public static void proposeNewMeme(String memeId, String description, String url,
             ByteString imageHash) throws Exception {
@@ -117,18 +253,25 @@ public class GovernanceContract {
             throw new Exception("There already exists a meme with this id. Propose and execute "
                     + "its removal before you can create a proposal for a new meme with this id.");
         }
-        handleExistingProposal(memeId);
+        throwIfNotMigrated(memeId);
+        ProposalRecord existing = getProposalRecord(memeId);
+        handleExistingProposal(existing);
+        throwIfImageIsTaken(memeId, imageHash);
 
-        proposalTypeMap.put(memeId, CREATE);
-        descriptionMap.put(memeId, description);
-        urlMap.put(memeId, url);
-        imgHashMap.put(memeId, imageHash);
+        if (existing == null) {
+            linkProposal(memeId);
+            changeProposalCountBy(1);
+        } else {
+            delete(createFinalizationIndexKey(existing.finalizationBlock, memeId));
+            unindexImageHash(memeId, existing);
+            endEpoch(existing);
+        }
         // The current index is the index of the block that was created last.
         int finalization = LedgerContract.currentIndex() + getVotingTime();
-        finalizationMap.put(memeId, finalization);
-        voteCountMap.put(memeId, 0);
-        voteForMap.put(memeId, 0);
-        voteAgainstMap.put(memeId, 0);
+        put(createKey(IMG_HASH_INDEX_PREFIX, imageHash), memeId);
+        putProposalRecord(memeId, new ProposalRecord(CREATE, nextEpoch(), finalization, 0, 0, 0,
+                description, url, imageHash));
+        put(createFinalizationIndexKey(finalization, memeId), memeId);
         onCreationProposal.fire(memeId, description, url, imageHash, finalization);
     }
 
@@ -144,43 +287,76 @@ public class GovernanceContract {
         if (!memeExists(memeId)) {
             throw new Exception("No meme with the provided id exists.");
         }
-        handleExistingProposal(memeId);
+        throwIfNotMigrated(memeId);
+        ProposalRecord existing = getProposalRecord(memeId);
+        handleExistingProposal(existing);
 
+        if (existing == null) {
+            linkProposal(memeId);
+            changeProposalCountBy(1);
+        } else {
+            delete(createFinalizationIndexKey(existing.finalizationBlock, memeId));
+            unindexImageHash(memeId, existing);
+            endEpoch(existing);
+        }
         int currentIndex = LedgerContract.currentIndex();
-        proposalTypeMap.put(memeId, REMOVE);
         int finalization = currentIndex + getVotingTime();
-        finalizationMap.put(memeId, finalization);
-        voteCountMap.put(memeId, 0);
-        voteForMap.put(memeId, 0);
-        voteAgainstMap.put(memeId, 0);
+        putProposalRecord(memeId, new ProposalRecord(REMOVE, nextEpoch(), finalization, 0, 0, 0,
+                null, null, null));
+        put(createFinalizationIndexKey(finalization, memeId), memeId);
         onRemovalProposal.fire(memeId, finalization);
     }
 
     private static boolean memeExists(String memeId) {
-        try {
-            Contract.call(getMemeContract(), "getMeme", CallFlags.ReadOnly, new Object[] {memeId});
-        } catch (Exception e) {
-            return false;
+        return (boolean) Contract.call(getMemeContract(), "exists", CallFlags.ReadOnly,
+                new Object[] {memeId});
+    }
+
+    private static void throwIfImageIsTaken(String memeId, ByteString imageHash)
+            throws Exception {
+        String existingMemeId = (String) Contract.call(getMemeContract(), "findByImageHash",
+                CallFlags.ReadOnly, new Object[] {imageHash});
+        if (existingMemeId != null) {
+            throw new Exception("There already exists a meme with this image.");
+        }
+        ByteString proposedMemeId = get(createKey(IMG_HASH_INDEX_PREFIX, imageHash));
+        if (proposedMemeId != null && !memeId.equals(proposedMemeId.toString())) {
+            ProposalRecord proposal = getProposalRecord(proposedMemeId.toString());
+            if (isVoteInProgress(proposal) || isAccepted(proposal)) {
+                throw new Exception("There already exists a proposal for a meme with this image.");
+            }
         }
-        return true;
     }
 
-    private static void handleExistingProposal(String memeId) throws Exception {
-        if (proposalTypeMap.get(memeId) != null) {
-            if (isVoteInProgress(memeId)) {
+    /**
+     * Removes the image hash of a creation proposal from the index, unless another proposal with
+     * the same image has taken over the index entry in the meantime.
+     */
+    private static void unindexImageHash(String memeId, ProposalRecord proposal) {
+        if (proposal.type != CREATE) {
+            return;
+        }
+        ByteString indexedMemeId = get(createKey(IMG_HASH_INDEX_PREFIX, proposal.imageHash));
+        if (indexedMemeId != null && memeId.equals(indexedMemeId.toString())) {
+            delete(createKey(IMG_HASH_INDEX_PREFIX, proposal.imageHash));
+        }
+    }
+
+    private static void handleExistingProposal(ProposalRecord proposal) throws Exception {
+        if (proposal != null) {
+            if (isVoteInProgress(proposal)) {
                 throw new Exception("A proposal is still ongoing for this meme id.");
             }
-            if (isAccepted(memeId)) {
+            if (isAccepted(proposal)) {
                 throw new Exception("This proposal was accepted and needs to be executed "
                         + "before creating a new proposal for this meme id.");
             }
         }
     }
 
-    private static boolean isAccepted(String memeId) {
-        int votesFor = voteForMap.getInteger(memeId);
-        int votesAgainst = voteAgainstMap.getInteger(memeId);
-        return votesFor > votesAgainst && votesFor >= MIN_VOTES_IN_FAVOR;
+    private static boolean isAccepted(ProposalRecord proposal) {
+        return proposal.votesFor > proposal.votesAgainst
+                && proposal.votesFor >= MIN_VOTES_IN_FAVOR;
     }
 
     @DisplayName("Vote")
@@ -194,37 +370,168 @@ public class GovernanceContract {
      * @param inFavor whether voting in favor of the proposal or against.
      */
     public static void vote(String memeId, Hash160 voter, boolean inFavor) throws Exception {
-        if (!Runtime.checkWitness(voter)) {
-            throw new Exception("No valid signature for the provided voter.");
+        ProposalRecord proposal = getProposalRecord(memeId);
+        if (proposal == null) {
+            throw new Exception("No proposal found.");
+        }
+        if (!isVoteInProgress(proposal)) {
+            throw new Exception("The vote for this meme is no longer open.");
+        }
+
+        byte[] voterMapPrefix = createVoterMapPrefix(memeId, proposal.epoch);
+        ByteString voterByteString = recordVoter(voterMapPrefix, voter);
+
+        proposal.voteCount = proposal.voteCount + 1;
+        if (inFavor) {
+            proposal.votesFor = proposal.votesFor + 1;
+        } else {
+            proposal.votesAgainst = proposal.votesAgainst + 1;
+        }
+        putProposalRecord(memeId, proposal);
+        onVote.fire(memeId, voterByteString, inFavor);
+    }
+
+    /**
+     * Votes for or against the proposal of a meme on behalf of multiple voters.
+     * <p>
+     * Every voter has to sign the transaction. The vote tallies are updated once for all voters.
+     *
+     * @param memeId the id of the meme.
+     * @param voters the voters.
+     * @param inFavor whether each voter votes in favor of the proposal or against. Must have the
+     *                same length as {@code voters}.
+     */
+    public static void voteMany(String memeId, Hash160[] voters, boolean[] inFavor)
+            throws Exception {
+        if (voters.length != inFavor.length) {
+            throw new Exception("The number of voters and votes must be equal.");
         }
-        if (proposalTypeMap.get(memeId) == null) {
+        ProposalRecord proposal = getProposalRecord(memeId);
+        if (proposal == null) {
             throw new Exception("No proposal found.");
         }
-        if (!isVoteInProgress(memeId)) {
+        if (!isVoteInProgress(proposal)) {
             throw new Exception("The vote for this meme is no longer open.");
         }
 
-        StorageMap voterMap = ctx.createMap(createVoterMapPrefix(memeId));
+        byte[] voterMapPrefix = createVoterMapPrefix(memeId, proposal.epoch);
+        int votesFor = 0;
+        int votesAgainst = 0;
+        for (int i = 0; i < voters.length; i++) {
+            ByteString voterByteString = recordVoter(voterMapPrefix, voters[i]);
+            if (inFavor[i]) {
+                votesFor++;
+            } else {
+                votesAgainst++;
+            }
+            onVote.fire(memeId, voterByteString, inFavor[i]);
+        }
+
+        proposal.voteCount = proposal.voteCount + voters.length;
+        proposal.votesFor = proposal.votesFor + votesFor;
+        proposal.votesAgainst = proposal.votesAgainst + votesAgainst;
+        putProposalRecord(memeId, proposal);
+    }
+
+    private static ByteString recordVoter(byte[] voterMapPrefix, Hash160 voter)
+            throws Exception {
+        if (!Runtime.checkWitness(voter)) {
+            throw new Exception("No valid signature for the provided voter.");
+        }
         ByteString voterByteString = voter.toByteString();
-        if (voterMap.get(voterByteString) != null) {
+        byte[] voterKey = concat(voterMapPrefix, voterByteString);
+        if (get(voterKey) != null) {
             throw new Exception("Already voted.");
         }
-        voterMap.put(voterByteString, 1);
+        put(voterKey, 1);
+        return voterByteString;
+    }
 
-        int currentVotes = voteCountMap.getInteger(memeId);
-        voteCountMap.put(memeId, currentVotes + 1);
-        if (inFavor) {
-            int votesFor = voteForMap.getInteger(memeId);
-            voteForMap.put(memeId, votesFor + 1);
-        } else {
-            int votesAgainst = voteAgainstMap.getInteger(memeId);
-            voteAgainstMap.put(memeId, votesAgainst + 1);
+    private static byte[] createVoterMapPrefix(String memeId, int epoch) {
+        if (epoch == 0) {
+            return concat(toByteArray(VOTER_MAP_PREPREFIX), memeId);
         }
-        onVote.fire(memeId, voterByteString, inFavor);
+        return concat(toByteArray(EPOCH_VOTER_MAP_PREPREFIX), toFixedBytes(epoch));
     }
 
-    private static byte[] createVoterMapPrefix(String memeId) {
-        return concat(toByteArray(VOTER_MAP_PREPREFIX), memeId);
+    /**
+     * Assigns a new epoch to a proposal round. Epochs are unique over all proposals, such that
+     * the voters of a round can never be confused with the voters of an earlier round.
+     */
+    private static int nextEpoch() {
+        int epoch = getInt(createKey(CONTRACT_PREFIX, EPOCH_KEY)) + 1;
+        put(createKey(CONTRACT_PREFIX, EPOCH_KEY), epoch);
+        return epoch;
+    }
+
+    /**
+     * Records that the vote of the proposal has ended. Is called when a proposal is cleared or
+     * replaced, which is only possible after its vote ended.
+     * <p>
+     * Epochs are assigned in order and every proposal is open for the same number of blocks. So
+     * the votes of all earlier epochs have ended as well.
+     */
+    private static void endEpoch(ProposalRecord proposal) {
+        if (proposal.epoch > getInt(createKey(CONTRACT_PREFIX, ENDED_EPOCH_KEY))) {
+            put(createKey(CONTRACT_PREFIX, ENDED_EPOCH_KEY), proposal.epoch);
+        }
+    }
+
+    /**
+     * Converts the integer to four bytes in big-endian order.
+     */
+    private static byte[] toFixedBytes(int value) {
+        byte[] bytes = new byte[4];
+        bytes[0] = (byte) ((value >> 24) & 0xff);
+        bytes[1] = (byte) ((value >> 16) & 0xff);
+        bytes[2] = (byte) ((value >> 8) & 0xff);
+        bytes[3] = (byte) (value & 0xff);
+        return bytes;
+    }
+
+    /**
+     * Deletes the voter entries of a past proposal round.
+     * <p>
+     * Voter entries are only read while the vote is in progress. Executing a proposal leaves
+     * them in storage, they are unreachable since the next proposal for the same meme id gets a
+     * new epoch. This method allows anyone to delete them in bounded chunks.
+     *
+     * @param memeId the id of the meme. Only needed for epoch 0, which holds the voters of
+     *               proposals that were migrated from the legacy layout.
+     * @param epoch the epoch of the proposal round.
+     * @param maxKeys the maximum number of voter entries to delete.
+     * @return the number of deleted voter entries.
+     * @throws Exception if the vote of the epoch may still be in progress, i.e., if neither its
+     *                   proposal nor a proposal of a later epoch was executed or replaced, or
+     *                   if the legacy proposal of the meme id is not migrated yet.
+     */
+    public static int pruneVoters(String memeId, int epoch, int maxKeys) throws Exception {
+        if (epoch == 0) {
+            // The legacy voters of a proposal that is not migrated yet are still counted.
+            throwIfNotMigrated(memeId);
+            ProposalRecord proposal = getProposalRecord(memeId);
+            if (proposal != null && proposal.epoch == 0) {
+                throw new Exception("The voters of the current proposal cannot be pruned.");
+            }
+        } else if (epoch > getInt(createKey(CONTRACT_PREFIX, ENDED_EPOCH_KEY))) {
+            throw new Exception("The voters of this epoch cannot be pruned yet.");
+        }
+        byte[] voterMapPrefix = createVoterMapPrefix(memeId, epoch);
+        // The legacy voter map prefix of a meme id is also a prefix of the voter keys of longer
+        // meme ids that start with it. Only keys made of the prefix and a voter hash belong to it.
+        int voterKeyLength = voterMapPrefix.length + 20;
+        Iterator<ByteString> iterator = (Iterator<ByteString>) Storage.find(
+                Storage.getReadOnlyContext(), voterMapPrefix, FindOptions.KeysOnly);
+        int deleted = 0;
+        while (deleted < maxKeys && iterator.next()) {
+            ByteString key = iterator.get();
+            if (key.length() != voterKeyLength) {
+                continue;
+            }
+            delete(key);
+            deleted++;
+        }
+        return deleted;
     }
 
     @DisplayName("MemeCreation")
@@ -240,25 +547,154 @@ public class GovernanceContract {
      * Executes a proposal.
      */
     public static boolean execute(String memeId) throws Exception {
-        ByteString proposalType = proposalTypeMap.get(memeId);
-        if (proposalType == null) {
+        ProposalRecord proposal = getProposalRecord(memeId);
+        if (proposal == null) {
             throw new Exception("No proposal found for this id.");
         }
-        if (isVoteInProgress(memeId)) {
+        int currentIndex = LedgerContract.currentIndex();
+        if (isVoteInProgress(proposal, currentIndex)) {
             throw new Exception("The voting timeframe for this id is still open.");
         }
-        int votesFor = voteForMap.getInteger(memeId);
-        int votesAgainst = voteAgainstMap.getInteger(memeId);
-        if (votesFor > votesAgainst && votesFor >= MIN_VOTES_IN_FAVOR) {
-            if (proposalType.toInt() == CREATE) {
-                String description = descriptionMap.get(memeId).toString();
-                String url = urlMap.get(memeId).toString();
-                ByteString imageHash = imgHashMap.get(memeId);
+        return executeProposal(memeId, proposal);
+    }
+
+    /**
+     * Executes multiple proposals.
+     * <p>
+     * Unlike {@link GovernanceContract#execute(String)}, this method does not fail on proposals
+     * that don't exist or are still open for voting. It skips them instead. It also skips ids
+     * that are repeated, since their proposal is settled by their first occurrence.
+     *
+     * @param memeIds the ids of the memes whose proposals should be executed.
+     * @return whether the proposal of each meme id was executed.
+     */
+    public static boolean[] executeMany(String[] memeIds) {
+        int currentIndex = LedgerContract.currentIndex();
+        List<String> ids = new List<>();
+        List<ProposalRecord> proposals = new List<>();
+        Map<String, Boolean> seen = new Map<>();
+        for (String memeId : memeIds) {
+            ProposalRecord proposal = null;
+            if (!seen.containsKey(memeId)) {
+                seen.put(memeId, true);
+                proposal = getProposalRecord(memeId);
+                if (proposal != null && isVoteInProgress(proposal, currentIndex)) {
+                    proposal = null;
+                }
+            }
+            ids.add(memeId);
+            proposals.add(proposal);
+        }
+        return executeProposals(ids, proposals);
+    }
+
+    /**
+     * Executes the proposals whose voting timeframe has ended, starting with the proposal that
+     * ended first.
+     *
+     * @param maxCount the maximum number of proposals to process. Is capped at
+     *                 {@link GovernanceContract#MAX_EXECUTE_EXPIRED}.
+     * @return the number of executed proposals.
+     */
+    public static int executeExpired(int maxCount) {
+        if (maxCount <= 0 || maxCount > MAX_EXECUTE_EXPIRED) {
+            maxCount = MAX_EXECUTE_EXPIRED;
+        }
+        int currentIndex = LedgerContract.currentIndex();
+        Iterator<ByteString> iterator = (Iterator<ByteString>) Storage.find(
+                Storage.getReadOnlyContext(), toByteArray(FINALIZATION_INDEX_PREFIX),
+                FindOptions.ValuesOnly);
+        List<String> ids = new List<>();
+        List<ProposalRecord> proposals = new List<>();
+        while (ids.size() < maxCount && iterator.next()) {
+            String memeId = iterator.get().toString();
+            ProposalRecord proposal = getProposalRecord(memeId);
+            // The index is ordered by finalization block, all following proposals are open too.
+            if (isVoteInProgress(proposal, currentIndex)) {
+                break;
+            }
+            ids.add(memeId);
+            proposals.add(proposal);
+        }
+        boolean[] executed = executeProposals(ids, proposals);
+        int count = 0;
+        for (boolean e : executed) {
+            if (e) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Executes the given proposals. Proposals that are null are skipped. The accepted creations
+     * and removals are each passed to the MemeContract in a single call.
+     */
+    private static boolean[] executeProposals(List<String> memeIds,
+            List<ProposalRecord> proposals) {
+        boolean[] executed = new boolean[memeIds.size()];
+        List<Meme> creations = new List<>();
+        List<Integer> creationIndices = new List<>();
+        List<String> removals = new List<>();
+        List<Integer> removalIndices = new List<>();
+        for (int i = 0; i < memeIds.size(); i++) {
+            String memeId = memeIds.get(i);
+            ProposalRecord proposal = proposals.get(i);
+            if (proposal == null) {
+                executed[i] = false;
+            } else if (!isAccepted(proposal)) {
+                onRemovingUnacceptedProposal.fire(memeId);
+                clearProposal(memeId, proposal);
+                executed[i] = true;
+            } else if (proposal.type == CREATE) {
+                creations.add(new Meme(memeId, proposal.description, proposal.url,
+                        proposal.imageHash));
+                creationIndices.add(i);
+            } else {
+                removals.add(memeId);
+                removalIndices.add(i);
+            }
+        }
+
+        if (creations.size() > 0) {
+            boolean[] created = (boolean[]) Contract.call(getMemeContract(), "createMemes",
+                    CallFlags.All, new Object[] {creations});
+            for (int j = 0; j < creations.size(); j++) {
+                int i = creationIndices.get(j);
+                if (created[j]) {
+                    Meme meme = creations.get(j);
+                    onCreation.fire(meme.id, meme.description, meme.url, meme.imageHash);
+                    clearProposal(meme.id, proposals.get(i));
+                }
+                executed[i] = created[j];
+            }
+        }
+        if (removals.size() > 0) {
+            boolean[] removed = (boolean[]) Contract.call(getMemeContract(), "removeMemes",
+                    CallFlags.All, new Object[] {removals});
+            for (int j = 0; j < removals.size(); j++) {
+                int i = removalIndices.get(j);
+                if (removed[j]) {
+                    onRemoval.fire(removals.get(j));
+                    clearProposal(removals.get(j), proposals.get(i));
+                }
+                executed[i] = removed[j];
+            }
+        }
+        return executed;
+    }
+
+    private static boolean executeProposal(String memeId, ProposalRecord proposal) {
+        if (isAccepted(proposal)) {
+            if (proposal.type == CREATE) {
+                String description = proposal.description;
+                String url = proposal.url;
+                ByteString imageHash = proposal.imageHash;
                 boolean createMeme = (boolean) Contract.call(getMemeContract(), "createMeme", CallFlags.All, 
                         new Object[] {memeId, description, url, imageHash});
                 if (createMeme) {
                     onCreation.fire(memeId, description, url, imageHash);
-                    clearProposal(memeId);
+                    clearProposal(memeId, proposal);
                     return true;
                 }
             } else {
@@ -266,66 +702,80 @@ public class GovernanceContract {
                         CallFlags.All, new Object[] {memeId});
                 if (removeMeme) {
                     onRemoval.fire(memeId);
-                    clearProposal(memeId);
+                    clearProposal(memeId, proposal);
                     return true;
                 }
             }
             return false;
         }
         onRemovingUnacceptedProposal.fire(memeId);
-        clearProposal(memeId);
+        clearProposal(memeId, proposal);
         return true;
     }
 
-    private static boolean isVoteInProgress(String memeId) {
-        int currentIndex = LedgerContract.currentIndex();
-        int finalizationBlock = finalizationMap.getInteger(memeId);
-        return currentIndex < finalizationBlock;
-    }
-
-    private static void clearProposal(String memeId) {
-        proposalTypeMap.delete(memeId);
-        finalizationMap.delete(memeId);
-        voteCountMap.delete(memeId);
-        voteForMap.delete(memeId);
-        voteAgainstMap.delete(memeId);
-        descriptionMap.delete(memeId);
-        urlMap.delete(memeId);
-        imgHashMap.delete(memeId);
-
-        // Clear voter map 
-        byte[] voterMapPrefix = createVoterMapPrefix(memeId);
-        StorageMap voterMap = ctx.createMap(voterMapPrefix);
-        Iterator<Iterator.Struct<ByteString, ByteString>> iterator =
-                Storage.find(ctx, voterMapPrefix, FindOptions.RemovePrefix);
-        while (iterator.next()) {
-            voterMap.delete(iterator.get().key);
+    private static boolean isVoteInProgress(ProposalRecord proposal) {
+        return isVoteInProgress(proposal, LedgerContract.currentIndex());
+    }
+
+    private static boolean isVoteInProgress(ProposalRecord proposal, int currentIndex) {
+        return currentIndex < proposal.finalizationBlock;
+    }
+
+    private static byte[] createFinalizationIndexKey(int finalizationBlock, String memeId) {
+        return concat(createKey(FINALIZATION_INDEX_PREFIX, toFixedBytes(finalizationBlock)),
+                CryptoLib.ripemd160(new ByteString(memeId)));
+    }
+
+    private static ProposalRecord getProposalRecord(String memeId) {
+        ByteString proposal = get(createKey(PROPOSAL_RECORD_PREFIX, memeId));
+        if (proposal == null) {
+            return null;
         }
+        return (ProposalRecord) StdLib.deserialize(proposal);
+    }
+
+    private static void putProposalRecord(String memeId, ProposalRecord proposal) {
+        put(createKey(PROPOSAL_RECORD_PREFIX, memeId), StdLib.serialize(proposal));
+    }
+
+    private static void clearProposal(String memeId, ProposalRecord proposal) {
+        unlinkProposal(memeId);
+        delete(createFinalizationIndexKey(proposal.finalizationBlock, memeId));
+        unindexImageHash(memeId, proposal);
+        endEpoch(proposal);
+        // The voter entries are left behind. They are unreachable because the next proposal for
+        // this meme id gets a new epoch, and can be deleted with pruneVoters.
+        delete(createKey(PROPOSAL_RECORD_PREFIX, memeId));
+        changeProposalCountBy(-1);
+    }
+
+    private static void changeProposalCountBy(int amount) {
+        put(createKey(CONTRACT_PREFIX, PROPOSAL_COUNT_KEY), getProposalCount() + amount);
     }
 
     /**
      * Gets the proposal for the specified meme id.
      */
     @Safe
-    public static Proposal getProposal(String memeId) {
-        boolean create = proposalTypeMap.getInteger(memeId) == CREATE;
-        boolean voteInProgress = isVoteInProgress(memeId);
-        int finalizationBlock = finalizationMap.getInteger(memeId);
-        int votesInFavor = voteForMap.getInteger(memeId);
-        int votesAgainst = voteAgainstMap.getInteger(memeId);
-
-        if (create) {
-            String description = descriptionMap.get(memeId).toString();
-            String url = urlMap.get(memeId).toString();
-            ByteString imageHash = imgHashMap.get(memeId);
-            Meme meme = new Meme(memeId, description, url, imageHash);
-            return new Proposal(meme, true, voteInProgress, finalizationBlock, votesInFavor,
-                    votesAgainst);
+    public static Proposal getProposal(String memeId) throws Exception {
+        ProposalRecord proposal = getProposalRecord(memeId);
+        if (proposal == null) {
+            throw new Exception("No proposal found for this id.");
+        }
+        return toProposal(memeId, proposal);
+    }
+
+    private static Proposal toProposal(String memeId, ProposalRecord proposal) {
+        boolean voteInProgress = isVoteInProgress(proposal);
+        if (proposal.type == CREATE) {
+            Meme meme = new Meme(memeId, proposal.description, proposal.url, proposal.imageHash);
+            return new Proposal(meme, true, voteInProgress, proposal.finalizationBlock,
+                    proposal.votesFor, proposal.votesAgainst, proposal.epoch);
         } else {
             Meme meme = (Meme) Contract.call(getMemeContract(), "getMeme", CallFlags.ReadOnly,
                     new Object[] {memeId});
-            return new Proposal(meme, false, voteInProgress, finalizationBlock, votesInFavor,
-                    votesAgainst);
+            return new Proposal(meme, false, voteInProgress, proposal.finalizationBlock,
+                    proposal.votesFor, proposal.votesAgainst, proposal.epoch);
         }
     }
 
@@ -337,10 +787,12 @@ public class GovernanceContract {
         int finalIndex = startingIndex + MAX_GET_PROPOSALS;
         List<Proposal> proposals = new List<>();
         Iterator<Iterator.Struct<ByteString, ByteString>> iterator =
-                Storage.find(ctx, toByteArray(PROPOSAL_PREFIX), FindOptions.RemovePrefix);
+                Storage.find(Storage.getReadOnlyContext(), toByteArray(PROPOSAL_RECORD_PREFIX),
+                        FindOptions.RemovePrefix);
         int i = 0;
         while (iterator.next()) {
             if (i < startingIndex) {
+                i++;
                 continue;
             }
             if (i == finalIndex) {
@@ -348,11 +800,359 @@ public class GovernanceContract {
             }
             Iterator.Struct<ByteString, ByteString> pair = iterator.get();
             String memeId = pair.key.toString();
-            Proposal proposal = getProposal(memeId);
-            proposals.add(proposal);
+            ProposalRecord record = (ProposalRecord) StdLib.deserialize(pair.value);
+            proposals.add(toProposal(memeId, record));
             i++;
         }
         return proposals;
     }
 
+    /**
+     * Gets an iterator over all proposals, ordered by meme id. Each entry has the meme id as key
+     * and the stored proposal record as value.
+     * <p>
+     * Unlike {@link GovernanceContract#getProposals(int)} the proposals are not collected in the
+     * contract, so all proposals can be read through an RPC session without paging. The records
+     * of removal proposals do not include the meme, which can be fetched from the MemeContract.
+     */
+    @Safe
+    public static Iterator<Iterator.Struct<ByteString, ProposalRecord>> proposalsIterator() {
+        return Storage.find(Storage.getReadOnlyContext(), toByteArray(PROPOSAL_RECORD_PREFIX),
+                (byte) (FindOptions.RemovePrefix | FindOptions.DeserializeValues));
+    }
+
+    /**
+     * Gets the proposals that were created after the proposal with the given meme id, in order of
+     * creation.
+     * <p>
+     * Use the returned cursor as {@code lastMemeId} to fetch the next page. The storage lookup
+     * starts directly at the cursor, so the cost of a page does not depend on its position.
+     *
+     * @param lastMemeId the meme id of the last proposal of the previous page or null to start
+     *                   with the first proposal.
+     * @param limit      the maximum number of proposals to return. Is capped at
+     *                   {@link GovernanceContract#MAX_GET_PROPOSALS}.
+     * @return the proposals and the cursor for the next page. The cursor is null if there are no
+     * more proposals.
+     */
+    @Safe
+    public static ProposalPage getProposalsAfter(String lastMemeId, int limit) throws Exception {
+        if (limit <= 0 || limit > MAX_GET_PROPOSALS) {
+            limit = MAX_GET_PROPOSALS;
+        }
+        ByteString memeId;
+        if (lastMemeId == null) {
+            memeId = get(createKey(CONTRACT_PREFIX, FIRST_PROPOSAL_KEY));
+        } else {
+            if (get(createKey(PROPOSAL_RECORD_PREFIX, lastMemeId)) == null) {
+                throw new Exception("No proposal found for this id.");
+            }
+            memeId = get(createKey(NEXT_PROPOSAL_PREFIX, lastMemeId));
+        }
+        List<Proposal> proposals = new List<>();
+        String cursor = null;
+        while (memeId != null && proposals.size() < limit) {
+            String id = memeId.toString();
+            proposals.add(getProposal(id));
+            cursor = id;
+            memeId = get(createKey(NEXT_PROPOSAL_PREFIX, id));
+        }
+        if (memeId == null) {
+            cursor = null;
+        }
+        return new ProposalPage(proposals, cursor, 0);
+    }
+
+    private static void linkProposal(String memeId) {
+        ByteString last = get(createKey(CONTRACT_PREFIX, LAST_PROPOSAL_KEY));
+        if (last == null) {
+            put(createKey(CONTRACT_PREFIX, FIRST_PROPOSAL_KEY), memeId);
+        } else {
+            put(createKey(NEXT_PROPOSAL_PREFIX, last), memeId);
+            put(createKey(PREV_PROPOSAL_PREFIX, memeId), last);
+        }
+        put(createKey(CONTRACT_PREFIX, LAST_PROPOSAL_KEY), memeId);
+    }
+
+    private static boolean isProposalLinked(String memeId) {
+        return get(createKey(PREV_PROPOSAL_PREFIX, memeId)) != null
+                || new ByteString(memeId).equals(
+                        get(createKey(CONTRACT_PREFIX, FIRST_PROPOSAL_KEY)));
+    }
+
+    private static void unlinkProposal(String memeId) {
+        ByteString prev = get(createKey(PREV_PROPOSAL_PREFIX, memeId));
+        ByteString next = get(createKey(NEXT_PROPOSAL_PREFIX, memeId));
+        if (prev == null) {
+            if (next == null) {
+                delete(createKey(CONTRACT_PREFIX, FIRST_PROPOSAL_KEY));
+            } else {
+                put(createKey(CONTRACT_PREFIX, FIRST_PROPOSAL_KEY), next);
+            }
+        } else {
+            if (next == null) {
+                delete(createKey(NEXT_PROPOSAL_PREFIX, prev));
+            } else {
+                put(createKey(NEXT_PROPOSAL_PREFIX, prev), next);
+            }
+        }
+        if (next == null) {
+            if (prev == null) {
+                delete(createKey(CONTRACT_PREFIX, LAST_PROPOSAL_KEY));
+            } else {
+                put(createKey(CONTRACT_PREFIX, LAST_PROPOSAL_KEY), prev);
+            }
+        } else {
+            if (prev == null) {
+                delete(createKey(PREV_PROPOSAL_PREFIX, next));
+            } else {
+                put(createKey(PREV_PROPOSAL_PREFIX, next), prev);
+            }
+        }
+        delete(createKey(NEXT_PROPOSAL_PREFIX, memeId));
+        delete(createKey(PREV_PROPOSAL_PREFIX, memeId));
+    }
+
+    /**
+     * Gets the proposals that are still open for voting, ordered by their finalization block.
+     * <p>
+     * Open proposals end within the next {@link GovernanceContract#VOTING_TIME} blocks. Only the
+     * entries of the finalization index for these blocks are read.
+     *
+     * @param lastMemeId the meme id of the last proposal of the previous page or null to start
+     *                   with the proposal that ends first.
+     * @param limit      the maximum number of proposals to return. Is capped at
+     *                   {@link GovernanceContract#MAX_GET_PROPOSALS}.
+     * @return the proposals and the cursor for the next page. The cursor is null if there are no
+     * more proposals.
+     */
+    @Safe
+    public static ProposalPage getOpenProposals(String lastMemeId, int limit) throws Exception {
+        if (limit <= 0 || limit > MAX_GET_PROPOSALS) {
+            limit = MAX_GET_PROPOSALS;
+        }
+        int currentIndex = LedgerContract.currentIndex();
+        int block = currentIndex + 1;
+        String skipUntil = null;
+        if (lastMemeId != null) {
+            ProposalRecord last = getProposalRecord(lastMemeId);
+            if (last == null) {
+                throw new Exception("No proposal found for this id.");
+            }
+            if (last.finalizationBlock >= block) {
+                block = last.finalizationBlock;
+                skipUntil = lastMemeId;
+            }
+        }
+
+        List<Proposal> proposals = new List<>();
+        String cursor = null;
+        boolean more = false;
+        while (!more && block <= currentIndex + VOTING_TIME) {
+            Iterator<ByteString> iterator = (Iterator<ByteString>) Storage.find(
+                    Storage.getReadOnlyContext(),
+                    createKey(FINALIZATION_INDEX_PREFIX, toFixedBytes(block)),
+                    FindOptions.ValuesOnly);
+            while (iterator.next()) {
+                String memeId = iterator.get().toString();
+                if (skipUntil != null) {
+                    if (memeId.equals(skipUntil)) {
+                        skipUntil = null;
+                    }
+                    continue;
+                }
+                if (proposals.size() == limit) {
+                    more = true;
+                    break;
+                }
+                proposals.add(toProposal(memeId, getProposalRecord(memeId)));
+                cursor = memeId;
+            }
+            skipUntil = null;
+            block++;
+        }
+        if (!more) {
+            cursor = null;
+        }
+        return new ProposalPage(proposals, cursor, 0);
+    }
+
+    /**
+     * Gets the proposals whose voting timeframe ended at or before the given block, ordered by
+     * their finalization block.
+     * <p>
+     * Expired proposals stay in the finalization index until they are executed. The first page is
+     * read from the start of the index. The following pages start at the finalization block of
+     * the cursor or at {@code fromBlock}, the index is read in buckets of 256 blocks for that. At
+     * most {@link GovernanceContract#MAX_SCAN_BUCKETS} buckets are read per call, so a page may
+     * hold fewer proposals than the limit even if more follow. The finalization block of each
+     * entry is taken from its key, only the returned proposals are deserialized.
+     * <p>
+     * The next page is read with the {@code nextBlock} and the {@code nextCursor} of the page. If
+     * both are unset, i.e., 0 and null, there are no more proposals.
+     *
+     * @param fromBlock  the first finalization block to include if there is no cursor. 0 to start
+     *                   with the proposal that ended first.
+     * @param uptoBlock  the last finalization block to include. Is capped at the current block.
+     * @param lastMemeId the meme id of the last proposal of the previous page or null to start
+     *                   at {@code fromBlock}.
+     * @param limit      the maximum number of proposals to return. Is capped at
+     *                   {@link GovernanceContract#MAX_GET_PROPOSALS}.
+     * @return the proposals and where the next page starts.
+     */
+    @Safe
+    public static ProposalPage getExpiredProposals(int fromBlock, int uptoBlock,
+            String lastMemeId, int limit) throws Exception {
+        if (limit <= 0 || limit > MAX_GET_PROPOSALS) {
+            limit = MAX_GET_PROPOSALS;
+        }
+        int currentIndex = LedgerContract.currentIndex();
+        if (uptoBlock > currentIndex) {
+            uptoBlock = currentIndex;
+        }
+        if (fromBlock < 0) {
+            fromBlock = 0;
+        }
+        ByteString skipUntil = null;
+        if (lastMemeId != null) {
+            ProposalRecord last = getProposalRecord(lastMemeId);
+            if (last == null) {
+                throw new Exception("No proposal found for this id.");
+            }
+            fromBlock = last.finalizationBlock;
+            skipUntil = CryptoLib.ripemd160(new ByteString(lastMemeId));
+        }
+        // Starting at the beginning, the whole index is read with a single find.
+        boolean fromStart = fromBlock == 0;
+
+        List<Proposal> proposals = new List<>();
+        String cursor = null;
+        // Set if the page is full.
+        int nextBlock = 0;
+        boolean done = false;
+        int bucket = fromBlock >> 8;
+        int scannedBuckets = 0;
+        while (!done) {
+            byte[] prefix;
+            if (fromStart) {
+                prefix = toByteArray(FINALIZATION_INDEX_PREFIX);
+            } else {
+                prefix = createKey(FINALIZATION_INDEX_PREFIX, toBucketBytes(bucket));
+            }
+            Iterator<Iterator.Struct<ByteString, ByteString>> iterator = Storage.find(
+                    Storage.getReadOnlyContext(), prefix, FindOptions.None);
+            while (iterator.next()) {
+                Iterator.Struct<ByteString, ByteString> entry = iterator.get();
+                int block = getFinalizationBlock(entry.key);
+                if (block > uptoBlock) {
+                    done = true;
+                    break;
+                }
+                if (block < fromBlock) {
+                    continue;
+                }
+                if (skipUntil != null) {
+                    if (skipUntil.equals(entry.key.last(20))) {
+                        skipUntil = null;
+                    }
+                    continue;
+                }
+                if (proposals.size() == limit) {
+                    nextBlock = proposals.get(limit - 1).finalizationBlock;
+                    done = true;
+                    break;
+                }
+                String memeId = entry.value.toString();
+                proposals.add(toProposal(memeId, getProposalRecord(memeId)));
+                cursor = memeId;
+            }
+            if (done || fromStart) {
+                break;
+            }
+            bucket++;
+            scannedBuckets++;
+            if (bucket << 8 > uptoBlock) {
+                break;
+            }
+            if (scannedBuckets == MAX_SCAN_BUCKETS) {
+                // Continues at the next bucket, all proposals before it were returned.
+                return new ProposalPage(proposals, null, bucket << 8);
+            }
+        }
+        if (nextBlock == 0) {
+            cursor = null;
+        }
+        return new ProposalPage(proposals, cursor, nextBlock);
+    }
+
+    /**
+     * Gets the first three bytes of the block in big-endian order. They are shared by the
+     * finalization index keys of 256 consecutive blocks.
+     */
+    private static byte[] toBucketBytes(int bucket) {
+        byte[] bytes = new byte[3];
+        bytes[0] = (byte) ((bucket >> 16) & 0xff);
+        bytes[1] = (byte) ((bucket >> 8) & 0xff);
+        bytes[2] = (byte) (bucket & 0xff);
+        return bytes;
+    }
+
+    /**
+     * Reads the finalization block from a key of the finalization index.
+     */
+    private static int getFinalizationBlock(ByteString indexKey) {
+        return ((indexKey.get(1) & 0xff) << 24) | ((indexKey.get(2) & 0xff) << 16)
+                | ((indexKey.get(3) & 0xff) << 8) | (indexKey.get(4) & 0xff);
+    }
+
+    // Storage access
+
+    private static byte[] createKey(byte prefix, byte key) {
+        return concat(toByteArray(prefix), toByteArray(key));
+    }
+
+    private static byte[] createKey(byte prefix, String key) {
+        return concat(toByteArray(prefix), key);
+    }
+
+    private static byte[] createKey(byte prefix, ByteString key) {
+        return concat(toByteArray(prefix), key);
+    }
+
+    private static byte[] createKey(byte prefix, byte[] key) {
+        return concat(toByteArray(prefix), key);
+    }
+
+    private static ByteString get(byte[] key) {
+        return Storage.get(Storage.getReadOnlyContext(), key);
+    }
+
+    private static int getInt(byte[] key) {
+        ByteString value = get(key);
+        if (value == null) {
+            return 0;
+        }
+        return value.toInt();
+    }
+
+    private static void put(byte[] key, ByteString value) {
+        Storage.put(Storage.getStorageContext(), key, value);
+    }
+
+    private static void put(byte[] key, String value) {
+        Storage.put(Storage.getStorageContext(), key, value);
+    }
+
+    private static void put(byte[] key, int value) {
+        Storage.put(Storage.getStorageContext(), key, value);
+    }
+
+    private static void delete(byte[] key) {
+        Storage.delete(Storage.getStorageContext(), key);
+    }
+
+    private static void delete(ByteString key) {
+        Storage.delete(Storage.getStorageContext(), key);
+    }
+
 }
@@ -1,5 +1,6 @@
 package com.ob;
 
+import static io.neow3j.devpack.Helper.concat;
 import static io.neow3j.devpack.Helper.toByteArray;
 import io.neow3j.devpack.ByteString;
 import io.neow3j.devpack.Hash160;
@@ -7,34 +8,144 @@ import io.neow3j.devpack.Iterator;
 import io.neow3j.devpack.List;
 import io.neow3j.devpack.Runtime;
 import io.neow3j.devpack.Storage;
-import io.neow3j.devpack.StorageContext;
-import io.neow3j.devpack.StorageMap;
 import io.neow3j.devpack.StringLiteralHelper;
 import io.neow3j.devpack.annotations.ManifestExtra;
 import io.neow3j.devpack.annotations.OnDeployment;
 import io.neow3j.devpack.annotations.Safe;
 import io.neow3j.devpack.constants.FindOptions;
+import io.neow3j.devpack.contracts.ContractManagement;
+import io.neow3j.devpack.contracts.StdLib;
 
 
 public class MemeContract {
-static final Hash160 contractOwner = StringLiteralHelper.addressToScriptHash("NZPhMk15yfWU9d9GnxZBVGub6CMU7cmApw");
 
     static final int MAX_GET_MEMES = 100;
-    static final byte[] OWNER_KEY = new byte[]{0x0d};
+    static final int MAX_MIGRATE_MEMES = 50;
+
+    // Storage is accessed with raw keys made of one of the following prefixes and the internal id
+    // of a meme. The internal id is assigned sequentially when a meme is created and takes four
+    // bytes, such that keys do not grow with the length of the meme id. The prefixes are
+    // compile-time constants, such that no storage maps need to be built when the contract is
+    // invoked.
+    static final byte CONTRACT_PREFIX = 1;
+    // Legacy meme layout with one map per property, keyed by the meme id. Only read when migrating
+    // to meme records.
     static final byte DESC_MAP_PREFIX = 2;
+    static final byte URL_MAP_PREFIX = 3;
+    static final byte IMG_HASH_MAP_PREFIX = 4;
+    // Links between memes in insertion order. Used to page through memes without a full scan.
+    static final byte NEXT_MEME_PREFIX = 5;
+    static final byte PREV_MEME_PREFIX = 6;
+    // Maps an internal id to the serialized meme.
+    static final byte MEME_PREFIX = 7;
+    // Maps the image hash of a meme to its internal id. Used to reject memes with the same image.
+    static final byte IMG_HASH_INDEX_PREFIX = 8;
+    // Maps a meme id to its internal id. This is the only map keyed by the meme id.
+    static final byte INTERNAL_ID_PREFIX = 9;
 
-    static StorageContext ctx = Storage.getStorageContext();
-    static final StorageMap contractMap = ctx.createMap((byte) 1);
-    static final StorageMap descriptionMap = ctx.createMap(DESC_MAP_PREFIX);
-    static final StorageMap urlMap = ctx.createMap((byte) 3);
-    static final StorageMap imgHashMap = ctx.createMap((byte) 4);
+    // Keys under the contract prefix.
+    // Keys of the first and last meme in the insertion-ordered meme list.
+    static final byte FIRST_MEME_KEY = 0x0e;
+    static final byte LAST_MEME_KEY = 0x0f;
+    // Key of the number of stored memes.
+    static final byte MEME_COUNT_KEY = 0x10;
+    // Key of the last internal id that was assigned to a meme.
+    static final byte INTERNAL_ID_KEY = 0x11;
+    // Key of the account that is permitted to update the contracts.
+    static final byte ADMIN_KEY = 0x12;
 
+    /**
+     * Stores the account passed as deploy data as the admin, that is permitted to update this
+     * contract and the governance contract. An update from a version without an admin takes the
+     * admin from the update data.
+     * <p>
+     * The contracts deployed before the admin was introduced have no update method, so they have
+     * to be redeployed rather than updated.
+     */
     @OnDeployment
     public static void deploy(Object data, boolean update) throws Exception {
         if (!update) {
-         
-           
+            putAdmin(data);
+        } else {
+            if (get(createKey(CONTRACT_PREFIX, ADMIN_KEY)) == null) {
+                putAdmin(data);
+            }
+            // The count includes the memes that are already stored in records. Each migrated
+            // meme is added to it.
+            if (get(createKey(CONTRACT_PREFIX, MEME_COUNT_KEY)) == null) {
+                put(createKey(CONTRACT_PREFIX, MEME_COUNT_KEY), countMemes());
+            }
+            migrateLegacyMemes(MAX_MIGRATE_MEMES);
+        }
+    }
+
+    private static void putAdmin(Object data) throws Exception {
+        if (!Hash160.isValid(data)) {
+            throw new Exception("The deploy data must be the hash of the admin account.");
+        }
+        put(createKey(CONTRACT_PREFIX, ADMIN_KEY), ((Hash160) data).toByteString());
+    }
+
+    private static int countMemes() {
+        Iterator<ByteString> iterator = Storage.find(Storage.getReadOnlyContext(),
+                toByteArray(MEME_PREFIX), FindOptions.KeysOnly);
+        int count = 0;
+        while (iterator.next()) {
+            count++;
+        }
+        return count;
+    }
+
+    public static void update(ByteString script, String manifest) throws Exception {
+        if (!Runtime.checkWitness(getAdmin())) {
+            throw new Exception("No authorization.");
+        }
+        ContractManagement.update(script, manifest);
+    }
+
+    /**
+     * Gets the admin, that is permitted to update this contract and the governance contract.
+     */
+    @Safe
+    public static Hash160 getAdmin() {
+        return new Hash160(get(createKey(CONTRACT_PREFIX, ADMIN_KEY)));
+    }
+
+    /**
+     * Moves memes stored in the legacy layout, with one map per property, into single meme
+     * records.
+     * <p>
+     * A bounded number of memes is migrated when the contract is updated. The remaining memes
+     * can be migrated by anyone with this method, until it returns 0.
+     *
+     * @param maxCount the maximum number of memes to migrate. Is capped at
+     *                 {@link MemeContract#MAX_MIGRATE_MEMES}.
+     * @return the number of migrated memes.
+     */
+    public static int migrateLegacyMemes(int maxCount) {
+        if (maxCount <= 0 || maxCount > MAX_MIGRATE_MEMES) {
+            maxCount = MAX_MIGRATE_MEMES;
         }
+        Iterator<Iterator.Struct<ByteString, ByteString>> iterator =
+                Storage.find(Storage.getReadOnlyContext(), toByteArray(DESC_MAP_PREFIX),
+                        FindOptions.RemovePrefix);
+        int count = 0;
+        while (count < maxCount && iterator.next()) {
+            Iterator.Struct<ByteString, ByteString> pair = iterator.get();
+            String memeId = pair.key.toString();
+            String url = get(createKey(URL_MAP_PREFIX, memeId)).toString();
+            ByteString imgHash = get(createKey(IMG_HASH_MAP_PREFIX, memeId));
+            addMeme(new Meme(memeId, pair.value.toString(), url, imgHash));
+
+            delete(createKey(DESC_MAP_PREFIX, memeId));
+            delete(createKey(URL_MAP_PREFIX, memeId));
+            delete(createKey(IMG_HASH_MAP_PREFIX, memeId));
+            count++;
+        }
+        if (count > 0) {
+            changeMemeCountBy(count);
+        }
+        return count;
     }
 
     /**
@@ -55,28 +166,75 @@ static final Hash160 contractOwner = StringLiteralHelper.addressToScriptHash("NZ
      */
     @Safe
     public static Hash160 getOwner() {
-        return contractOwner;
+        return StringLiteralHelper.addressToScriptHash("NZPhMk15yfWU9d9GnxZBVGub6CMU7cmApw");
     }
 
     /**
      * Creates a meme.
      */
     public static boolean createMeme(String memeId, String description, String url, ByteString imageHash) {
-        if (memeId == null || description == null || url == null || imageHash == null) {
+        if (Runtime.getCallingScriptHash() != getOwner()) {
             return false;
         }
+        if (!storeMeme(memeId, description, url, imageHash)) {
+            return false;
+        }
+        changeMemeCountBy(1);
+        return true;
+    }
+
+    /**
+     * Creates multiple memes.
+     *
+     * @param memes The memes to create.
+     * @return Whether each meme was created. A meme is skipped if a meme with the same id or image
+     * already exists or if any of its properties is missing.
+     */
+    public static boolean[] createMemes(Meme[] memes) {
+        boolean[] created = new boolean[memes.length];
         if (Runtime.getCallingScriptHash() != getOwner()) {
+            return created;
+        }
+        int count = 0;
+        for (int i = 0; i < memes.length; i++) {
+            Meme meme = memes[i];
+            created[i] = storeMeme(meme.id, meme.description, meme.url, meme.imageHash);
+            if (created[i]) {
+                count++;
+            }
+        }
+        if (count > 0) {
+            changeMemeCountBy(count);
+        }
+        return created;
+    }
+
+    private static boolean storeMeme(String memeId, String description, String url,
+            ByteString imageHash) {
+        if (memeId == null || description == null || url == null || imageHash == null) {
             return false;
         }
-        if (descriptionMap.get(memeId) != null) {
+        if (exists(memeId) || findByImageHash(imageHash) != null) {
             return false;
         }
-        descriptionMap.put(memeId, description);
-        urlMap.put(memeId, url);
-        imgHashMap.put(memeId, imageHash);
+        addMeme(new Meme(memeId, description, url, imageHash));
         return true;
     }
 
+    /**
+     * Assigns the next internal id to the meme and stores it.
+     */
+    private static void addMeme(Meme meme) {
+        int id = getInt(createKey(CONTRACT_PREFIX, INTERNAL_ID_KEY)) + 1;
+        put(createKey(CONTRACT_PREFIX, INTERNAL_ID_KEY), id);
+        ByteString internalId = new ByteString(toFixedBytes(id));
+
+        put(createKey(INTERNAL_ID_PREFIX, meme.id), internalId);
+        put(createKey(MEME_PREFIX, internalId), StdLib.serialize(meme));
+        put(createKey(IMG_HASH_INDEX_PREFIX, meme.imageHash), internalId);
+        linkMeme(internalId);
+    }
+
     /**
      * Removes a meme.
      */
@@ -84,9 +242,45 @@ static final Hash160 contractOwner = StringLiteralHelper.addressToScriptHash("NZ
         if (Runtime.getCallingScriptHash() != getOwner()) {
             return false;
         }
-        descriptionMap.delete(memeId);
-        urlMap.delete(memeId);
-        imgHashMap.delete(memeId);
+        if (deleteMeme(memeId)) {
+            changeMemeCountBy(-1);
+        }
+        return true;
+    }
+
+    /**
+     * Removes multiple memes.
+     *
+     * @param memeIds The ids of the memes to remove.
+     * @return Whether each meme existed and was removed.
+     */
+    public static boolean[] removeMemes(String[] memeIds) {
+        boolean[] removed = new boolean[memeIds.length];
+        if (Runtime.getCallingScriptHash() != getOwner()) {
+            return removed;
+        }
+        int count = 0;
+        for (int i = 0; i < memeIds.length; i++) {
+            removed[i] = deleteMeme(memeIds[i]);
+            if (removed[i]) {
+                count++;
+            }
+        }
+        if (count > 0) {
+            changeMemeCountBy(-count);
+        }
+        return removed;
+    }
+
+    private static boolean deleteMeme(String memeId) {
+        ByteString internalId = get(createKey(INTERNAL_ID_PREFIX, memeId));
+        if (internalId == null) {
+            return false;
+        }
+        unlinkMeme(internalId);
+        delete(createKey(IMG_HASH_INDEX_PREFIX, getMemeRecord(internalId).imageHash));
+        delete(createKey(MEME_PREFIX, internalId));
+        delete(createKey(INTERNAL_ID_PREFIX, memeId));
         return true;
     }
 
@@ -95,13 +289,59 @@ static final Hash160 contractOwner = StringLiteralHelper.addressToScriptHash("NZ
      */
     @Safe
     public static Meme getMeme(String memeId) throws Exception {
-        if (descriptionMap.get(memeId) == null) {
+        ByteString internalId = get(createKey(INTERNAL_ID_PREFIX, memeId));
+        if (internalId == null) {
+            if (get(createKey(DESC_MAP_PREFIX, memeId)) != null) {
+                throw new Exception("The legacy meme for this id has to be migrated first.");
+            }
             throw new Exception("No meme found for this id.");
         }
-        String desc = descriptionMap.get(memeId).toString();
-        String url = urlMap.get(memeId).toString();
-        ByteString imgHash = imgHashMap.get(memeId);
-        return new Meme(memeId, desc, url, imgHash);
+        return getMemeRecord(internalId);
+    }
+
+    /**
+     * Gets the number of memes stored in this contract.
+     */
+    @Safe
+    public static int getMemeCount() {
+        return getInt(createKey(CONTRACT_PREFIX, MEME_COUNT_KEY));
+    }
+
+    /**
+     * Checks whether a meme with the given id exists, including legacy memes that are not
+     * migrated yet.
+     */
+    @Safe
+    public static boolean exists(String memeId) {
+        return get(createKey(INTERNAL_ID_PREFIX, memeId)) != null
+                || get(createKey(DESC_MAP_PREFIX, memeId)) != null;
+    }
+
+    /**
+     * Gets the id of the meme with the given image hash.
+     *
+     * @param imageHash The sha256 hash of the image.
+     * @return The meme id or null if no meme has this image.
+     */
+    @Safe
+    public static String findByImageHash(ByteString imageHash) {
+        ByteString internalId = get(createKey(IMG_HASH_INDEX_PREFIX, imageHash));
+        if (internalId == null) {
+            return null;
+        }
+        return getMemeRecord(internalId).id;
+    }
+
+    /**
+     * Checks for each of the given meme ids whether a meme with that id exists.
+     */
+    @Safe
+    public static boolean[] existsMany(String[] memeIds) {
+        boolean[] exist = new boolean[memeIds.length];
+        for (int i = 0; i < memeIds.length; i++) {
+            exist[i] = exists(memeIds[i]);
+        }
+        return exist;
     }
 
     /**
@@ -115,25 +355,181 @@ static final Hash160 contractOwner = StringLiteralHelper.addressToScriptHash("NZ
     public static List<Meme> getMemes(int startingIndex) {
         int finalIndex = startingIndex + MAX_GET_MEMES;
         List<Meme> memes = new List<>();
-        Iterator<Iterator.Struct<ByteString, ByteString>> iterator = 
-            Storage.find(ctx, toByteArray(DESC_MAP_PREFIX), FindOptions.RemovePrefix);
+        Iterator<Meme> iterator = memesIterator();
         int i = 0;
         while (iterator.next()) {
             if (i < startingIndex) {
+                i++;
                 continue;
             }
             if (i == finalIndex) {
                 break;
             }
-            Iterator.Struct<ByteString, ByteString> pair = iterator.get();
-            String memeId = pair.key.toString();
-            String desc = pair.value.toString();
-            String url = urlMap.get(memeId).toString();
-            ByteString imgHash = imgHashMap.get(memeId);
-            memes.add(new Meme(memeId, desc, url, imgHash));
+            memes.add(iterator.get());
             i++;
         }
         return memes;
     }
 
+    /**
+     * Gets an iterator over all memes stored in this contract, in order of creation.
+     * <p>
+     * Unlike {@link MemeContract#getMemes(int)} the memes are not collected in the contract. They
+     * are deserialized one by one while the iterator is traversed, e.g., through an RPC session,
+     * so the whole catalog can be read without paging.
+     */
+    @Safe
+    public static Iterator<Meme> memesIterator() {
+        return Storage.find(Storage.getReadOnlyContext(), toByteArray(MEME_PREFIX),
+                (byte) (FindOptions.ValuesOnly | FindOptions.DeserializeValues));
+    }
+
+    /**
+     * Gets the memes that were created after the meme with the given id, in order of creation.
+     * <p>
+     * Use the returned cursor as {@code lastMemeId} to fetch the next page. The storage lookup
+     * starts directly at the cursor, so the cost of a page does not depend on its position.
+     *
+     * @param lastMemeId The id of the last meme of the previous page or null to start with the
+     *                   first meme.
+     * @param limit      The maximum number of memes to return. Is capped at
+     *                   {@link MemeContract#MAX_GET_MEMES}.
+     * @return The memes and the cursor for the next page. The cursor is null if there are no
+     * more memes.
+     */
+    @Safe
+    public static MemePage getMemesAfter(String lastMemeId, int limit) throws Exception {
+        if (limit <= 0 || limit > MAX_GET_MEMES) {
+            limit = MAX_GET_MEMES;
+        }
+        ByteString internalId;
+        if (lastMemeId == null) {
+            internalId = get(createKey(CONTRACT_PREFIX, FIRST_MEME_KEY));
+        } else {
+            ByteString lastInternalId = get(createKey(INTERNAL_ID_PREFIX, lastMemeId));
+            if (lastInternalId == null) {
+                throw new Exception("No meme found for this id.");
+            }
+            internalId = get(createKey(NEXT_MEME_PREFIX, lastInternalId));
+        }
+        List<Meme> memes = new List<>();
+        String cursor = null;
+        while (internalId != null && memes.size() < limit) {
+            Meme meme = getMemeRecord(internalId);
+            memes.add(meme);
+            cursor = meme.id;
+            internalId = get(createKey(NEXT_MEME_PREFIX, internalId));
+        }
+        if (internalId == null) {
+            cursor = null;
+        }
+        return new MemePage(memes, cursor);
+    }
+
+    private static void changeMemeCountBy(int amount) {
+        put(createKey(CONTRACT_PREFIX, MEME_COUNT_KEY), getMemeCount() + amount);
+    }
+
+    private static Meme getMemeRecord(ByteString internalId) {
+        return (Meme) StdLib.deserialize(get(createKey(MEME_PREFIX, internalId)));
+    }
+
+    /**
+     * Converts the integer to four bytes in big-endian order.
+     */
+    private static byte[] toFixedBytes(int value) {
+        byte[] bytes = new byte[4];
+        bytes[0] = (byte) ((value >> 24) & 0xff);
+        bytes[1] = (byte) ((value >> 16) & 0xff);
+        bytes[2] = (byte) ((value >> 8) & 0xff);
+        bytes[3] = (byte) (value & 0xff);
+        return bytes;
+    }
+
+    private static void linkMeme(ByteString internalId) {
+        ByteString last = get(createKey(CONTRACT_PREFIX, LAST_MEME_KEY));
+        if (last == null) {
+            put(createKey(CONTRACT_PREFIX, FIRST_MEME_KEY), internalId);
+        } else {
+            put(createKey(NEXT_MEME_PREFIX, last), internalId);
+            put(createKey(PREV_MEME_PREFIX, internalId), last);
+        }
+        put(createKey(CONTRACT_PREFIX, LAST_MEME_KEY), internalId);
+    }
+
+    private static void unlinkMeme(ByteString internalId) {
+        ByteString prev = get(createKey(PREV_MEME_PREFIX, internalId));
+        ByteString next = get(createKey(NEXT_MEME_PREFIX, internalId));
+        if (prev == null) {
+            if (next == null) {
+                delete(createKey(CONTRACT_PREFIX, FIRST_MEME_KEY));
+            } else {
+                put(createKey(CONTRACT_PREFIX, FIRST_MEME_KEY), next);
+            }
+        } else {
+            if (next == null) {
+                delete(createKey(NEXT_MEME_PREFIX, prev));
+            } else {
+                put(createKey(NEXT_MEME_PREFIX, prev), next);
+            }
+        }
+        if (next == null) {
+            if (prev == null) {
+                delete(createKey(CONTRACT_PREFIX, LAST_MEME_KEY));
+            } else {
+                put(createKey(CONTRACT_PREFIX, LAST_MEME_KEY), prev);
+            }
+        } else {
+            if (prev == null) {
+                delete(createKey(PREV_MEME_PREFIX, next));
+            } else {
+                put(createKey(PREV_MEME_PREFIX, next), prev);
+            }
+        }
+        delete(createKey(NEXT_MEME_PREFIX, internalId));
+        delete(createKey(PREV_MEME_PREFIX, internalId));
+    }
+
+    // Storage access
+
+    private static byte[] createKey(byte prefix, byte key) {
+        return concat(toByteArray(prefix), toByteArray(key));
+    }
+
+    private static byte[] createKey(byte prefix, String key) {
+        return concat(toByteArray(prefix), key);
+    }
+
+    private static byte[] createKey(byte prefix, ByteString key) {
+        return concat(toByteArray(prefix), key);
+    }
+
+    private static ByteString get(byte[] key) {
+        return Storage.get(Storage.getReadOnlyContext(), key);
+    }
+
+    private static int getInt(byte[] key) {
+        ByteString value = get(key);
+        if (value == null) {
+            return 0;
+        }
+        return value.toInt();
+    }
+
+    private static void put(byte[] key, ByteString value) {
+        Storage.put(Storage.getStorageContext(), key, value);
+    }
+
+    private static void put(byte[] key, String value) {
+        Storage.put(Storage.getStorageContext(), key, value);
+    }
+
+    private static void put(byte[] key, int value) {
+        Storage.put(Storage.getStorageContext(), key, value);
+    }
+
+    private static void delete(byte[] key) {
+        Storage.delete(Storage.getStorageContext(), key);
+    }
+
 }
@@ -0,0 +1,14 @@
+package com.ob;
+
+import io.neow3j.devpack.List;
+
+public class MemePage {
+    public List<Meme> memes;
+    public String nextCursor;
+
+    public MemePage(List<Meme> memes, String nextCursor) {
+        this.memes = memes;
+        this.nextCursor = nextCursor;
+    }
+
+}
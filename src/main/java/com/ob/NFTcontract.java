@@ -8,8 +8,6 @@ import io.neow3j.devpack.Iterator;
 import io.neow3j.devpack.Map;
 import io.neow3j.devpack.Runtime;
 import io.neow3j.devpack.Storage;
-import io.neow3j.devpack.StorageContext;
-import io.neow3j.devpack.StorageMap;
 import io.neow3j.devpack.StringLiteralHelper;
 import io.neow3j.devpack.annotations.DisplayName;
 import io.neow3j.devpack.annotations.ManifestExtra;
@@ -20,6 +18,7 @@ import io.neow3j.devpack.constants.CallFlags;
 import io.neow3j.devpack.constants.FindOptions;
 import io.neow3j.devpack.constants.NeoStandard;
 import io.neow3j.devpack.contracts.ContractManagement;
+import io.neow3j.devpack.contracts.StdLib;
 import io.neow3j.devpack.events.Event3Args;
 import io.neow3j.devpack.events.Event4Args;
 
@@ -28,13 +27,17 @@ import io.neow3j.devpack.events.Event4Args;
 @SupportedStandard(neoStandard = NeoStandard.NEP_11)
 public class NFTcontract {
 
-    static final Hash160 contractOwner = StringLiteralHelper.addressToScriptHash("NZPhMk15yfWU9d9GnxZBVGub6CMU7cmApw");
-
-    static final StorageContext ctx = Storage.getStorageContext();
-    static final StorageMap contractMap = new StorageMap(ctx, 0);
-    static final StorageMap registryMap = new StorageMap(ctx, 1);
-    static final StorageMap ownerOfMap = new StorageMap(ctx, 2);
-    static final StorageMap balanceMap = new StorageMap(ctx, 3);
+    // Storage is accessed with raw keys made of one of the following prefixes and the token id
+    // or owner. The prefixes are compile-time constants, such that no storage maps need to be
+    // built when the contract is invoked.
+    static final byte CONTRACT_PREFIX = 0;
+    // Legacy token layout with the owner and each property in its own map. Only read when
+    // migrating to token records and to tell unmigrated tokens apart from missing ones.
+    static final byte REGISTRY_PREFIX = 1;
+    static final byte OWNER_OF_PREFIX = 2;
+    static final byte BALANCE_PREFIX = 3;
+    // Maps a token id to its serialized TokenRecord.
+    static final byte TOKEN_PREFIX = 4;
 
     // Keys of key-value pairs in NFT properties
     static final String propName = "name";
@@ -42,13 +45,18 @@ public class NFTcontract {
     static final String propImage = "image";
     static final String propTokenURI = "tokenURI";
 
-    static final StorageMap propertiesNameMap = new StorageMap(ctx, 8);
-    static final StorageMap propertiesDescriptionMap = new StorageMap(ctx, 9);
-    static final StorageMap propertiesImageMap = new StorageMap(ctx, 10);
-    static final StorageMap propertiesTokenURIMap = new StorageMap(ctx, 11);
+    static final byte PROPERTIES_NAME_PREFIX = 8;
+    static final byte PROPERTIES_DESCRIPTION_PREFIX = 9;
+    static final byte PROPERTIES_IMAGE_PREFIX = 10;
+    static final byte PROPERTIES_TOKEN_URI_PREFIX = 11;
+
+    // Key of the total supply under the contract prefix.
+    static final byte totalSupplyKey = 0x10;
+    // Prefix of the tokens of an owner. Is combined with the owner for a map prefix.
+    static final byte tokensOfKey = 0x11;
 
-    static final byte[] totalSupplyKey = new byte[]{0x10};
-    static final byte[] tokensOfKey = new byte[]{0x11};
+    // The maximum number of legacy tokens that are migrated in one invocation.
+    static final int MAX_MIGRATE_TOKENS = 50;
 
     // NEP-11 Methods
 
@@ -64,76 +72,110 @@ public class NFTcontract {
 
     @Safe
     public static int totalSupply() {
-        return contractMap.getInt(totalSupplyKey);
+        return getInt(createKey(CONTRACT_PREFIX, totalSupplyKey));
     }
 
     @Safe
     public static int balanceOf(Hash160 owner) {
-        return balanceMap.getIntOrZero(owner.toByteArray());
+        return getInt(createKey(BALANCE_PREFIX, owner.toByteArray()));
     }
 
     @Safe
     public static Iterator<ByteString> tokensOf(Hash160 owner) {
-        return (Iterator<ByteString>) Storage.find(ctx.asReadOnly(), createTokensOfPrefix(owner),
+        return (Iterator<ByteString>) Storage.find(Storage.getReadOnlyContext(),
+                createTokensOfPrefix(owner),
                 (byte) (FindOptions.KeysOnly | FindOptions.RemovePrefix));
     }
 
     public static boolean transfer(Hash160 to, ByteString tokenId, Object[] data) throws Exception {
-        Hash160 owner = ownerOf(tokenId);
-        if (owner == null) {
-            throw new Exception("This token id does not exist.");
-        }
-        throwIfSignerIsNotOwner(owner);
-
-        ownerOfMap.put(tokenId, to.toByteArray());
+        Hash160 owner = transferToken(to, tokenId);
+        decreaseBalanceBy(owner, 1);
+        increaseBalanceBy(to, 1);
+        notifyTransfer(owner, to, tokenId, data);
+        return true;
+    }
 
-        new StorageMap(ctx, createTokensOfPrefix(owner)).delete(tokenId);
-        new StorageMap(ctx, createTokensOfPrefix(to)).put(tokenId, 1);
+    /**
+     * Transfers all given tokens to {@code to}. The tokens may belong to different owners, each of
+     * which has to witness the transaction.
+     * <p>
+     * Works like calling {@link NFTcontract#transfer(Hash160, ByteString, Object[])} for each
+     * token, but the balance of each involved account is only written once. A {@code Transfer}
+     * event is still fired for every token.
+     *
+     * @param to       the new owner of the tokens.
+     * @param tokenIds the tokens to transfer.
+     * @param data     passed to the receiver if it is a contract.
+     * @return true if all tokens were transferred.
+     * @throws Exception if one of the tokens does not exist or its owner did not witness the
+     *                   transaction. No token is transferred in that case.
+     */
+    public static boolean transferBatch(Hash160 to, ByteString[] tokenIds, Object[] data)
+            throws Exception {
+        Hash160[] owners = new Hash160[tokenIds.length];
+        Map<Hash160, Integer> transferredPerOwner = new Map<>();
+        for (int i = 0; i < tokenIds.length; i++) {
+            Hash160 owner = transferToken(to, tokenIds[i]);
+            owners[i] = owner;
+            if (transferredPerOwner.containsKey(owner)) {
+                transferredPerOwner.put(owner, transferredPerOwner.get(owner) + 1);
+            } else {
+                transferredPerOwner.put(owner, 1);
+            }
+        }
 
-        decreaseBalanceByOne(owner);
-        increaseBalanceByOne(to);
+        Hash160[] distinctOwners = transferredPerOwner.keys();
+        for (int i = 0; i < distinctOwners.length; i++) {
+            decreaseBalanceBy(distinctOwners[i], transferredPerOwner.get(distinctOwners[i]));
+        }
+        increaseBalanceBy(to, tokenIds.length);
 
-        onTransfer.fire(owner, to, 1, tokenId);
-        if (ContractManagement.getContract(to) != null) {
-            Contract.call(to, "onNEP17Payment", CallFlags.All, data);
+        for (int i = 0; i < tokenIds.length; i++) {
+            notifyTransfer(owners[i], to, tokenIds[i], data);
         }
         return true;
     }
 
     @Safe
-    public static Hash160 ownerOf(ByteString tokenId) {
-        ByteString owner = ownerOfMap.get(tokenId);
-        if (owner == null) {
+    public static Hash160 ownerOf(ByteString tokenId) throws Exception {
+        TokenRecord token = getTokenRecord(tokenId);
+        if (token == null) {
             return null;
         }
-        return new Hash160(owner);
+        return token.owner;
     }
 
+    /**
+     * Iterates over the ids of all tokens, as NEP-11 specifies.
+     * <p>
+     * Before the token records, the iterator yielded pairs of the token id and the token id. Since
+     * there is no registry entry with the token id as value anymore, it yields the ids directly.
+     * Legacy tokens that are not migrated yet are not included.
+     */
     @Safe
-    public static Iterator<Iterator.Struct<ByteString, ByteString>> tokens() {
-        return (Iterator<Iterator.Struct<ByteString, ByteString>>) registryMap.find(FindOptions.RemovePrefix);
+    public static Iterator<ByteString> tokens() {
+        return (Iterator<ByteString>) Storage.find(Storage.getReadOnlyContext(),
+                Helper.toByteArray(TOKEN_PREFIX),
+                (byte) (FindOptions.KeysOnly | FindOptions.RemovePrefix));
     }
 
     @Safe
     public static Map<String, String> properties(ByteString tokenId) throws Exception {
-        Map<String, String> p = new Map<>();
-        ByteString tokenName = propertiesNameMap.get(tokenId);
-        if (tokenName == null) {
+        TokenRecord token = getTokenRecord(tokenId);
+        if (token == null) {
             throw new Exception("This token id does not exist.");
         }
 
-        p.put(propName, tokenName.toString());
-        ByteString tokenDescription = propertiesDescriptionMap.get(tokenId);
-        if (tokenDescription != null) {
-            p.put(propDescription, tokenDescription.toString());
+        Map<String, String> p = new Map<>();
+        p.put(propName, token.name);
+        if (token.description != null) {
+            p.put(propDescription, token.description);
         }
-        ByteString tokenImage = propertiesImageMap.get(tokenId);
-        if (tokenImage != null) {
-            p.put(propImage, tokenImage.toString());
+        if (token.image != null) {
+            p.put(propImage, token.image);
         }
-        ByteString tokenURI = propertiesTokenURIMap.get(tokenId);
-        if (tokenURI != null) {
-            p.put(propTokenURI, tokenURI.toString());
+        if (token.tokenURI != null) {
+            p.put(propTokenURI, token.tokenURI);
         }
         return p;
     }
@@ -151,8 +193,50 @@ public class NFTcontract {
     @OnDeployment
     public static void deploy(Object data, boolean update) throws Exception {
         if (!update) {
-            contractMap.put(totalSupplyKey, 0);
+            put(createKey(CONTRACT_PREFIX, totalSupplyKey), 0);
+        } else {
+            migrateLegacyTokens(MAX_MIGRATE_TOKENS);
+        }
+    }
+
+    /**
+     * Moves tokens stored in the legacy layout, with the owner and each property in its own map,
+     * into single token records.
+     * <p>
+     * A bounded number of tokens is migrated when the contract is updated. The remaining tokens
+     * can be migrated by anyone with this method, until it returns 0. Until then, the remaining
+     * tokens cannot be read, transferred or burned.
+     *
+     * @param maxCount the maximum number of tokens to migrate. Is capped at
+     *                 {@link NFTcontract#MAX_MIGRATE_TOKENS}.
+     * @return the number of migrated tokens.
+     */
+    public static int migrateLegacyTokens(int maxCount) {
+        if (maxCount <= 0 || maxCount > MAX_MIGRATE_TOKENS) {
+            maxCount = MAX_MIGRATE_TOKENS;
+        }
+        Iterator<ByteString> iterator = (Iterator<ByteString>) Storage.find(
+                Storage.getReadOnlyContext(), Helper.toByteArray(REGISTRY_PREFIX),
+                FindOptions.ValuesOnly);
+        int count = 0;
+        while (count < maxCount && iterator.next()) {
+            ByteString tokenId = iterator.get();
+            Hash160 owner = new Hash160(get(createKey(OWNER_OF_PREFIX, tokenId)));
+            putTokenRecord(tokenId, new TokenRecord(owner,
+                    getString(createKey(PROPERTIES_NAME_PREFIX, tokenId)),
+                    getString(createKey(PROPERTIES_DESCRIPTION_PREFIX, tokenId)),
+                    getString(createKey(PROPERTIES_IMAGE_PREFIX, tokenId)),
+                    getString(createKey(PROPERTIES_TOKEN_URI_PREFIX, tokenId))));
+
+            delete(createKey(REGISTRY_PREFIX, tokenId));
+            delete(createKey(PROPERTIES_NAME_PREFIX, tokenId));
+            delete(createKey(PROPERTIES_DESCRIPTION_PREFIX, tokenId));
+            delete(createKey(PROPERTIES_IMAGE_PREFIX, tokenId));
+            delete(createKey(PROPERTIES_TOKEN_URI_PREFIX, tokenId));
+            delete(createKey(OWNER_OF_PREFIX, tokenId));
+            count++;
         }
+        return count;
     }
 
     public static void update(ByteString script, String manifest) throws Exception {
@@ -169,67 +253,126 @@ public class NFTcontract {
 
     @Safe
     public static Hash160 contractOwner() {
-        return contractOwner;
+        return StringLiteralHelper.addressToScriptHash("NZPhMk15yfWU9d9GnxZBVGub6CMU7cmApw");
     }
 
     public static void mint(Hash160 owner, ByteString tokenId, Map<String, String> properties) throws Exception {
         throwIfSignerIsNotContractOwner();
-        if (registryMap.get(tokenId) != null) {
+        mintToken(owner, tokenId, properties);
+        increaseBalanceBy(owner, 1);
+        changeTotalSupplyBy(1);
+        onMint.fire(owner, tokenId, properties);
+    }
+
+    /**
+     * Mints all given tokens to {@code owner}.
+     * <p>
+     * Works like calling {@link NFTcontract#mint(Hash160, ByteString, Map)} for each token, but the
+     * balance of the owner and the total supply are only written once. A {@code Mint} event is
+     * still fired for every token.
+     *
+     * @param owner      the owner of the new tokens.
+     * @param tokenIds   the ids of the new tokens.
+     * @param properties the properties of each token, in the same order as the token ids.
+     * @throws Exception if the arrays differ in length, a token id already exists or the
+     *                   properties of a token have no name. No token is minted in that case.
+     */
+    public static void mintBatch(Hash160 owner, ByteString[] tokenIds,
+            Map<String, String>[] properties) throws Exception {
+        throwIfSignerIsNotContractOwner();
+        if (tokenIds.length != properties.length) {
+            throw new Exception("Each token id needs its properties.");
+        }
+        for (int i = 0; i < tokenIds.length; i++) {
+            mintToken(owner, tokenIds[i], properties[i]);
+        }
+        increaseBalanceBy(owner, tokenIds.length);
+        changeTotalSupplyBy(tokenIds.length);
+        for (int i = 0; i < tokenIds.length; i++) {
+            onMint.fire(owner, tokenIds[i], properties[i]);
+        }
+    }
+
+    /**
+     * Burns a token. Fires a {@code Transfer} event with null as the receiver, as required by
+     * NEP-11, such that indexers and caches see the token leave its owner.
+     */
+    public static boolean burn(ByteString tokenId) throws Exception {
+        Hash160 owner = ownerOf(tokenId);
+        if (owner == null) {
+            throw new Exception("This token id does not exist.");
+        }
+        throwIfSignerIsNotOwner(owner);
+
+        delete(createKey(TOKEN_PREFIX, tokenId));
+
+        delete(Helper.concat(createTokensOfPrefix(owner), tokenId));
+        decreaseBalanceBy(owner, 1);
+        changeTotalSupplyBy(-1);
+        onTransfer.fire(owner, null, 1, tokenId);
+        return true;
+    }
+
+    // Private Helper Methods
+
+    /**
+     * Stores a new token without touching the balance of the owner and the total supply.
+     */
+    private static void mintToken(Hash160 owner, ByteString tokenId,
+            Map<String, String> properties) throws Exception {
+        if (get(createKey(TOKEN_PREFIX, tokenId)) != null
+                || get(createKey(REGISTRY_PREFIX, tokenId)) != null) {
             throw new Exception("This token id already exists.");
         }
         if (!properties.containsKey(propName)) {
             throw new Exception("The properties must contain a value for the key 'name'.");
         }
 
-        String tokenName = properties.get(propName);
-        propertiesNameMap.put(tokenId, tokenName);
-
+        TokenRecord token = new TokenRecord(owner, properties.get(propName), null, null, null);
         if (properties.containsKey(propDescription)) {
-            String description = properties.get(propDescription);
-            propertiesDescriptionMap.put(tokenId, description);
+            token.description = properties.get(propDescription);
         }
         if (properties.containsKey(propImage)) {
-            String image = properties.get(propImage);
-            propertiesImageMap.put(tokenId, image);
+            token.image = properties.get(propImage);
         }
         if (properties.containsKey(propTokenURI)) {
-            String tokenURI = properties.get(propTokenURI);
-            propertiesTokenURIMap.put(tokenId, tokenURI);
+            token.tokenURI = properties.get(propTokenURI);
         }
-
-        registryMap.put(tokenId, tokenId);
-        ownerOfMap.put(tokenId, owner.toByteArray());
-        new StorageMap(ctx, createTokensOfPrefix(owner)).put(tokenId, 1);
-
-        increaseBalanceByOne(owner);
-        incrementTotalSupplyByOne();
-        onMint.fire(owner, tokenId, properties);
+        putTokenRecord(tokenId, token);
+        put(Helper.concat(createTokensOfPrefix(owner), tokenId), 1);
     }
 
-    public static boolean burn(ByteString tokenId) throws Exception {
-        Hash160 owner = ownerOf(tokenId);
-        if (owner == null) {
+    /**
+     * Moves a token to {@code to} without touching the balances.
+     *
+     * @return the previous owner of the token.
+     */
+    private static Hash160 transferToken(Hash160 to, ByteString tokenId) throws Exception {
+        TokenRecord token = getTokenRecord(tokenId);
+        if (token == null) {
             throw new Exception("This token id does not exist.");
         }
+        Hash160 owner = token.owner;
         throwIfSignerIsNotOwner(owner);
 
-        registryMap.delete(tokenId);
-        propertiesNameMap.delete(tokenId);
-        propertiesDescriptionMap.delete(tokenId);
-        propertiesImageMap.delete(tokenId);
-        propertiesTokenURIMap.delete(tokenId);
-        ownerOfMap.delete(tokenId);
+        token.owner = to;
+        putTokenRecord(tokenId, token);
 
-        new StorageMap(ctx, createTokensOfPrefix(owner)).delete(tokenId);
-        decreaseBalanceByOne(owner);
-        decrementTotalSupplyByOne();
-        return true;
+        delete(Helper.concat(createTokensOfPrefix(owner), tokenId));
+        put(Helper.concat(createTokensOfPrefix(to), tokenId), 1);
+        return owner;
     }
 
-    // Private Helper Methods
+    private static void notifyTransfer(Hash160 from, Hash160 to, ByteString tokenId,
+            Object[] data) {
+        onTransfer.fire(from, to, 1, tokenId);
+        if (ContractManagement.getContract(to) != null) {
+            Contract.call(to, "onNEP17Payment", CallFlags.All, data);
+        }
+    }
 
     private static void throwIfSignerIsNotContractOwner() throws Exception {
-        if (!Runtime.checkWitness(contractOwner)) {
+        if (!Runtime.checkWitness(contractOwner())) {
             throw new Exception("No authorization.");
         }
     }
@@ -240,26 +383,94 @@ public class NFTcontract {
         }
     }
 
-    private static void increaseBalanceByOne(Hash160 owner) {
-        balanceMap.put(owner.toByteArray(), balanceOf(owner) + 1);
+    private static void increaseBalanceBy(Hash160 owner, int amount) {
+        put(createKey(BALANCE_PREFIX, owner.toByteArray()), balanceOf(owner) + amount);
+    }
+
+    private static void decreaseBalanceBy(Hash160 owner, int amount) {
+        put(createKey(BALANCE_PREFIX, owner.toByteArray()), balanceOf(owner) - amount);
     }
 
-    private static void decreaseBalanceByOne(Hash160 owner) {
-        balanceMap.put(owner.toByteArray(), balanceOf(owner) - 1);
+    private static void changeTotalSupplyBy(int amount) {
+        int updatedTotalSupply = getInt(createKey(CONTRACT_PREFIX, totalSupplyKey)) + amount;
+        put(createKey(CONTRACT_PREFIX, totalSupplyKey), updatedTotalSupply);
     }
 
-    private static void incrementTotalSupplyByOne() {
-        int updatedTotalSupply = contractMap.getInt(totalSupplyKey) + 1;
-        contractMap.put(totalSupplyKey, updatedTotalSupply);
+    /**
+     * @return the record of the token or null if the token does not exist.
+     * @throws Exception if the token is stored in the legacy layout and not migrated yet.
+     */
+    private static TokenRecord getTokenRecord(ByteString tokenId) throws Exception {
+        ByteString token = get(createKey(TOKEN_PREFIX, tokenId));
+        if (token == null) {
+            if (get(createKey(REGISTRY_PREFIX, tokenId)) != null) {
+                throw new Exception("The legacy token has to be migrated first.");
+            }
+            return null;
+        }
+        return (TokenRecord) StdLib.deserialize(token);
     }
 
-    private static void decrementTotalSupplyByOne() {
-        int updatedTotalSupply = contractMap.getInt(totalSupplyKey) - 1;
-        contractMap.put(totalSupplyKey, updatedTotalSupply);
+    private static void putTokenRecord(ByteString tokenId, TokenRecord token) {
+        put(createKey(TOKEN_PREFIX, tokenId), StdLib.serialize(token));
     }
 
     private static byte[] createTokensOfPrefix(Hash160 owner) {
-        return Helper.concat(tokensOfKey, owner.toByteArray());
+        return Helper.concat(Helper.toByteArray(tokensOfKey), owner.toByteArray());
+    }
+
+    // Storage access
+
+    private static byte[] createKey(byte prefix, byte key) {
+        return Helper.concat(Helper.toByteArray(prefix), Helper.toByteArray(key));
+    }
+
+    private static byte[] createKey(byte prefix, ByteString key) {
+        return Helper.concat(Helper.toByteArray(prefix), key);
+    }
+
+    private static byte[] createKey(byte prefix, byte[] key) {
+        return Helper.concat(Helper.toByteArray(prefix), key);
+    }
+
+    private static ByteString get(byte[] key) {
+        return Storage.get(Storage.getReadOnlyContext(), key);
+    }
+
+    private static String getString(byte[] key) {
+        ByteString value = get(key);
+        if (value == null) {
+            return null;
+        }
+        return value.toString();
+    }
+
+    private static int getInt(byte[] key) {
+        ByteString value = get(key);
+        if (value == null) {
+            return 0;
+        }
+        return value.toInt();
+    }
+
+    private static void put(byte[] key, ByteString value) {
+        Storage.put(Storage.getStorageContext(), key, value);
+    }
+
+    private static void put(byte[] key, byte[] value) {
+        Storage.put(Storage.getStorageContext(), key, value);
+    }
+
+    private static void put(byte[] key, String value) {
+        Storage.put(Storage.getStorageContext(), key, value);
+    }
+
+    private static void put(byte[] key, int value) {
+        Storage.put(Storage.getStorageContext(), key, value);
+    }
+
+    private static void delete(byte[] key) {
+        Storage.delete(Storage.getStorageContext(), key);
     }
 
 }
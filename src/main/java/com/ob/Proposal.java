@@ -1,4 +1,4 @@
-package com.axlabs;
+package com.ob;
 
 public class Proposal {
     public Meme meme;
@@ -7,15 +7,17 @@ public class Proposal {
     public int finalizationBlock;
     public int votesInFavor;
     public int votesAgainst;
+    public int epoch;
 
     public Proposal(Meme meme, boolean create, boolean voteInProgress, int finalizationBlock,
-            int votesInFavor, int votesAgainst) {
+            int votesInFavor, int votesAgainst, int epoch) {
         this.meme = meme;
         this.create = create;
         this.voteInProgress = voteInProgress;
         this.finalizationBlock = finalizationBlock;
         this.votesInFavor = votesInFavor;
         this.votesAgainst = votesAgainst;
+        this.epoch = epoch;
     }
 
 }
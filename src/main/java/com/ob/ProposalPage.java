@@ -0,0 +1,17 @@
+package com.ob;
+
+import io.neow3j.devpack.List;
+
+public class ProposalPage {
+    public List<Proposal> proposals;
+    public String nextCursor;
+    // Only set by getExpiredProposals: the finalization block the next page starts at, or 0.
+    public int nextBlock;
+
+    public ProposalPage(List<Proposal> proposals, String nextCursor, int nextBlock) {
+        this.proposals = proposals;
+        this.nextCursor = nextCursor;
+        this.nextBlock = nextBlock;
+    }
+
+}
@@ -0,0 +1,36 @@
+package com.ob;
+
+import io.neow3j.devpack.ByteString;
+
+/**
+ * The storage representation of a proposal. It is serialized as a whole and stored under a single
+ * key, so that creating, reading or clearing a proposal only takes one storage operation.
+ * <p>
+ * The epoch identifies the proposal round and namespaces its voter entries. The meme data is only
+ * set for creation proposals.
+ */
+public class ProposalRecord {
+    public int type;
+    public int epoch;
+    public int finalizationBlock;
+    public int voteCount;
+    public int votesFor;
+    public int votesAgainst;
+    public String description;
+    public String url;
+    public ByteString imageHash;
+
+    public ProposalRecord(int type, int epoch, int finalizationBlock, int voteCount,
+            int votesFor, int votesAgainst, String description, String url, ByteString imageHash) {
+        this.type = type;
+        this.epoch = epoch;
+        this.finalizationBlock = finalizationBlock;
+        this.voteCount = voteCount;
+        this.votesFor = votesFor;
+        this.votesAgainst = votesAgainst;
+        this.description = description;
+        this.url = url;
+        this.imageHash = imageHash;
+    }
+
+}
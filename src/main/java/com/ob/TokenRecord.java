@@ -0,0 +1,27 @@
+package com.ob;
+
+import io.neow3j.devpack.Hash160;
+
+/**
+ * The storage representation of a token. It is serialized as a whole and stored under a single
+ * key, so that reading the owner or the properties of a token only takes one storage read.
+ * <p>
+ * The optional properties are null if they were not set when minting.
+ */
+public class TokenRecord {
+    public Hash160 owner;
+    public String name;
+    public String description;
+    public String image;
+    public String tokenURI;
+
+    public TokenRecord(Hash160 owner, String name, String description, String image,
+            String tokenURI) {
+        this.owner = owner;
+        this.name = name;
+        this.description = description;
+        this.image = image;
+        this.tokenURI = tokenURI;
+    }
+
+}
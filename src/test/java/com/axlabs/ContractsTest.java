@@ -1,11 +1,18 @@
 package com.axlabs;
 
+import com.ob.GovernanceContract;
+import com.ob.MemeContract;
+import com.ob.NFTcontract;
 import io.neow3j.contract.GasToken;
 import io.neow3j.contract.SmartContract;
 import io.neow3j.crypto.ECKeyPair;
+import io.neow3j.crypto.Hash;
 import io.neow3j.protocol.Neow3j;
+import io.neow3j.protocol.core.response.InvocationResult;
 import io.neow3j.protocol.core.response.NeoSendRawTransaction;
+import io.neow3j.protocol.core.response.Notification;
 import io.neow3j.protocol.core.stackitem.StackItem;
+import io.neow3j.script.ScriptBuilder;
 import io.neow3j.test.ContractTest;
 import io.neow3j.test.ContractTestExtension;
 import io.neow3j.test.DeployConfig;
@@ -14,9 +21,11 @@ import io.neow3j.test.DeployContext;
 import io.neow3j.transaction.AccountSigner;
 import io.neow3j.transaction.Transaction;
 import io.neow3j.transaction.exceptions.TransactionConfigurationException;
+import io.neow3j.types.CallFlags;
 import io.neow3j.types.ContractParameter;
 import io.neow3j.types.Hash160;
 import io.neow3j.types.Hash256;
+import io.neow3j.types.StackItemType;
 import io.neow3j.utils.Numeric;
 import io.neow3j.wallet.Account;
 import org.junit.jupiter.api.BeforeAll;
@@ -26,26 +35,35 @@ import org.junit.jupiter.api.extension.RegisterExtension;
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
+import static io.neow3j.types.ContractParameter.any;
 import static io.neow3j.types.ContractParameter.bool;
 import static io.neow3j.types.ContractParameter.byteArray;
 import static io.neow3j.types.ContractParameter.hash160;
+import static io.neow3j.types.ContractParameter.array;
 import static io.neow3j.types.ContractParameter.integer;
+import static io.neow3j.types.ContractParameter.map;
 import static io.neow3j.types.ContractParameter.string;
 import static io.neow3j.utils.Await.waitUntilTransactionIsExecuted;
 import static java.util.Arrays.asList;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInRelativeOrder;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
 @ContractTest(
         blockTime = 1,
-        contracts = {MemeContract.class, GovernanceContract.class},
+        contracts = {MemeContract.class, GovernanceContract.class, NFTcontract.class},
         batchFile = "neoxp.batch",
         configFile = "neoxp.neo-express"
 )
@@ -57,6 +75,7 @@ public class ContractsTest {
     private static Neow3j neow3j;
     private static SmartContract governanceContract;
     private static SmartContract memeContract;
+    private static SmartContract nftContract;
 
     private static final int VOTING_TIME = 10;
     private static final String ALICE_SKEY =
@@ -70,18 +89,34 @@ public class ContractsTest {
 
     // Governance methods
     private static final String vote = "vote";
+    private static final String voteMany = "voteMany";
     private static final String proposeNewMeme = "proposeNewMeme";
     private static final String proposeRemoval = "proposeRemoval";
     private static final String execute = "execute";
+    private static final String executeMany = "executeMany";
+    private static final String executeExpired = "executeExpired";
     private static final String getVotingTime = "getVotingTime";
     private static final String getMinVotesInFavor = "getMinVotesInFavor";
     private static final String getMemeContract = "getMemeContract";
     private static final String getProposal = "getProposal";
+    private static final String pruneVoters = "pruneVoters";
+    private static final String getProposalsAfter = "getProposalsAfter";
+    private static final String getOpenProposals = "getOpenProposals";
+    private static final String getExpiredProposals = "getExpiredProposals";
+    private static final String proposalsIterator = "proposalsIterator";
+    private static final String getProposalCount = "getProposalCount";
 
     // Meme contract methods
     private static final String getMeme = "getMeme";
     private static final String getOwner = "getOwner";
+    private static final String getAdmin = "getAdmin";
     private static final String getMemes = "getMemes";
+    private static final String getMemesAfter = "getMemesAfter";
+    private static final String exists = "exists";
+    private static final String existsMany = "existsMany";
+    private static final String memesIterator = "memesIterator";
+    private static final String getMemeCount = "getMemeCount";
+    private static final String findByImageHash = "findByImageHash";
 
     private static final BigInteger votingTime = BigInteger.TEN;
     private static final BigInteger minVotesInFavor = new BigInteger("3");
@@ -110,6 +145,7 @@ public class ContractsTest {
         neow3j = ext.getNeow3j();
         memeContract = ext.getDeployedContract(MemeContract.class);
         governanceContract = ext.getDeployedContract(GovernanceContract.class);
+        nftContract = ext.getDeployedContract(NFTcontract.class);
         fundAccounts(a1, a2, a3, a4);
     }
 
@@ -119,6 +155,25 @@ public class ContractsTest {
         assertThat(memeOwner, is(governanceContract.getScriptHash()));
     }
 
+    @Test
+    public void testGetAdmin() throws IOException {
+        Hash160 admin = memeContract.callFunctionReturningScriptHash(getAdmin);
+        assertThat(admin, is(a1.getScriptHash()));
+    }
+
+    @Test
+    public void testUpdateRequiresAdmin() throws IOException {
+        List<ContractParameter> params = asList(byteArray("00"), string("{}"));
+        String exception = memeContract.callInvokeFunction("update", params,
+                        AccountSigner.calledByEntry(a2))
+                .getInvocationResult().getException();
+        assertThat(exception, containsString("No authorization."));
+        exception = governanceContract.callInvokeFunction("update", params,
+                        AccountSigner.calledByEntry(a2))
+                .getInvocationResult().getException();
+        assertThat(exception, containsString("No authorization."));
+    }
+
     @Test
     public void testGetMemeContract() throws IOException {
         Hash160 linkedMemeContract =
@@ -189,13 +244,41 @@ public class ContractsTest {
         assertThat(proposal.votesAgainst, is(BigInteger.ONE));
     }
 
+    @Test
+    public void testVoteMany() throws Throwable {
+        ContractParameter memeId = string("testVoteMany");
+        setupBasicProposal(memeId, true);
+
+        Hash256 hash = governanceContract.invokeFunction(voteMany, memeId,
+                        array(hash160(a1), hash160(a2), hash160(a3)),
+                        array(bool(true), bool(true), bool(false)))
+                .signers(AccountSigner.calledByEntry(a1), AccountSigner.calledByEntry(a2),
+                        AccountSigner.calledByEntry(a3))
+                .sign().send().getSendRawTransaction().getHash();
+        waitUntilTransactionIsExecuted(hash, neow3j);
+
+        IntProposal proposal = getProposal(memeId);
+        assertThat(proposal.votesInFavor, is(new BigInteger("2")));
+        assertThat(proposal.votesAgainst, is(BigInteger.ONE));
+
+        try {
+            governanceContract.invokeFunction(voteMany, memeId,
+                            array(hash160(a3), hash160(a4)), array(bool(true), bool(true)))
+                    .signers(AccountSigner.calledByEntry(a3), AccountSigner.calledByEntry(a4))
+                    .sign().send();
+            fail("A batch containing an account that already voted should fail.");
+        } catch (TransactionConfigurationException e) {
+            assertThat(e.getMessage(), containsString("Already voted"));
+        }
+    }
+
     @Test
     public void testExecuteCreation() throws Throwable {
         String memeIdString = "executeCreation";
         ContractParameter memeId = string(memeIdString);
         String description = "coolDescriptionString";
         String url = "AxLabsUrlString";
-        String imgHash = "ae51b3d6f4876cd78e284c07003c41550741042b23b5bd13973cb16cac197275";
+        String imgHash = "7051b3d6f4876cd78e284c07003c41550741042b23b5bd13973cb16cac197275";
         createProposal(memeId, description, url, imgHash);
 
         Hash256 voteFor1 = vote(memeId, a1, true);
@@ -219,6 +302,131 @@ public class ContractsTest {
         assertThat(meme.get(3).getHexString(), is(imgHash));
     }
 
+    @Test
+    public void testExecuteMany() throws Throwable {
+        ContractParameter accepted = string("executeManyAccepted");
+        ContractParameter rejected = string("executeManyRejected");
+        ContractParameter open = string("executeManyOpen");
+        setupBasicProposal(accepted, true);
+        setupBasicProposal(rejected, true);
+        Hash256 voteFor1 = vote(accepted, a1, true);
+        Hash256 voteFor2 = vote(accepted, a2, true);
+        Hash256 voteFor3 = vote(accepted, a3, true);
+        waitUntilTransactionIsExecuted(voteFor1, neow3j);
+        waitUntilTransactionIsExecuted(voteFor2, neow3j);
+        waitUntilTransactionIsExecuted(voteFor3, neow3j);
+        ext.fastForward(VOTING_TIME);
+        setupBasicProposal(open, true);
+
+        List<StackItem> executed = governanceContract.callInvokeFunction(executeMany,
+                        asList(array(accepted, rejected, open, string("executeManyUnknown"))))
+                .getInvocationResult().getStack().get(0).getList();
+        assertThat(executed, hasSize(4));
+        assertTrue(executed.get(0).getBoolean());
+        assertTrue(executed.get(1).getBoolean());
+        assertThat(executed.get(2).getBoolean(), is(false));
+        assertThat(executed.get(3).getBoolean(), is(false));
+    }
+
+    // The second removal of the same meme in a batch fails. Only the proposals of the removed
+    // memes are cleared.
+    @Test
+    public void testExecuteManyRemovals() throws Throwable {
+        ContractParameter memeId1 = string("executeManyRemoval1");
+        ContractParameter memeId2 = string("executeManyRemoval2");
+        createMemeThroughVote(memeId1);
+        createMemeThroughVote(memeId2);
+        removeProposal(memeId1);
+        removeProposal(memeId2);
+        List<Hash256> votes = new ArrayList<>();
+        for (Account a : asList(a1, a2, a3)) {
+            votes.add(vote(memeId1, a, true));
+            votes.add(vote(memeId2, a, true));
+        }
+        for (Hash256 h : votes) {
+            waitUntilTransactionIsExecuted(h, neow3j);
+        }
+        ext.fastForward(VOTING_TIME);
+
+        List<StackItem> executed = governanceContract.callInvokeFunction(executeMany,
+                        asList(array(memeId1, memeId2, memeId1)))
+                .getInvocationResult().getStack().get(0).getList();
+        assertTrue(executed.get(0).getBoolean());
+        assertTrue(executed.get(1).getBoolean());
+        assertThat(executed.get(2).getBoolean(), is(false));
+
+        BigInteger proposalCount = governanceContract.callFuncReturningInt(getProposalCount);
+        Hash256 hash = governanceContract.invokeFunction(executeMany,
+                        array(memeId1, memeId2, memeId1))
+                .signers(AccountSigner.calledByEntry(a4))
+                .sign().send().getSendRawTransaction().getHash();
+        waitUntilTransactionIsExecuted(hash, neow3j);
+        assertThat(governanceContract.callFuncReturningInt(getProposalCount),
+                is(proposalCount.subtract(new BigInteger("2"))));
+        assertThat(memeContract.callInvokeFunction(existsMany, asList(array(memeId1, memeId2)))
+                .getInvocationResult().getStack().get(0).getList().stream()
+                .anyMatch(StackItem::getBoolean), is(false));
+    }
+
+    // A rejected proposal that is repeated in a batch is only cleared once, so the proposal list
+    // and the proposal count stay intact.
+    @Test
+    public void testExecuteManyRepeatedRejection() throws Throwable {
+        ContractParameter rejected = string("executeManyRepeatedRejection");
+        ContractParameter kept = string("executeManyRepeatedKept");
+        setupBasicProposal(rejected, true);
+        ext.fastForward(VOTING_TIME);
+        setupBasicProposal(kept, true);
+
+        List<StackItem> executed = governanceContract.callInvokeFunction(executeMany,
+                        asList(array(rejected, rejected)))
+                .getInvocationResult().getStack().get(0).getList();
+        assertTrue(executed.get(0).getBoolean());
+        assertThat(executed.get(1).getBoolean(), is(false));
+
+        BigInteger proposalCount = governanceContract.callFuncReturningInt(getProposalCount);
+        Hash256 hash = governanceContract.invokeFunction(executeMany, array(rejected, rejected))
+                .signers(AccountSigner.calledByEntry(a4))
+                .sign().send().getSendRawTransaction().getHash();
+        waitUntilTransactionIsExecuted(hash, neow3j);
+        assertThat(governanceContract.callFuncReturningInt(getProposalCount),
+                is(proposalCount.subtract(BigInteger.ONE)));
+        assertThat(neow3j.getApplicationLog(hash).send().getApplicationLog().getExecutions()
+                .get(0).getNotifications().stream()
+                .filter(n -> n.getEventName().equals("UnacceptedProposalRemoval"))
+                .count(), is(1L));
+        List<String> proposals = getProposalIdsOfAllPages(getProposalsAfter);
+        assertThat(proposals.contains("executeManyRepeatedRejection"), is(false));
+        assertThat(proposals.contains("executeManyRepeatedKept"), is(true));
+    }
+
+    @Test
+    public void testExecuteExpired() throws Throwable {
+        ContractParameter accepted = string("executeExpiredAccepted");
+        ContractParameter rejected = string("executeExpiredRejected");
+        setupBasicProposal(accepted, true);
+        setupBasicProposal(rejected, true);
+        Hash256 voteFor1 = vote(accepted, a1, true);
+        Hash256 voteFor2 = vote(accepted, a2, true);
+        Hash256 voteFor3 = vote(accepted, a3, true);
+        waitUntilTransactionIsExecuted(voteFor1, neow3j);
+        waitUntilTransactionIsExecuted(voteFor2, neow3j);
+        waitUntilTransactionIsExecuted(voteFor3, neow3j);
+        ext.fastForward(VOTING_TIME);
+
+        Hash256 hash = governanceContract.invokeFunction(executeExpired, integer(50))
+                .signers(AccountSigner.calledByEntry(a4))
+                .sign().send().getSendRawTransaction().getHash();
+        waitUntilTransactionIsExecuted(hash, neow3j);
+
+        List<StackItem> meme = memeContract.callInvokeFunction(getMeme, asList(accepted))
+                .getInvocationResult().getStack().get(0).getList();
+        assertThat(meme.get(0).getString(), is("executeExpiredAccepted"));
+        String exception = governanceContract.callInvokeFunction(getProposal, asList(rejected))
+                .getInvocationResult().getException();
+        assertThat(exception, containsString("No proposal found for this id."));
+    }
+
     @Test
     public void testExecuteRemoval() throws Throwable {
         ContractParameter memeId = string("executeRemoval");
@@ -251,13 +459,13 @@ public class ContractsTest {
     public void testOverwriteUnacceptedCreateProposal() throws Throwable {
         String memeIdString = "overwriteUnacceptedCreateProposal";
         ContractParameter memeId = string(memeIdString);
-        String imgHash1 = "ae51b3d6f4876cd78e284c07003c41550741042b23b5bd13973cb16cac197275";
+        String imgHash1 = "8051b3d6f4876cd78e284c07003c41550741042b23b5bd13973cb16cac197275";
         createProposal(memeId, "description1", "url1", imgHash1);
 
         // Fast-forward till proposal is finalized.
         ext.fastForward(VOTING_TIME);
 
-        String imgHash2 = "1051b3d6f4876cd78e284c07003c41550741042b23b5bd13973cb16cac197275";
+        String imgHash2 = "9051b3d6f4876cd78e284c07003c41550741042b23b5bd13973cb16cac197275";
         createProposal(memeId, "description2", "url2", imgHash2);
         Hash256 voteFor1 = vote(memeId, a1, true);
         Hash256 voteFor2 = vote(memeId, a2, true);
@@ -311,6 +519,181 @@ public class ContractsTest {
         assertThat(exception, containsString("No meme found for this id."));
     }
 
+    @Test
+    public void testPruneVoters() throws Throwable {
+        ContractParameter memeId = string("pruneVoters");
+        setupBasicProposal(memeId, true);
+        Hash256 voteFor1 = vote(memeId, a1, true);
+        Hash256 voteFor2 = vote(memeId, a2, true);
+        waitUntilTransactionIsExecuted(voteFor1, neow3j);
+        waitUntilTransactionIsExecuted(voteFor2, neow3j);
+
+        BigInteger epoch = getProposal(memeId).epoch;
+        String exception = governanceContract.callInvokeFunction(pruneVoters,
+                        asList(memeId, integer(epoch), integer(10)))
+                .getInvocationResult().getException();
+        assertThat(exception, containsString("cannot be pruned"));
+        // Voter keys only contain the epoch, so the epoch is protected under any meme id.
+        exception = governanceContract.callInvokeFunction(pruneVoters,
+                        asList(string("otherMemeId"), integer(epoch), integer(10)))
+                .getInvocationResult().getException();
+        assertThat(exception, containsString("cannot be pruned"));
+
+        ext.fastForward(VOTING_TIME);
+        Hash256 exec = execProp(memeId, a1);
+        waitUntilTransactionIsExecuted(exec, neow3j);
+
+        // A new proposal for the same meme id does not see the votes of the previous round.
+        setupBasicProposal(memeId, true);
+        IntProposal proposal = getProposal(memeId);
+        assertThat(proposal.epoch.compareTo(epoch) > 0, is(true));
+        waitUntilTransactionIsExecuted(vote(memeId, a1, true), neow3j);
+
+        // Voters of the previous round: a1 and a2.
+        assertThat(countVoters(memeId, epoch), is(new BigInteger("2")));
+        waitUntilTransactionIsExecuted(pruneVoters(memeId, epoch, 1), neow3j);
+        assertThat(countVoters(memeId, epoch), is(BigInteger.ONE));
+        waitUntilTransactionIsExecuted(pruneVoters(memeId, epoch, 10), neow3j);
+        assertThat(countVoters(memeId, epoch), is(BigInteger.ZERO));
+
+        // The voters of the current round are kept.
+        exception = governanceContract.callInvokeFunction(vote,
+                        asList(memeId, hash160(a1), bool(true)), AccountSigner.calledByEntry(a1))
+                .getInvocationResult().getException();
+        assertThat(exception, containsString("Already voted"));
+    }
+
+    private Hash256 pruneVoters(ContractParameter memeId, BigInteger epoch, int maxKeys)
+            throws Throwable {
+        return governanceContract.invokeFunction(pruneVoters, memeId, integer(epoch),
+                        integer(maxKeys))
+                .signers(AccountSigner.calledByEntry(a4))
+                .sign().send().getSendRawTransaction().getHash();
+    }
+
+    // Counts the voter entries of an epoch by simulating their deletion.
+    private BigInteger countVoters(ContractParameter memeId, BigInteger epoch)
+            throws IOException {
+        return governanceContract.callInvokeFunction(pruneVoters,
+                        asList(memeId, integer(epoch), integer(1000)))
+                .getInvocationResult().getStack().get(0).getInteger();
+    }
+
+    // Storage keys are limited to 64 bytes. The longest meme id that fits in a key with a one
+    // byte prefix can be proposed, created and removed.
+    @Test
+    public void testMaxLengthMemeId() throws Throwable {
+        StringBuilder id = new StringBuilder("maxLengthMemeId");
+        while (id.length() < 63) {
+            id.append('x');
+        }
+        ContractParameter memeId = string(id.toString());
+        createMemeThroughVote(memeId);
+        assertTrue(memeContract.callInvokeFunction(exists, asList(memeId))
+                .getInvocationResult().getStack().get(0).getBoolean());
+
+        removeProposal(memeId);
+        List<String> open = getProposalIdsOfAllPages(getOpenProposals);
+        assertThat(open.contains(id.toString()), is(true));
+        Hash256 voteFor1 = vote(memeId, a1, true);
+        Hash256 voteFor2 = vote(memeId, a2, true);
+        Hash256 voteFor3 = vote(memeId, a3, true);
+        waitUntilTransactionIsExecuted(voteFor1, neow3j);
+        waitUntilTransactionIsExecuted(voteFor2, neow3j);
+        waitUntilTransactionIsExecuted(voteFor3, neow3j);
+        ext.fastForward(VOTING_TIME);
+        waitUntilTransactionIsExecuted(execProp(memeId, a1), neow3j);
+
+        assertThat(memeContract.callInvokeFunction(exists, asList(memeId))
+                .getInvocationResult().getStack().get(0).getBoolean(), is(false));
+    }
+
+    @Test
+    public void testGetOpenAndExpiredProposals() throws Throwable {
+        ContractParameter expired = string("expiredProposal");
+        setupBasicProposal(expired, true);
+        ext.fastForward(VOTING_TIME);
+        setupBasicProposal(string("openProposal1"), true);
+        setupBasicProposal(string("openProposal2"), true);
+        setupBasicProposal(string("openProposal3"), true);
+
+        List<String> open = getProposalIdsOfAllPages(getOpenProposals);
+        assertThat(open, containsInRelativeOrder("openProposal1", "openProposal2",
+                "openProposal3"));
+        assertThat(open.contains("expiredProposal"), is(false));
+
+        BigInteger currentIndex = neow3j.getBlockCount().send().getBlockCount()
+                .subtract(BigInteger.ONE);
+        List<String> expiredIds = getExpiredProposalIdsOfAllPages(currentIndex);
+        assertThat(expiredIds.contains("expiredProposal"), is(true));
+        assertThat(expiredIds.contains("openProposal1"), is(false));
+    }
+
+    // A page of expired proposals reads a bounded number of blocks after the cursor and tells
+    // where the next page continues.
+    @Test
+    public void testGetExpiredProposalsAcrossSparseBlocks() throws Throwable {
+        ContractParameter before = string("expiredBeforeGap");
+        ContractParameter after = string("expiredAfterGap");
+        setupBasicProposal(before, true);
+        // More blocks than a page reads, 16 buckets of 256 blocks.
+        ext.fastForward(16 * 256 + VOTING_TIME);
+        setupBasicProposal(after, true);
+        ext.fastForward(VOTING_TIME);
+
+        BigInteger currentIndex = neow3j.getBlockCount().send().getBlockCount()
+                .subtract(BigInteger.ONE);
+        List<StackItem> page = governanceContract.callInvokeFunction(getExpiredProposals,
+                        asList(integer(0), integer(currentIndex), before, integer(10)))
+                .getInvocationResult().getStack().get(0).getList();
+        assertThat(page.get(0).getList(), hasSize(0));
+        assertThat(page.get(1).getValue(), is(nullValue()));
+        assertThat(page.get(2).getInteger().signum() > 0, is(true));
+
+        List<String> expiredIds = getExpiredProposalIdsOfAllPages(currentIndex);
+        assertThat(expiredIds, containsInRelativeOrder("expiredBeforeGap", "expiredAfterGap"));
+    }
+
+    private List<String> getExpiredProposalIdsOfAllPages(BigInteger uptoBlock)
+            throws IOException {
+        List<String> memeIds = new ArrayList<>();
+        BigInteger fromBlock = BigInteger.ZERO;
+        ContractParameter cursor = any(null);
+        while (true) {
+            List<StackItem> page = governanceContract.callInvokeFunction(getExpiredProposals,
+                            asList(integer(fromBlock), integer(uptoBlock), cursor, integer(2)))
+                    .getInvocationResult().getStack().get(0).getList();
+            for (StackItem proposal : page.get(0).getList()) {
+                memeIds.add(proposal.getList().get(0).getList().get(0).getString());
+            }
+            fromBlock = page.get(2).getInteger();
+            if (page.get(1).getValue() == null && fromBlock.signum() == 0) {
+                return memeIds;
+            }
+            cursor = page.get(1).getValue() == null ? any(null) : string(page.get(1).getString());
+        }
+    }
+
+    private List<String> getProposalIdsOfAllPages(String function, ContractParameter... params)
+            throws IOException {
+        List<String> memeIds = new ArrayList<>();
+        ContractParameter cursor = any(null);
+        while (true) {
+            List<ContractParameter> args = new ArrayList<>(asList(params));
+            args.add(cursor);
+            args.add(integer(2));
+            List<StackItem> page = governanceContract.callInvokeFunction(function, args)
+                    .getInvocationResult().getStack().get(0).getList();
+            for (StackItem proposal : page.get(0).getList()) {
+                memeIds.add(proposal.getList().get(0).getList().get(0).getString());
+            }
+            if (page.get(1).getValue() == null) {
+                return memeIds;
+            }
+            cursor = string(page.get(1).getString());
+        }
+    }
+
     @Test
     public void testGetMemes() throws Throwable {
         ContractParameter memeId1 = string("getMemes1");
@@ -344,6 +727,141 @@ public class ContractsTest {
         assertThat(meme.get(3).getHexString(), is(imgHash4));
     }
 
+    @Test
+    public void testExists() throws Throwable {
+        ContractParameter memeId = string("exists");
+        createMemeThroughVote(memeId);
+
+        assertTrue(memeContract.callInvokeFunction(exists, asList(memeId))
+                .getInvocationResult().getStack().get(0).getBoolean());
+        List<StackItem> exist = memeContract.callInvokeFunction(existsMany,
+                        asList(array(memeId, string("doesNotExist"))))
+                .getInvocationResult().getStack().get(0).getList();
+        assertTrue(exist.get(0).getBoolean());
+        assertThat(exist.get(1).getBoolean(), is(false));
+    }
+
+    @Test
+    public void testGetMemesAfter() throws Throwable {
+        createMemeThroughVote(string("getMemesAfter1"));
+        createMemeThroughVote(string("getMemesAfter2"));
+        createMemeThroughVote(string("getMemesAfter3"));
+
+        List<String> memeIds = new ArrayList<>();
+        ContractParameter cursor = any(null);
+        while (true) {
+            List<StackItem> page = memeContract.callInvokeFunction(getMemesAfter,
+                            asList(cursor, integer(2)))
+                    .getInvocationResult().getStack().get(0).getList();
+            List<StackItem> memes = page.get(0).getList();
+            assertThat(memes.size() <= 2, is(true));
+            for (StackItem meme : memes) {
+                memeIds.add(meme.getList().get(0).getString());
+            }
+            if (page.get(1).getValue() == null) {
+                break;
+            }
+            cursor = string(page.get(1).getString());
+        }
+        assertThat(memeIds,
+                containsInRelativeOrder("getMemesAfter1", "getMemesAfter2", "getMemesAfter3"));
+    }
+
+    @Test
+    public void testFindByImageHash() throws Throwable {
+        ContractParameter memeId = string("findByImageHash");
+        createMemeThroughVote(memeId);
+
+        String found = memeContract.callInvokeFunction(findByImageHash,
+                        asList(byteArray(imageHashOf(memeId))))
+                .getInvocationResult().getStack().get(0).getString();
+        assertThat(found, is("findByImageHash"));
+
+        String exception = governanceContract.callInvokeFunction(proposeNewMeme,
+                        asList(string("findByImageHashCopy"), string("desc"), string("url"),
+                                byteArray(imageHashOf(memeId))),
+                        AccountSigner.calledByEntry(a1))
+                .getInvocationResult().getException();
+        assertThat(exception, containsString("There already exists a meme with this image."));
+    }
+
+    @Test
+    public void testGetMemeAndProposalCount() throws Throwable {
+        ContractParameter memeId = string("count");
+        BigInteger memeCount = memeContract.callFuncReturningInt(getMemeCount);
+        BigInteger proposalCount = governanceContract.callFuncReturningInt(getProposalCount);
+
+        createProposal(memeId, "countDesc", "countUrl",
+                "6051b3d6f4876cd78e284c07003c41550741042b23b5bd13973cb16cac197275");
+        assertThat(governanceContract.callFuncReturningInt(getProposalCount),
+                is(proposalCount.add(BigInteger.ONE)));
+
+        waitUntilTransactionIsExecuted(vote(memeId, a1, true), neow3j);
+        waitUntilTransactionIsExecuted(vote(memeId, a2, true), neow3j);
+        waitUntilTransactionIsExecuted(vote(memeId, a3, true), neow3j);
+        ext.fastForward(VOTING_TIME);
+        waitUntilTransactionIsExecuted(execProp(memeId, a4), neow3j);
+
+        assertThat(memeContract.callFuncReturningInt(getMemeCount),
+                is(memeCount.add(BigInteger.ONE)));
+        assertThat(governanceContract.callFuncReturningInt(getProposalCount), is(proposalCount));
+    }
+
+    @Test
+    public void testMemesAndProposalsIterator() throws Throwable {
+        createMemeThroughVote(string("memesIterator"), "iterDesc", "iterUrl",
+                "5051b3d6f4876cd78e284c07003c41550741042b23b5bd13973cb16cac197275");
+
+        List<StackItem> memes = traverseIterator(memeContract, memesIterator);
+        StackItem memeItem = memes.stream()
+                .filter(m -> m.getList().get(0).getString().equals("memesIterator"))
+                .findFirst().orElseThrow(AssertionError::new);
+        IntMeme meme = getMemeFromStackItem(memeItem);
+        assertThat(meme.description, is("iterDesc"));
+        assertThat(meme.url, is("iterUrl"));
+
+        List<StackItem> proposals = traverseIterator(governanceContract, proposalsIterator);
+        assertTrue(proposals.stream().anyMatch(p ->
+                p.getList().get(0).getString().equals("memesIterator")));
+    }
+
+    // The owner of the NFTcontract is a fixed account that cannot sign here, so mint and burn are
+    // only simulated with the owner as signer.
+    @Test
+    public void testBurnFiresTransferToNull() throws Throwable {
+        Hash160 owner = nftContract.callFunctionReturningScriptHash("contractOwner");
+        ContractParameter tokenId = string("burnedToken");
+        Map<String, String> properties = new HashMap<>();
+        properties.put("name", "burnedToken");
+        byte[] script = new ScriptBuilder()
+                .contractCall(nftContract.getScriptHash(), "mint",
+                        asList(hash160(a1), tokenId, map(properties)), CallFlags.ALL)
+                .contractCall(nftContract.getScriptHash(), "burn", asList(tokenId),
+                        CallFlags.ALL)
+                .toArray();
+        InvocationResult result = neow3j.invokeScript(Numeric.toHexStringNoPrefix(script),
+                        AccountSigner.calledByEntry(owner), AccountSigner.calledByEntry(a1))
+                .send().getInvocationResult();
+        assertThat(result.getException(), result.hasStateFault(), is(false));
+
+        List<Notification> transfers = result.getNotifications().stream()
+                .filter(n -> n.getEventName().equals("Transfer"))
+                .collect(Collectors.toList());
+        assertThat(transfers, hasSize(1));
+        List<StackItem> transfer = transfers.get(0).getState().getList();
+        assertThat(transfer.get(0).getAddress(), is(a1.getAddress()));
+        assertThat(transfer.get(1).getType(), is(StackItemType.ANY));
+        assertThat(transfer.get(2).getInteger(), is(BigInteger.ONE));
+        assertThat(transfer.get(3).getString(), is("burnedToken"));
+    }
+
+    private List<StackItem> traverseIterator(SmartContract contract, String function)
+            throws IOException {
+        InvocationResult result = contract.callInvokeFunction(function).getInvocationResult();
+        return neow3j.traverseIterator(result.getSessionId(),
+                result.getStack().get(0).getIteratorId(), 1000).send().getTraverseIterator();
+    }
+
     private static void fundAccounts(Account... accounts) throws Throwable {
         ContractTestExtension.GenesisAccount genesis = ext.getGenesisAccount();
         GasToken gasToken = new GasToken(neow3j);
@@ -387,8 +905,7 @@ public class ContractsTest {
 
     private Hash256 setupBasicProposal(ContractParameter memeId, boolean create) throws Throwable {
         if (create) {
-            return createProposal(memeId, "desc", "url",
-                    "ae51b3d6f4876cd78e284c07003c41550741042b23b5bd13973cb16cac197275");
+            return createProposal(memeId, "desc", "url", imageHashOf(memeId));
         } else {
             return removeProposal(memeId);
         }
@@ -426,8 +943,13 @@ public class ContractsTest {
     }
 
     private void createMemeThroughVote(ContractParameter memeId) throws Throwable {
-        createMemeThroughVote(memeId, "coolDescription", "AxLabsUrl",
-                "ae51b3d6f4876cd78e284c07003c41550741042b23b5bd13973cb16cac197275");
+        createMemeThroughVote(memeId, "coolDescription", "AxLabsUrl", imageHashOf(memeId));
+    }
+
+    // Memes must have distinct images, so the image hash is derived from the meme id.
+    private static String imageHashOf(ContractParameter memeId) {
+        return Numeric.toHexStringNoPrefix(
+                Hash.sha256(((String) memeId.getValue()).getBytes(StandardCharsets.UTF_8)));
     }
 
     private static IntProposal getProposal(ContractParameter memeId) throws IOException {
@@ -440,8 +962,9 @@ public class ContractsTest {
         BigInteger finalizationBlock = proposalItem.get(3).getInteger();
         BigInteger votesInFavor = proposalItem.get(4).getInteger();
         BigInteger votesAgainst = proposalItem.get(5).getInteger();
+        BigInteger epoch = proposalItem.get(6).getInteger();
         return new IntProposal(meme, create, voteInProgress, finalizationBlock, votesInFavor,
-                votesAgainst);
+                votesAgainst, epoch);
     }
 
     private static IntMeme getMemeFromStackItem(StackItem memeItem) {
@@ -460,15 +983,18 @@ public class ContractsTest {
         public BigInteger finalizationBlock;
         public BigInteger votesInFavor;
         public BigInteger votesAgainst;
+        public BigInteger epoch;
 
         public IntProposal(IntMeme meme, Boolean create, Boolean voteInProgress,
-                BigInteger finalizationBlock, BigInteger votesInFavor, BigInteger votesAgainst) {
+                BigInteger finalizationBlock, BigInteger votesInFavor, BigInteger votesAgainst,
+                BigInteger epoch) {
             this.meme = meme;
             this.create = create;
             this.voteInProgress = voteInProgress;
             this.finalizationBlock = finalizationBlock;
             this.votesInFavor = votesInFavor;
             this.votesAgainst = votesAgainst;
+            this.epoch = epoch;
         }
     }
 
@@ -0,0 +1,65 @@
+package com.axlabs;
+
+import static io.neow3j.devpack.Helper.concat;
+import static io.neow3j.devpack.Helper.toByteArray;
+import io.neow3j.devpack.ByteString;
+import io.neow3j.devpack.Hash160;
+import io.neow3j.devpack.Storage;
+import io.neow3j.devpack.annotations.DisplayName;
+import io.neow3j.devpack.annotations.Permission;
+import io.neow3j.devpack.contracts.ContractManagement;
+
+/**
+ * Stores creation proposals in the legacy layout of the GovernanceContract, with one map per
+ * field. Is updated to the GovernanceContract in the migration test. Has the same name, since the
+ * name of a contract cannot change with an update.
+ */
+@DisplayName("GovernanceContract")
+@Permission(contract = "*", methods = "*")
+public class LegacyGovernanceContract {
+
+    static final byte PROPOSAL_PREFIX = 2;
+    static final byte VOTER_MAP_PREPREFIX = 3;
+    static final byte VOTE_COUNT_PREFIX = 4;
+    static final byte VOTE_FOR_PREFIX = 5;
+    static final byte VOTE_AGAINST_PREFIX = 6;
+    static final byte DESCRIPTION_PREFIX = 7;
+    static final byte URL_PREFIX = 8;
+    static final byte IMG_HASH_PREFIX = 9;
+    static final byte FINALIZATION_PREFIX = 10;
+
+    public static void proposeNewMeme(String memeId, String description, String url,
+            ByteString imageHash, int finalization, Hash160 voter) {
+        put(PROPOSAL_PREFIX, memeId, 1);
+        put(VOTE_COUNT_PREFIX, memeId, 1);
+        put(VOTE_FOR_PREFIX, memeId, 1);
+        put(VOTE_AGAINST_PREFIX, memeId, 0);
+        Storage.put(Storage.getStorageContext(), concat(toByteArray(DESCRIPTION_PREFIX), memeId),
+                description);
+        Storage.put(Storage.getStorageContext(), concat(toByteArray(URL_PREFIX), memeId), url);
+        Storage.put(Storage.getStorageContext(), concat(toByteArray(IMG_HASH_PREFIX), memeId),
+                imageHash);
+        put(FINALIZATION_PREFIX, memeId, finalization);
+        Storage.put(Storage.getStorageContext(),
+                concat(concat(toByteArray(VOTER_MAP_PREPREFIX), memeId), voter.toByteString()), 1);
+    }
+
+    public static void proposeRemovals(String[] memeIds, int finalization) {
+        for (String memeId : memeIds) {
+            put(PROPOSAL_PREFIX, memeId, 0);
+            put(VOTE_COUNT_PREFIX, memeId, 0);
+            put(VOTE_FOR_PREFIX, memeId, 0);
+            put(VOTE_AGAINST_PREFIX, memeId, 0);
+            put(FINALIZATION_PREFIX, memeId, finalization);
+        }
+    }
+
+    private static void put(byte prefix, String memeId, int value) {
+        Storage.put(Storage.getStorageContext(), concat(toByteArray(prefix), memeId), value);
+    }
+
+    public static void update(ByteString script, String manifest) {
+        ContractManagement.update(script, manifest);
+    }
+
+}
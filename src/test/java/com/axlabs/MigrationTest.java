@@ -0,0 +1,192 @@
+package com.axlabs;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ob.GovernanceContract;
+import io.neow3j.compiler.CompilationUnit;
+import io.neow3j.compiler.Compiler;
+import io.neow3j.contract.SmartContract;
+import io.neow3j.crypto.ECKeyPair;
+import io.neow3j.protocol.Neow3j;
+import io.neow3j.protocol.core.stackitem.StackItem;
+import io.neow3j.test.ContractTest;
+import io.neow3j.test.ContractTestExtension;
+import io.neow3j.test.DeployConfig;
+import io.neow3j.test.DeployConfiguration;
+import io.neow3j.transaction.AccountSigner;
+import io.neow3j.types.ContractParameter;
+import io.neow3j.types.Hash256;
+import io.neow3j.utils.Numeric;
+import io.neow3j.wallet.Account;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.neow3j.types.ContractParameter.array;
+import static io.neow3j.types.ContractParameter.bool;
+import static io.neow3j.types.ContractParameter.byteArray;
+import static io.neow3j.types.ContractParameter.hash160;
+import static io.neow3j.types.ContractParameter.integer;
+import static io.neow3j.types.ContractParameter.string;
+import static io.neow3j.utils.Await.waitUntilTransactionIsExecuted;
+import static java.util.Arrays.asList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * Updates a contract that stores proposals in the legacy layout to the GovernanceContract and
+ * checks that the proposals are migrated and their voters can be pruned.
+ */
+@ContractTest(
+        blockTime = 1,
+        contracts = {LegacyGovernanceContract.class},
+        batchFile = "neoxp.batch",
+        configFile = "neoxp.neo-express"
+)
+public class MigrationTest {
+
+    @RegisterExtension
+    private static ContractTestExtension ext = new ContractTestExtension();
+
+    private static final String ALICE_SKEY =
+            "84180ac9d6eb6fba207ea4ef9d2200102d1ebeb4b9c07e2c6a738a42742e27a5";
+    private static Account a1 = new Account(
+            ECKeyPair.create(Numeric.hexStringToByteArray(ALICE_SKEY)));
+
+    private static final String IMG_HASH1 =
+            "a051b3d6f4876cd78e284c07003c41550741042b23b5bd13973cb16cac197275";
+    private static final String IMG_HASH2 =
+            "b051b3d6f4876cd78e284c07003c41550741042b23b5bd13973cb16cac197275";
+    private static final String IMG_HASH3 =
+            "c051b3d6f4876cd78e284c07003c41550741042b23b5bd13973cb16cac197275";
+    private static final String IMG_HASH4 =
+            "d051b3d6f4876cd78e284c07003c41550741042b23b5bd13973cb16cac197275";
+
+    private static final String IMG_HASH5 =
+            "e051b3d6f4876cd78e284c07003c41550741042b23b5bd13973cb16cac197275";
+    private static final int MAX_MIGRATE_PROPOSALS = 50;
+    private static final String UNMIGRATED = "zzUnmigrated";
+
+    private static Neow3j neow3j;
+    private static SmartContract contract;
+    private static BigInteger finalization;
+
+    @DeployConfig(LegacyGovernanceContract.class)
+    public static DeployConfiguration legacyContractDeployConfig() {
+        DeployConfiguration config = new DeployConfiguration();
+        config.setSigner(AccountSigner.calledByEntry(a1));
+        return config;
+    }
+
+    @BeforeAll
+    public static void setUp() throws Throwable {
+        neow3j = ext.getNeow3j();
+        contract = ext.getDeployedContract(LegacyGovernanceContract.class);
+
+        BigInteger blockCount = neow3j.getBlockCount().send().getBlockCount();
+        finalization = blockCount.add(BigInteger.valueOf(100));
+        seedLegacyProposal(string("legacy1"), "d1", "u1", IMG_HASH1, finalization);
+        seedLegacyProposal(string("legacy2"), "d2", "u2", IMG_HASH2, finalization);
+        // The legacy voter map prefix of "prune" is a prefix of the one of "pruneLonger".
+        seedLegacyProposal(string("prune"), "d3", "u3", IMG_HASH3, blockCount);
+        seedLegacyProposal(string("pruneLonger"), "d4", "u4", IMG_HASH4, finalization);
+        // More proposals than are migrated on update. They are found in the order of their ids,
+        // so the last one sorts after all others.
+        List<ContractParameter> removals = new ArrayList<>();
+        for (int i = 0; i < MAX_MIGRATE_PROPOSALS; i++) {
+            removals.add(string(String.format("removal%02d", i)));
+        }
+        seedLegacyProposal(string(UNMIGRATED), "d5", "u5", IMG_HASH5, finalization);
+        Hash256 seed = contract.invokeFunction("proposeRemovals", array(removals),
+                        integer(finalization))
+                .signers(AccountSigner.calledByEntry(a1))
+                .sign().send().getSendRawTransaction().getHash();
+        waitUntilTransactionIsExecuted(seed, neow3j);
+
+        CompilationUnit governance =
+                new Compiler().compile(GovernanceContract.class.getCanonicalName());
+        String manifest = new ObjectMapper().writeValueAsString(governance.getManifest());
+        Hash256 hash = contract.invokeFunction("update",
+                        byteArray(governance.getNefFile().toArray()), string(manifest))
+                .signers(AccountSigner.calledByEntry(a1))
+                .sign().send().getSendRawTransaction().getHash();
+        waitUntilTransactionIsExecuted(hash, neow3j);
+    }
+
+    @Test
+    public void testUpdateMigratesLegacyProposals() throws Throwable {
+        List<StackItem> proposal = contract.callInvokeFunction("getProposal",
+                        asList(string("legacy2")))
+                .getInvocationResult().getStack().get(0).getList();
+        List<StackItem> meme = proposal.get(0).getList();
+        assertThat(meme.get(1).getString(), is("d2"));
+        assertThat(meme.get(2).getString(), is("u2"));
+        assertThat(meme.get(3).getHexString(), is(IMG_HASH2));
+        assertThat(proposal.get(3).getInteger(), is(finalization));
+        assertThat(proposal.get(4).getInteger(), is(BigInteger.ONE));
+        // Migrated proposals keep the legacy voter map as epoch 0.
+        assertThat(proposal.get(6).getInteger(), is(BigInteger.ZERO));
+
+        assertThat(isVoter(string("legacy1")), is(true));
+
+        // The voters of a proposal that is not migrated yet cannot be pruned.
+        String exception = contract.callInvokeFunction("pruneVoters",
+                        asList(string(UNMIGRATED), integer(0), integer(10)))
+                .getInvocationResult().getException();
+        assertThat(exception, containsString("has to be migrated first"));
+
+        // The remaining proposals are migrated by anyone.
+        BigInteger count = contract.callFuncReturningInt("getProposalCount");
+        Hash256 hash = contract.invokeFunction("migrateLegacyProposals", integer(10))
+                .signers(AccountSigner.calledByEntry(a1))
+                .sign().send().getSendRawTransaction().getHash();
+        waitUntilTransactionIsExecuted(hash, neow3j);
+        assertThat(contract.callFuncReturningInt("getProposalCount"),
+                is(count.add(new BigInteger("5"))));
+        assertThat(contract.callInvokeFunction("migrateLegacyProposals", asList(integer(10)))
+                .getInvocationResult().getStack().get(0).getInteger(), is(BigInteger.ZERO));
+        assertThat(isVoter(string(UNMIGRATED)), is(true));
+    }
+
+    @Test
+    public void testPruneLegacyVoters() throws Throwable {
+        // The proposal has ended without enough votes, so executing it only clears it.
+        Hash256 hash = contract.invokeFunction("execute", string("prune"))
+                .signers(AccountSigner.calledByEntry(a1))
+                .sign().send().getSendRawTransaction().getHash();
+        waitUntilTransactionIsExecuted(hash, neow3j);
+
+        hash = contract.invokeFunction("pruneVoters", string("prune"), integer(0), integer(10))
+                .signers(AccountSigner.calledByEntry(a1))
+                .sign().send().getSendRawTransaction().getHash();
+        waitUntilTransactionIsExecuted(hash, neow3j);
+
+        assertThat(contract.callInvokeFunction("pruneVoters",
+                        asList(string("prune"), integer(0), integer(10)))
+                .getInvocationResult().getStack().get(0).getInteger(), is(BigInteger.ZERO));
+        assertThat(isVoter(string("pruneLonger")), is(true));
+    }
+
+    // Tests whether Alice voted on the proposal by trying to vote again.
+    private static boolean isVoter(ContractParameter memeId) throws IOException {
+        String exception = contract.callInvokeFunction("vote",
+                        asList(memeId, hash160(a1), bool(true)), AccountSigner.calledByEntry(a1))
+                .getInvocationResult().getException();
+        return exception != null && exception.contains("Already voted");
+    }
+
+    private static void seedLegacyProposal(ContractParameter memeId, String description,
+            String url, String imgHash, BigInteger finalization) throws Throwable {
+        Hash256 hash = contract.invokeFunction("proposeNewMeme", memeId, string(description),
+                        string(url), byteArray(imgHash), integer(finalization), hash160(a1))
+                .signers(AccountSigner.calledByEntry(a1))
+                .sign().send().getSendRawTransaction().getHash();
+        waitUntilTransactionIsExecuted(hash, neow3j);
+    }
+
+}
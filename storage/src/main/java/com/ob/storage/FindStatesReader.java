@@ -0,0 +1,49 @@
+package com.ob.storage;
+
+import io.neow3j.protocol.Neow3j;
+import io.neow3j.protocol.core.response.NeoFindStates;
+import io.neow3j.types.Hash160;
+import io.neow3j.types.Hash256;
+import io.neow3j.utils.Numeric;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Reads the storage of a contract with the {@code findstates} RPC. The node needs the state
+ * service, which neo-express includes.
+ * <p>
+ * All pages are read from the state root of the same block, so the snapshot is consistent even
+ * if new blocks are added while reading.
+ */
+public class FindStatesReader {
+
+    // The maximum number of results of a findstates request in the default node configuration.
+    private static final int PAGE_SIZE = 100;
+
+    public static StorageSnapshot read(Neow3j neow3j, Hash160 contract) throws IOException {
+        long height = neow3j.getStateHeight().send().getStateHeight().getLocalRootIndex();
+        Hash256 rootHash = neow3j.getStateRoot(height).send().getStateRoot().getRootHash();
+        List<StorageEntry> entries = new ArrayList<>();
+        String startKey = null;
+        while (true) {
+            NeoFindStates.States states = neow3j.findStates(rootHash, contract, "", startKey,
+                    PAGE_SIZE).send().getStates();
+            byte[] lastKey = null;
+            for (NeoFindStates.States.Result result : states.getResults()) {
+                lastKey = Base64.getDecoder().decode(result.getKey());
+                entries.add(new StorageEntry(lastKey,
+                        Base64.getDecoder().decode(result.getValue())));
+            }
+            if (!states.isTruncated() || lastKey == null) {
+                break;
+            }
+            // The results start after the start key.
+            startKey = Numeric.toHexStringNoPrefix(lastKey);
+        }
+        return new StorageSnapshot(contract, height, entries);
+    }
+
+}
@@ -0,0 +1,122 @@
+package com.ob.storage;
+
+import java.io.PrintStream;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * The storage footprint of a contract grouped by the key prefixes of its layout.
+ */
+public class FootprintReport {
+
+    private final String contractName;
+    private final long height;
+    private final Map<String, Group> groups = new TreeMap<>();
+    private final Group total = new Group();
+
+    public FootprintReport(StorageSnapshot snapshot, StorageLayout layout) {
+        this.contractName = layout.getContractName();
+        this.height = snapshot.height;
+        StorageIndex index = new StorageIndex(snapshot.entries);
+        for (StorageEntry entry : snapshot.entries) {
+            boolean orphan = layout.isOrphan(entry, index);
+            groups.computeIfAbsent(layout.getGroup(entry.key), k -> new Group())
+                    .add(entry, orphan);
+            total.add(entry, orphan);
+        }
+    }
+
+    /**
+     * @return the footprint of each prefix group, sorted by the group name.
+     */
+    public Map<String, Group> getGroups() {
+        return groups;
+    }
+
+    public Group getTotal() {
+        return total;
+    }
+
+    /**
+     * Gets the growth from an earlier report of the same contract, by prefix group.
+     *
+     * @return the difference of each group that is in either report. Counts are negative for
+     * groups that shrank.
+     */
+    public Map<String, Group> getGrowth(FootprintReport earlier) {
+        Set<String> names = new TreeSet<>(groups.keySet());
+        names.addAll(earlier.groups.keySet());
+        Map<String, Group> growth = new TreeMap<>();
+        for (String name : names) {
+            growth.put(name, groups.getOrDefault(name, new Group())
+                    .minus(earlier.groups.getOrDefault(name, new Group())));
+        }
+        return growth;
+    }
+
+    public void print(PrintStream out) {
+        out.printf("%s at block %d%n", contractName, height);
+        out.printf("  %-36s %9s %11s %11s %9s %11s%n", "prefix", "keys", "key bytes",
+                "value bytes", "orphans", "orph. bytes");
+        for (Map.Entry<String, Group> group : groups.entrySet()) {
+            printGroup(out, group.getKey(), group.getValue());
+        }
+        printGroup(out, "total", total);
+    }
+
+    public void printGrowth(FootprintReport earlier, PrintStream out) {
+        out.printf("%s from block %d to %d%n", contractName, earlier.height, height);
+        out.printf("  %-36s %9s %11s %11s%n", "prefix", "keys", "key bytes", "value bytes");
+        for (Map.Entry<String, Group> group : getGrowth(earlier).entrySet()) {
+            Group g = group.getValue();
+            out.printf("  %-36s %+9d %+11d %+11d%n", group.getKey(), g.keys, g.keyBytes,
+                    g.valueBytes);
+        }
+        Group g = total.minus(earlier.total);
+        out.printf("  %-36s %+9d %+11d %+11d%n", "total", g.keys, g.keyBytes, g.valueBytes);
+    }
+
+    private static void printGroup(PrintStream out, String name, Group g) {
+        out.printf("  %-36s %9d %11d %11d %9d %11d%n", name, g.keys, g.keyBytes, g.valueBytes,
+                g.orphans, g.orphanBytes);
+    }
+
+    public static class Group {
+        public long keys;
+        public long keyBytes;
+        public long valueBytes;
+        public long orphans;
+        // The bytes of the orphaned keys and their values.
+        public long orphanBytes;
+
+        void add(StorageEntry entry, boolean orphan) {
+            keys++;
+            keyBytes += entry.key.length;
+            valueBytes += entry.value.length;
+            if (orphan) {
+                orphans++;
+                orphanBytes += entry.getSize();
+            }
+        }
+
+        Group minus(Group other) {
+            Group difference = new Group();
+            difference.keys = keys - other.keys;
+            difference.keyBytes = keyBytes - other.keyBytes;
+            difference.valueBytes = valueBytes - other.valueBytes;
+            difference.orphans = orphans - other.orphans;
+            difference.orphanBytes = orphanBytes - other.orphanBytes;
+            return difference;
+        }
+
+        /**
+         * @return the bytes of the keys and values, which storage fees are paid for.
+         */
+        public long getBytes() {
+            return keyBytes + valueBytes;
+        }
+    }
+
+}
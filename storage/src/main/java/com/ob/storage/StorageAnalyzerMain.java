@@ -0,0 +1,72 @@
+package com.ob.storage;
+
+import io.neow3j.protocol.Neow3j;
+import io.neow3j.protocol.http.HttpService;
+import io.neow3j.types.Hash160;
+
+import java.io.File;
+
+/**
+ * Reports the storage footprint of a contract by key prefix, including orphaned entries.
+ * <p>
+ * Usage: {@code StorageAnalyzerMain <governance|meme|nft> <node url> <contract hash>
+ * [--save <file>] [--compare <file>]} or {@code StorageAnalyzerMain <governance|meme|nft>
+ * <snapshot file> [--compare <file>]}
+ * <p>
+ * The storage is read with {@code findstates} from the node, or from a snapshot that was saved
+ * with {@code --save}. With {@code --compare}, also prints the growth since the given snapshot.
+ * To analyze a neo-express checkpoint, restore it and run the node first.
+ */
+public class StorageAnalyzerMain {
+
+    private static final String USAGE = "Usage: StorageAnalyzerMain <governance|meme|nft> "
+            + "(<node url> <contract hash> [--save <file>] | <snapshot file>) "
+            + "[--compare <file>]";
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.err.println(USAGE);
+            System.exit(1);
+        }
+        StorageLayout layout = StorageLayout.forName(args[0]);
+        StorageSnapshot snapshot;
+        int next;
+        if (args[1].startsWith("http://") || args[1].startsWith("https://")) {
+            if (args.length < 3) {
+                System.err.println(USAGE);
+                System.exit(1);
+            }
+            Neow3j neow3j = Neow3j.build(new HttpService(args[1]));
+            snapshot = FindStatesReader.read(neow3j, new Hash160(args[2]));
+            neow3j.shutdown();
+            next = 3;
+        } else {
+            snapshot = StorageSnapshot.read(new File(args[1]));
+            next = 2;
+        }
+        File compare = null;
+        for (; next + 1 < args.length; next += 2) {
+            if (args[next].equals("--save")) {
+                snapshot.write(new File(args[next + 1]));
+            } else if (args[next].equals("--compare")) {
+                compare = new File(args[next + 1]);
+            } else {
+                System.err.println(USAGE);
+                System.exit(1);
+            }
+        }
+        if (next < args.length) {
+            System.err.println(USAGE);
+            System.exit(1);
+        }
+
+        FootprintReport report = new FootprintReport(snapshot, layout);
+        report.print(System.out);
+        if (compare != null) {
+            System.out.println();
+            report.printGrowth(new FootprintReport(StorageSnapshot.read(compare), layout),
+                    System.out);
+        }
+    }
+
+}
@@ -0,0 +1,29 @@
+package com.ob.storage;
+
+/**
+ * A key-value pair in the storage of a contract.
+ */
+public class StorageEntry {
+    public byte[] key;
+    public byte[] value;
+
+    public StorageEntry(byte[] key, byte[] value) {
+        this.key = key;
+        this.value = value;
+    }
+
+    /**
+     * @return the number of bytes that are paid for, i.e., the size of the key and the value.
+     */
+    public int getSize() {
+        return key.length + value.length;
+    }
+
+    /**
+     * @return the prefix byte of the key as an unsigned value.
+     */
+    public int getPrefix() {
+        return key[0] & 0xff;
+    }
+
+}
@@ -0,0 +1,40 @@
+package com.ob.storage;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The entries of a storage snapshot by key. Used to check whether the entry that another entry
+ * refers to still exists.
+ */
+public class StorageIndex {
+
+    private final Map<ByteBuffer, byte[]> values = new HashMap<>();
+
+    public StorageIndex(List<StorageEntry> entries) {
+        for (StorageEntry entry : entries) {
+            values.put(ByteBuffer.wrap(entry.key), entry.value);
+        }
+    }
+
+    /**
+     * @return true if there is an entry with the key made of the prefix and the suffix.
+     */
+    public boolean contains(int prefix, byte[] suffix) {
+        return get(prefix, suffix) != null;
+    }
+
+    /**
+     * @return the value of the entry with the key made of the prefix and the suffix or null if
+     * there is none.
+     */
+    public byte[] get(int prefix, byte[] suffix) {
+        byte[] key = new byte[suffix.length + 1];
+        key[0] = (byte) prefix;
+        System.arraycopy(suffix, 0, key, 1, suffix.length);
+        return values.get(ByteBuffer.wrap(key));
+    }
+
+}
@@ -0,0 +1,190 @@
+package com.ob.storage;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The storage prefixes of a contract and the rules that tell whether an entry is orphaned, i.e.,
+ * refers to an entry that no longer exists. The prefixes mirror the constants in the contracts.
+ * <p>
+ * Orphaned entries cannot be reached by the contract anymore but are still paid for. The rules
+ * only see the stored keys, so they find the orphans that are evident from the keys. E.g., the
+ * voters of a legacy proposal that was proposed again are not detected.
+ */
+public class StorageLayout {
+
+    /**
+     * Tells whether an entry is orphaned.
+     */
+    @FunctionalInterface
+    public interface OrphanRule {
+        boolean isOrphan(StorageEntry entry, StorageIndex index);
+    }
+
+    private static final int HASH160_LENGTH = 20;
+    private static final int FIXED_INT_LENGTH = 4;
+
+    private final String contractName;
+    private final Map<Integer, String> prefixes = new HashMap<>();
+    private final Map<Integer, OrphanRule> orphanRules = new HashMap<>();
+
+    public StorageLayout(String contractName) {
+        this.contractName = contractName;
+    }
+
+    public StorageLayout prefix(int prefix, String name) {
+        prefixes.put(prefix, name);
+        return this;
+    }
+
+    public StorageLayout prefix(int prefix, String name, OrphanRule orphanRule) {
+        orphanRules.put(prefix, orphanRule);
+        return prefix(prefix, name);
+    }
+
+    public String getContractName() {
+        return contractName;
+    }
+
+    /**
+     * @return the name of the prefix of the key, e.g., {@code PROPOSAL_RECORD_PREFIX (13)}.
+     */
+    public String getGroup(byte[] key) {
+        int prefix = key[0] & 0xff;
+        String name = prefixes.get(prefix);
+        return (name == null ? "unknown" : name) + " (" + prefix + ")";
+    }
+
+    public boolean isOrphan(StorageEntry entry, StorageIndex index) {
+        OrphanRule rule = orphanRules.get(entry.getPrefix());
+        return rule != null && rule.isOrphan(entry, index);
+    }
+
+    /**
+     * Gets the layout by the contract name, i.e., {@code governance}, {@code meme} or
+     * {@code nft}.
+     */
+    public static StorageLayout forName(String name) {
+        switch (name) {
+            case "governance":
+                return governance();
+            case "meme":
+                return meme();
+            case "nft":
+                return nft();
+            default:
+                throw new IllegalArgumentException("Unknown contract " + name + ".");
+        }
+    }
+
+    public static StorageLayout governance() {
+        // Keys of the legacy layout and the proposal links end with the meme id.
+        OrphanRule noLegacyProposal = (e, index) -> !index.contains(2, suffix(e.key, 1));
+        OrphanRule noProposal = (e, index) -> !hasProposal(index, suffix(e.key, 1));
+        // The values of the indexes are meme ids.
+        OrphanRule valueHasNoProposal = (e, index) -> !hasProposal(index, e.value);
+        return new StorageLayout("GovernanceContract")
+                .prefix(1, "CONTRACT_PREFIX")
+                .prefix(2, "PROPOSAL_PREFIX")
+                // The key is made of the meme id and the voter.
+                .prefix(3, "VOTER_MAP_PREPREFIX", (e, index) -> !hasProposal(index,
+                        Arrays.copyOfRange(e.key, 1,
+                                Math.max(1, e.key.length - HASH160_LENGTH))))
+                .prefix(4, "VOTE_COUNT_PREFIX", noLegacyProposal)
+                .prefix(5, "VOTE_FOR_PREFIX", noLegacyProposal)
+                .prefix(6, "VOTE_AGAINST_PREFIX", noLegacyProposal)
+                .prefix(7, "DESCRIPTION_PREFIX", noLegacyProposal)
+                .prefix(8, "URL_PREFIX", noLegacyProposal)
+                .prefix(9, "IMG_HASH_PREFIX", noLegacyProposal)
+                .prefix(10, "FINALIZATION_PREFIX", noLegacyProposal)
+                .prefix(11, "NEXT_PROPOSAL_PREFIX", noProposal)
+                .prefix(12, "PREV_PROPOSAL_PREFIX", noProposal)
+                .prefix(13, "PROPOSAL_RECORD_PREFIX")
+                // The key is made of the epoch and the voter. The voters of the epochs up to the
+                // ended epoch are no longer read.
+                .prefix(14, "EPOCH_VOTER_MAP_PREPREFIX", (e, index) ->
+                        readFixedInt(e.key, 1) <= readInt(index.get(1, new byte[]{0x06})))
+                // The key is made of the finalization block and the hash of the meme id.
+                .prefix(15, "FINALIZATION_INDEX_PREFIX", valueHasNoProposal)
+                .prefix(16, "IMG_HASH_INDEX_PREFIX", valueHasNoProposal);
+    }
+
+    public static StorageLayout meme() {
+        // The keys of the links and the values of the indexes are internal ids.
+        OrphanRule noMeme = (e, index) -> !index.contains(7, suffix(e.key, 1));
+        OrphanRule valueHasNoMeme = (e, index) -> !index.contains(7, e.value);
+        OrphanRule noLegacyMeme = (e, index) -> !index.contains(2, suffix(e.key, 1));
+        return new StorageLayout("MemeContract")
+                .prefix(1, "CONTRACT_PREFIX")
+                .prefix(2, "DESC_MAP_PREFIX")
+                .prefix(3, "URL_MAP_PREFIX", noLegacyMeme)
+                .prefix(4, "IMG_HASH_MAP_PREFIX", noLegacyMeme)
+                .prefix(5, "NEXT_MEME_PREFIX", noMeme)
+                .prefix(6, "PREV_MEME_PREFIX", noMeme)
+                .prefix(7, "MEME_PREFIX")
+                .prefix(8, "IMG_HASH_INDEX_PREFIX", valueHasNoMeme)
+                .prefix(9, "INTERNAL_ID_PREFIX", valueHasNoMeme);
+    }
+
+    public static StorageLayout nft() {
+        // The legacy token layout is keyed by the token id.
+        OrphanRule noLegacyToken = (e, index) -> !index.contains(1, suffix(e.key, 1));
+        return new StorageLayout("NFTcontract")
+                .prefix(0, "CONTRACT_PREFIX")
+                .prefix(1, "REGISTRY_PREFIX")
+                .prefix(2, "OWNER_OF_PREFIX", noLegacyToken)
+                .prefix(3, "BALANCE_PREFIX")
+                .prefix(4, "TOKEN_PREFIX")
+                .prefix(8, "PROPERTIES_NAME_PREFIX", noLegacyToken)
+                .prefix(9, "PROPERTIES_DESCRIPTION_PREFIX", noLegacyToken)
+                .prefix(10, "PROPERTIES_IMAGE_PREFIX", noLegacyToken)
+                .prefix(11, "PROPERTIES_TOKEN_URI_PREFIX", noLegacyToken)
+                // The key is made of the owner and the token id.
+                .prefix(0x11, "tokensOfKey", (e, index) -> {
+                    byte[] tokenId = suffix(e.key, 1 + HASH160_LENGTH);
+                    return !index.contains(4, tokenId) && !index.contains(1, tokenId);
+                });
+    }
+
+    private static boolean hasProposal(StorageIndex index, byte[] memeId) {
+        return index.contains(13, memeId) || index.contains(2, memeId);
+    }
+
+    /**
+     * Reads four bytes in big-endian order, as the contracts use them in keys.
+     */
+    private static long readFixedInt(byte[] bytes, int from) {
+        long value = 0;
+        for (int i = from; i < Math.min(bytes.length, from + FIXED_INT_LENGTH); i++) {
+            value = (value << 8) | (bytes[i] & 0xff);
+        }
+        return value;
+    }
+
+    /**
+     * Reads an integer stored by the contracts, i.e., in little-endian two's complement.
+     *
+     * @return the integer or 0 if there is no value.
+     */
+    private static long readInt(byte[] bytes) {
+        if (bytes == null || bytes.length == 0) {
+            return 0;
+        }
+        return new BigInteger(reverse(bytes)).longValue();
+    }
+
+    private static byte[] reverse(byte[] bytes) {
+        byte[] reversed = new byte[bytes.length];
+        for (int i = 0; i < bytes.length; i++) {
+            reversed[i] = bytes[bytes.length - 1 - i];
+        }
+        return reversed;
+    }
+
+    private static byte[] suffix(byte[] key, int from) {
+        return Arrays.copyOfRange(key, Math.min(from, key.length), key.length);
+    }
+
+}
@@ -0,0 +1,60 @@
+package com.ob.storage;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.neow3j.types.Hash160;
+import io.neow3j.utils.Numeric;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The storage of a contract at a block height. Can be saved to compare it with a later state.
+ */
+public class StorageSnapshot {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    public Hash160 contract;
+    public long height;
+    public List<StorageEntry> entries;
+
+    public StorageSnapshot(Hash160 contract, long height, List<StorageEntry> entries) {
+        this.contract = contract;
+        this.height = height;
+        this.entries = entries;
+    }
+
+    /**
+     * Reads a snapshot from a JSON file with the contract, the height and the entries with hex
+     * keys and values.
+     */
+    public static StorageSnapshot read(File file) throws IOException {
+        JsonNode json = MAPPER.readTree(file);
+        List<StorageEntry> entries = new ArrayList<>();
+        for (JsonNode entry : json.get("entries")) {
+            entries.add(new StorageEntry(Numeric.hexStringToByteArray(entry.get("key").asText()),
+                    Numeric.hexStringToByteArray(entry.get("value").asText())));
+        }
+        return new StorageSnapshot(new Hash160(json.get("contract").asText()),
+                json.get("height").asLong(), entries);
+    }
+
+    public void write(File file) throws IOException {
+        ObjectNode json = MAPPER.createObjectNode();
+        json.put("contract", contract.toString());
+        json.put("height", height);
+        ArrayNode array = json.putArray("entries");
+        for (StorageEntry entry : entries) {
+            array.addObject()
+                    .put("key", Numeric.toHexStringNoPrefix(entry.key))
+                    .put("value", Numeric.toHexStringNoPrefix(entry.value));
+        }
+        MAPPER.writerWithDefaultPrettyPrinter().writeValue(file, json);
+    }
+
+}
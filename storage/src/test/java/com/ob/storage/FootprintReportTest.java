@@ -0,0 +1,127 @@
+package com.ob.storage;
+
+import io.neow3j.types.Hash160;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public class FootprintReportTest {
+
+    private static final Hash160 CONTRACT =
+            new Hash160("0x0102030405060708090a0b0c0d0e0f1011121314");
+    private static final byte[] VOTER = new byte[20];
+
+    @Test
+    public void testGroupGovernanceStorageAndFindOrphans() {
+        List<StorageEntry> entries = new ArrayList<>();
+        // A stored proposal of epoch 3 with one voter.
+        entries.add(entry(key(13, bytes("meme1")), bytes("record")));
+        entries.add(entry(key(14, epoch(3), VOTER), new byte[]{1}));
+        entries.add(entry(key(15, epoch(100), new byte[20]), bytes("meme1")));
+        // The voters of epoch 2, whose proposal was executed.
+        entries.add(entry(key(1, new byte[]{0x06}), new byte[]{2}));
+        entries.add(entry(key(14, epoch(2), VOTER), new byte[]{1}));
+        // A legacy voter entry of an executed proposal.
+        entries.add(entry(key(3, bytes("meme2"), VOTER), new byte[]{1}));
+        entries.add(entry(key(16, new byte[32]), bytes("meme2")));
+
+        FootprintReport report = new FootprintReport(new StorageSnapshot(CONTRACT, 10, entries),
+                StorageLayout.governance());
+        Map<String, FootprintReport.Group> groups = report.getGroups();
+        FootprintReport.Group voters = groups.get("EPOCH_VOTER_MAP_PREPREFIX (14)");
+        assertThat(voters.keys, is(2L));
+        assertThat(voters.keyBytes, is(50L));
+        assertThat(voters.valueBytes, is(2L));
+        assertThat(voters.orphans, is(1L));
+        assertThat(voters.orphanBytes, is(26L));
+        assertThat(groups.get("VOTER_MAP_PREPREFIX (3)").orphans, is(1L));
+        assertThat(groups.get("IMG_HASH_INDEX_PREFIX (16)").orphans, is(1L));
+        assertThat(groups.get("FINALIZATION_INDEX_PREFIX (15)").orphans, is(0L));
+        assertThat(report.getTotal().keys, is(7L));
+        assertThat(report.getTotal().orphans, is(3L));
+    }
+
+    @Test
+    public void testFindOrphanedNftEntries() {
+        byte[] owner = new byte[20];
+        List<StorageEntry> entries = new ArrayList<>();
+        entries.add(entry(key(4, bytes("token1")), bytes("record")));
+        entries.add(entry(key(0x11, owner, bytes("token1")), new byte[]{1}));
+        entries.add(entry(key(0x11, owner, bytes("burned")), new byte[]{1}));
+        entries.add(entry(key(8, bytes("migrated")), bytes("name")));
+        entries.add(entry(key(0x42), new byte[]{1}));
+
+        FootprintReport report = new FootprintReport(new StorageSnapshot(CONTRACT, 10, entries),
+                StorageLayout.nft());
+        assertThat(report.getGroups().get("tokensOfKey (17)").orphans, is(1L));
+        assertThat(report.getGroups().get("PROPERTIES_NAME_PREFIX (8)").orphans, is(1L));
+        assertThat(report.getGroups().get("unknown (66)").keys, is(1L));
+    }
+
+    @Test
+    public void testGrowthBetweenSavedSnapshots() throws IOException {
+        List<StorageEntry> before = new ArrayList<>();
+        before.add(entry(key(7, epoch(1)), bytes("meme")));
+        before.add(entry(key(2, bytes("legacy")), bytes("desc")));
+        List<StorageEntry> after = new ArrayList<>(before.subList(0, 1));
+        after.add(entry(key(7, epoch(2)), bytes("meme")));
+        after.add(entry(key(9, bytes("id2")), epoch(2)));
+
+        File file = Files.createTempFile("storage", ".json").toFile();
+        file.deleteOnExit();
+        new StorageSnapshot(CONTRACT, 10, before).write(file);
+        StorageSnapshot saved = StorageSnapshot.read(file);
+        assertThat(saved.contract, is(CONTRACT));
+        assertThat(saved.height, is(10L));
+        assertThat(Arrays.equals(saved.entries.get(1).value, bytes("desc")), is(true));
+
+        FootprintReport earlier = new FootprintReport(saved, StorageLayout.meme());
+        FootprintReport later = new FootprintReport(new StorageSnapshot(CONTRACT, 20, after),
+                StorageLayout.meme());
+        Map<String, FootprintReport.Group> growth = later.getGrowth(earlier);
+        assertThat(growth.get("MEME_PREFIX (7)").keys, is(1L));
+        assertThat(growth.get("MEME_PREFIX (7)").getBytes(), is(9L));
+        assertThat(growth.get("INTERNAL_ID_PREFIX (9)").keys, is(1L));
+        assertThat(growth.get("DESC_MAP_PREFIX (2)").keys, is(-1L));
+        assertThat(growth.get("DESC_MAP_PREFIX (2)").getBytes(), is(-11L));
+    }
+
+    private static StorageEntry entry(byte[] key, byte[] value) {
+        return new StorageEntry(key, value);
+    }
+
+    private static byte[] key(int prefix, byte[]... parts) {
+        int length = 1;
+        for (byte[] part : parts) {
+            length += part.length;
+        }
+        byte[] key = new byte[length];
+        key[0] = (byte) prefix;
+        int offset = 1;
+        for (byte[] part : parts) {
+            System.arraycopy(part, 0, key, offset, part.length);
+            offset += part.length;
+        }
+        return key;
+    }
+
+    private static byte[] epoch(int epoch) {
+        return new byte[]{(byte) (epoch >> 24), (byte) (epoch >> 16), (byte) (epoch >> 8),
+                (byte) epoch};
+    }
+
+    private static byte[] bytes(String s) {
+        return s.getBytes(StandardCharsets.UTF_8);
+    }
+
+}